@@ -22,8 +22,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.sbm.boot.upgrade_27_30.report.SpringBootUpgradeReportRenderer;
 import org.springframework.sbm.engine.commands.ApplyCommand;
-import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.context.ProjectContextHolder;
+import org.springframework.sbm.service.ProjectContextRegistry;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 
@@ -40,6 +40,8 @@ class ReportController{
 
     @Autowired
     private ProjectContextHolder contextHolder;
+    @Autowired
+    private ProjectContextRegistry projectContextRegistry;
 
     public static final String REPORT_RECIPE = "sbu30-report";
 
@@ -47,32 +49,43 @@ class ReportController{
 
     @GetMapping(path = "/spring-boot-upgrade", produces = MediaType.TEXT_HTML_VALUE)
     @ResponseBody
-    public String upgrade() {
-        // Urgh... that's nasty
-        if(!isInitialReport) {
-            applyCommand.execute(contextHolder.getProjectContext(), REPORT_RECIPE);
-        }
-        isInitialReport = false;
-        return reportHolder.getReport();
+    public String upgrade(@RequestParam(value = "projectPath", required = false) String projectPath) {
+        return projectContextRegistry.withProjectContext(getProjectPath(projectPath), context -> {
+            // Urgh... that's nasty
+            if(!isInitialReport || projectPath != null) {
+                applyCommand.execute(context, REPORT_RECIPE);
+            }
+            isInitialReport = false;
+            return reportHolder.getReport();
+        });
     }
 
     @PostMapping(path = "/spring-boot-upgrade", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE, produces = MediaType.TEXT_HTML_VALUE)
     @ResponseBody
-    public String applyRecipes(@RequestParam("recipeNames[]") String[] recipeNames) {
-        ProjectContext context = contextHolder.getProjectContext();
-        List.of(recipeNames).forEach(recipeName -> applyCommand.execute(context, recipeName));
-        applyCommand.execute(context, REPORT_RECIPE);
-        return reportHolder.getReport();
+    public String applyRecipes(@RequestParam("recipeNames[]") String[] recipeNames, @RequestParam(value = "projectPath", required = false) String projectPath) {
+        return projectContextRegistry.withProjectContext(getProjectPath(projectPath), context -> {
+            List.of(recipeNames).forEach(recipeName -> applyCommand.execute(context, recipeName));
+            applyCommand.execute(context, REPORT_RECIPE);
+            return reportHolder.getReport();
+        });
     }
 
     @PostMapping(path = "/spring-boot-upgrade")
     @ResponseBody
-    public void applyRecipes2(@RequestBody Recipe recipeNames) {
-        ProjectContext context = contextHolder.getProjectContext();
-        recipeNames.getRecipes().forEach(
-                recipeName -> applyCommand.execute(context, recipeName)
-        );
-        applyCommand.execute(context, REPORT_RECIPE);
+    public void applyRecipes2(@RequestBody Recipe recipeNames, @RequestParam(value = "projectPath", required = false) String projectPath) {
+        projectContextRegistry.withProjectContext(getProjectPath(projectPath), context -> {
+            recipeNames.getRecipes().forEach(
+                    recipeName -> applyCommand.execute(context, recipeName)
+            );
+            return applyCommand.execute(context, REPORT_RECIPE);
+        });
+    }
+
+    /**
+     * Requests without {@code projectPath} refer to the project given on startup.
+     */
+    private String getProjectPath(String projectPath) {
+        return projectPath != null ? projectPath : contextHolder.getProjectContext().getProjectRootDirectory().toString();
     }
 
     @Getter
@@ -21,16 +21,13 @@ import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.sbm.engine.commands.ApplyCommand;
-import org.springframework.sbm.engine.commands.ScanCommand;
-import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.context.ProjectContextHolder;
+import org.springframework.sbm.service.ProjectContextRegistry;
 
 @Configuration
 @RequiredArgsConstructor
 public class SpringBootMigratorRunner implements ApplicationRunner {
 
-    private final ScanCommand scanCommand;
-    private final ProjectContextHolder contextHolder;
+    private final ProjectContextRegistry projectContextRegistry;
     private final ApplyCommand applyCommand;
     private final String REPORT_RECIPE = "sbu30-report";
 
@@ -45,9 +42,7 @@ public class SpringBootMigratorRunner implements ApplicationRunner {
         }
         String applicationPath = args.getSourceArgs()[0];
         System.out.println("Scanning " + applicationPath);
-        ProjectContext context = scanCommand.execute(applicationPath);
-        contextHolder.setProjectContext(context);
-        applyCommand.execute(contextHolder.getProjectContext(), REPORT_RECIPE);
+        projectContextRegistry.withProjectContext(applicationPath, context -> applyCommand.execute(context, REPORT_RECIPE));
         System.out.printf("finished scan. Please open: http://localhost:%s/spring-boot-upgrade\n", port);
     }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.sbm.service.dto.JobInfo;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Asynchronous alternative to {@link RestApi}, scan and apply return a job id immediately.
+ * The job status can be polled and its progress streamed as server-sent events.
+ */
+@RestController
+@RequestMapping("/jobs")
+public class JobApi {
+
+    @Autowired
+    private MigrationJobs migrationJobs;
+
+    @PostMapping(value = "/scan", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    JobInfo scan(@RequestParam("projectPath") String projectPath) {
+        return migrationJobs.submitScan(projectPath);
+    }
+
+    @PostMapping(value = "/apply", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    JobInfo apply(@RequestParam("projectPath") String projectPath, @RequestParam("recipe") String recipe) {
+        return migrationJobs.submitApply(projectPath, recipe);
+    }
+
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    JobInfo status(@PathVariable("id") String id) {
+        return migrationJobs.getJob(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No job with id " + id));
+    }
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter events(@PathVariable("id") String id) {
+        return migrationJobs.subscribe(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No job with id " + id));
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.sbm.engine.commands.ApplyCommand;
+import org.springframework.sbm.engine.events.ActionFailedEvent;
+import org.springframework.sbm.engine.events.ActionFinishedEvent;
+import org.springframework.sbm.engine.events.ActionStartedEvent;
+import org.springframework.sbm.engine.events.StartedScanningProjectResourceEvent;
+import org.springframework.sbm.service.dto.JobInfo;
+import org.springframework.sbm.service.dto.JobProgress;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+
+/**
+ * Runs scan and apply requests as jobs in the background so that no request thread is blocked while a project is
+ * scanned or recipes are applied.
+ * <p>
+ * Events published by the engine while a job runs are recorded as progress of the job and streamed to subscribers
+ * as server-sent events. Jobs run one after another as the engine processes one project at a time,
+ * see {@link ProjectContextRegistry}, events published from any thread while a job runs therefore belong to this job.
+ * Events are sent to subscribers on a separate thread, a slow client never blocks the job.
+ * <p>
+ * Finished jobs are kept for {@link #FINISHED_JOB_RETENTION} and at most {@link #MAX_FINISHED_JOBS} of them.
+ */
+@Slf4j
+@Component
+public class MigrationJobs {
+
+    private static final int MAX_FINISHED_JOBS = 100;
+    private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+    private static final int MAX_RECORDED_PROGRESS = 1000;
+
+    private final ProjectContextRegistry projectContextRegistry;
+    private final ApplyCommand applyCommand;
+    private final Executor jobExecutor;
+    private final Executor eventExecutor;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Deque<FinishedJob> finishedJobs = new ArrayDeque<>();
+    private volatile Job runningJob;
+
+    @Autowired
+    public MigrationJobs(ProjectContextRegistry projectContextRegistry, ApplyCommand applyCommand) {
+        this(projectContextRegistry, applyCommand, Executors.newSingleThreadExecutor(), Executors.newSingleThreadExecutor());
+    }
+
+    /**
+     * @param jobExecutor runs the jobs, one at a time
+     * @param eventExecutor sends events to subscribers, one at a time to keep their order
+     */
+    MigrationJobs(ProjectContextRegistry projectContextRegistry, ApplyCommand applyCommand, Executor jobExecutor, Executor eventExecutor) {
+        this.projectContextRegistry = projectContextRegistry;
+        this.applyCommand = applyCommand;
+        this.jobExecutor = jobExecutor;
+        this.eventExecutor = eventExecutor;
+    }
+
+    /**
+     * Submit a job scanning the project at {@code projectPath}.
+     */
+    public JobInfo submitScan(String projectPath) {
+        return submit("scan", projectPath, () -> projectContextRegistry.scan(projectPath));
+    }
+
+    /**
+     * Submit a job applying {@code recipe} to the project at {@code projectPath}.
+     */
+    public JobInfo submitApply(String projectPath, String recipe) {
+        return submit("apply " + recipe, projectPath, () -> projectContextRegistry.withProjectContext(projectPath, projectContext -> applyCommand.execute(projectContext, recipe)));
+    }
+
+    public Optional<JobInfo> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id)).map(Job::toJobInfo);
+    }
+
+    /**
+     * Stream the progress of a job, progress recorded before subscribing is sent first.
+     * The stream completes when the job finished.
+     */
+    public Optional<SseEmitter> subscribe(String id) {
+        return subscribe(id, new SseEmitter(0L));
+    }
+
+    Optional<SseEmitter> subscribe(String id, SseEmitter emitter) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            return Optional.empty();
+        }
+        job.subscribe(emitter);
+        return Optional.of(emitter);
+    }
+
+    @EventListener
+    public void onStartedScanningProjectResource(StartedScanningProjectResourceEvent event) {
+        recordProgress("resource", event.getPath().toString());
+    }
+
+    @EventListener
+    public void onActionStarted(ActionStartedEvent event) {
+        recordProgress("actionStarted", event.getDescription());
+    }
+
+    @EventListener
+    public void onActionFinished(ActionFinishedEvent event) {
+        recordProgress("actionFinished", event.getDescription());
+    }
+
+    @EventListener
+    public void onActionFailed(ActionFailedEvent event) {
+        recordProgress("actionFailed", event.getDescription());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobs.values().forEach(job -> job.setStatus(JobStatus.FAILED, "Shut down"));
+        Stream.of(jobExecutor, eventExecutor)
+                .filter(ExecutorService.class::isInstance)
+                .map(ExecutorService.class::cast)
+                .forEach(ExecutorService::shutdownNow);
+    }
+
+    private JobInfo submit(String type, String projectPath, Runnable task) {
+        evictFinishedJobs();
+        Job job = new Job(UUID.randomUUID().toString(), type, projectPath, eventExecutor);
+        jobs.put(job.id, job);
+        JobInfo submitted = job.toJobInfo();
+        try {
+            jobExecutor.execute(() -> run(job, task));
+        } catch (RejectedExecutionException e) {
+            job.setStatus(JobStatus.FAILED, "Job could not be started");
+            retain(job);
+        }
+        return submitted;
+    }
+
+    private void run(Job job, Runnable task) {
+        runningJob = job;
+        job.setStatus(JobStatus.RUNNING, null);
+        try {
+            task.run();
+            job.setStatus(JobStatus.SUCCEEDED, null);
+        } catch (Throwable e) {
+            // errors must finish the job as well, subscribers would wait for it forever otherwise
+            log.error("Job %s '%s' failed for '%s'.".formatted(job.id, job.type, job.projectPath), e);
+            job.setStatus(JobStatus.FAILED, Optional.ofNullable(e.getMessage()).orElse(e.getClass().getName()));
+        } finally {
+            runningJob = null;
+            retain(job);
+        }
+    }
+
+    private synchronized void retain(Job job) {
+        finishedJobs.addLast(new FinishedJob(job.id, Instant.now()));
+        evictFinishedJobs();
+    }
+
+    private synchronized void evictFinishedJobs() {
+        Instant retainedSince = Instant.now().minus(FINISHED_JOB_RETENTION);
+        while (!finishedJobs.isEmpty()
+                && (finishedJobs.size() > MAX_FINISHED_JOBS || finishedJobs.peekFirst().finishedAt().isBefore(retainedSince))) {
+            jobs.remove(finishedJobs.removeFirst().id());
+        }
+    }
+
+    /**
+     * @return the number of jobs known, submitted, running and finished ones
+     */
+    int countJobs() {
+        return jobs.size();
+    }
+
+    private void recordProgress(String event, String message) {
+        Job job = runningJob;
+        if (job != null) {
+            job.send(new JobProgress(event, message));
+        }
+    }
+
+    private record FinishedJob(String id, Instant finishedAt) {
+    }
+
+    enum JobStatus {
+        SUBMITTED, RUNNING, SUCCEEDED, FAILED;
+
+        boolean isFinished() {
+            return this == SUCCEEDED || this == FAILED;
+        }
+    }
+
+    /**
+     * Progress and subscribers are guarded by the job, events are sent to subscribers through the
+     * {@code eventExecutor} outside the lock.
+     */
+    private static class Job {
+        private final String id;
+        private final String type;
+        private final String projectPath;
+        private final Executor eventExecutor;
+        private final Deque<JobProgress> progress = new ArrayDeque<>();
+        private final List<SseEmitter> emitters = new ArrayList<>();
+        private JobStatus status = JobStatus.SUBMITTED;
+        private String error;
+
+        Job(String id, String type, String projectPath, Executor eventExecutor) {
+            this.id = id;
+            this.type = type;
+            this.projectPath = projectPath;
+            this.eventExecutor = eventExecutor;
+        }
+
+        synchronized JobInfo toJobInfo() {
+            return new JobInfo(id, type, projectPath, status.name(), error);
+        }
+
+        synchronized void setStatus(JobStatus status, String error) {
+            if (this.status.isFinished()) {
+                return;
+            }
+            this.status = status;
+            this.error = error;
+            send(new JobProgress("status", status.name()));
+            if (status.isFinished()) {
+                List<SseEmitter> subscribers = new ArrayList<>(emitters);
+                emitters.clear();
+                execute(() -> subscribers.forEach(SseEmitter::complete), () -> subscribers.forEach(SseEmitter::complete));
+            }
+        }
+
+        /**
+         * Run {@code task} on the {@code eventExecutor}, or {@code whenRejected} on the calling thread when the
+         * executor was shut down.
+         */
+        private void execute(Runnable task, Runnable whenRejected) {
+            try {
+                eventExecutor.execute(task);
+            } catch (RejectedExecutionException e) {
+                whenRejected.run();
+            }
+        }
+
+        synchronized void subscribe(SseEmitter emitter) {
+            List<JobProgress> recorded = new ArrayList<>(progress);
+            boolean finished = status.isFinished();
+            if (!finished) {
+                emitters.add(emitter);
+                emitter.onCompletion(() -> unsubscribe(emitter));
+                emitter.onTimeout(() -> unsubscribe(emitter));
+            }
+            execute(() -> {
+                for (JobProgress jobProgress : recorded) {
+                    if (!send(emitter, jobProgress)) {
+                        unsubscribe(emitter);
+                        return;
+                    }
+                }
+                if (finished) {
+                    emitter.complete();
+                }
+            }, emitter::complete);
+        }
+
+        synchronized void send(JobProgress jobProgress) {
+            progress.addLast(jobProgress);
+            if (progress.size() > MAX_RECORDED_PROGRESS) {
+                progress.removeFirst();
+            }
+            List<SseEmitter> subscribers = new ArrayList<>(emitters);
+            execute(() -> subscribers.stream()
+                    .filter(emitter -> !send(emitter, jobProgress))
+                    .forEach(this::unsubscribe), () -> {});
+        }
+
+        private synchronized void unsubscribe(SseEmitter emitter) {
+            emitters.remove(emitter);
+        }
+
+        private static boolean send(SseEmitter emitter, JobProgress jobProgress) {
+            try {
+                emitter.send(SseEmitter.event().name(jobProgress.getEvent()).data(jobProgress));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // client disconnected
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.sbm.ReportHolder;
+import org.springframework.sbm.engine.commands.ScanCommand;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.context.ProjectContextHolder;
+import org.springframework.sbm.engine.git.Commit;
+import org.springframework.sbm.engine.git.GitSupport;
+import org.springframework.sbm.java.impl.ClasspathRegistry;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Keeps the scanned {@link ProjectContext}s of multiple projects so that recipes can be applied without scanning
+ * the project again.
+ * <p>
+ * A {@link ProjectContext} is registered for the project path and the git revision it was scanned at and is scanned
+ * again when the revision changed. The least recently used contexts are evicted when the estimated heap used by all
+ * registered contexts exceeds {@code sbm.contextRegistryHeapBudgetMb} (half of the max heap by default).
+ * <p>
+ * Scanning and applying recipes relies on application wide state, e.g. the {@link ProjectContextHolder}, the
+ * {@link ClasspathRegistry}, the {@code JavaParser} and {@code ExecutionContext} in their scopes and the
+ * {@link ReportHolder}. This state is kept with every registered context and restored when another project is used,
+ * requests for any project are therefore processed one after the other.
+ */
+@Slf4j
+@Component
+public class ProjectContextRegistry {
+
+    /**
+     * Rough ratio between the heap used by the LST of a file and the file size.
+     */
+    private static final int LST_BYTES_PER_FILE_BYTE = 20;
+
+    private final ScanCommand scanCommand;
+    private final ProjectContextHolder contextHolder;
+    private final GitSupport gitSupport;
+    private final ProjectState projectState;
+    private final long heapBudgetBytes;
+    private final Map<Path, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private Path activeProjectRoot;
+
+    public ProjectContextRegistry(ScanCommand scanCommand, ProjectContextHolder contextHolder, GitSupport gitSupport, ProjectState projectState, @Value("${sbm.contextRegistryHeapBudgetMb:0}") long heapBudgetMb) {
+        this.scanCommand = scanCommand;
+        this.contextHolder = contextHolder;
+        this.gitSupport = gitSupport;
+        this.projectState = projectState;
+        this.heapBudgetBytes = heapBudgetMb > 0 ? heapBudgetMb * 1024 * 1024 : Runtime.getRuntime().maxMemory() / 2;
+    }
+
+    /**
+     * Scan the project at {@code projectPath} and register the resulting {@link ProjectContext}.
+     */
+    public synchronized ProjectContext scan(String projectPath) {
+        Path projectRoot = normalize(projectPath);
+        ProjectContext projectContext = scanCommand.execute(projectRoot.toString());
+        contextHolder.setProjectContext(projectContext);
+        register(projectRoot, projectContext);
+        return projectContext;
+    }
+
+    /**
+     * Register a {@link ProjectContext} that was scanned elsewhere.
+     */
+    public synchronized void register(ProjectContext projectContext) {
+        register(normalize(projectContext.getProjectRootDirectory().toString()), projectContext);
+    }
+
+    /**
+     * Run {@code action} with the registered {@link ProjectContext} of {@code projectPath}.
+     * The project is scanned if no context is registered for the current revision.
+     */
+    public synchronized <T> T withProjectContext(String projectPath, Function<ProjectContext, T> action) {
+        Path projectRoot = normalize(projectPath);
+        Entry entry = entries.get(projectRoot);
+        ProjectContext projectContext;
+        if (entry == null || !Objects.equals(entry.revision(), getRevision(projectRoot))) {
+            log.debug("Scanning '%s', no project context registered for the current revision.".formatted(projectRoot));
+            projectContext = scan(projectPath);
+        } else {
+            projectContext = entry.projectContext();
+            if (!projectRoot.equals(activeProjectRoot)) {
+                log.debug("Restoring state of project '%s'.".formatted(projectRoot));
+                projectState.restore(projectContext, entry.state());
+                activeProjectRoot = projectRoot;
+            }
+        }
+        contextHolder.setProjectContext(projectContext);
+        T result = action.apply(projectContext);
+        // applied recipes might have committed their changes
+        register(projectRoot, projectContext);
+        return result;
+    }
+
+    private void register(Path projectRoot, ProjectContext projectContext) {
+        Entry registered = entries.get(projectRoot);
+        // the estimate is only computed for newly scanned contexts
+        long estimatedHeapBytes = registered != null && registered.projectContext() == projectContext ? registered.estimatedHeapBytes() : estimateHeapBytes(projectContext);
+        entries.put(projectRoot, new Entry(projectContext, getRevision(projectRoot), estimatedHeapBytes, projectState.capture()));
+        activeProjectRoot = projectRoot;
+        evict();
+    }
+
+    private void evict() {
+        long usedBytes = entries.values().stream().mapToLong(Entry::estimatedHeapBytes).sum();
+        Iterator<Map.Entry<Path, Entry>> leastRecentlyUsed = entries.entrySet().iterator();
+        // the most recently used context is always kept
+        while (usedBytes > heapBudgetBytes && entries.size() > 1) {
+            Map.Entry<Path, Entry> evicted = leastRecentlyUsed.next();
+            usedBytes -= evicted.getValue().estimatedHeapBytes();
+            leastRecentlyUsed.remove();
+            log.debug("Evicted project context of '%s'.".formatted(evicted.getKey()));
+        }
+    }
+
+    private String getRevision(Path projectRoot) {
+        File repo = projectRoot.toFile();
+        if (GitSupport.findRepository(repo).isEmpty()) {
+            return null;
+        }
+        return gitSupport.getLatestCommit(repo).map(Commit::getHash).orElse(null);
+    }
+
+    private static long estimateHeapBytes(ProjectContext projectContext) {
+        return projectContext.getProjectResources().stream()
+                .mapToLong(r -> {
+                    try {
+                        return Files.exists(r.getAbsolutePath()) ? Files.size(r.getAbsolutePath()) : 0;
+                    } catch (IOException e) {
+                        return 0;
+                    }
+                })
+                .sum() * LST_BYTES_PER_FILE_BYTE;
+    }
+
+    private static Path normalize(String projectPath) {
+        return Path.of(projectPath).toAbsolutePath().normalize();
+    }
+
+    private record Entry(ProjectContext projectContext, String revision, long estimatedHeapBytes, ProjectState.State state) {
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.service;
+
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.maven.MavenSettings;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.sbm.ReportHolder;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.java.impl.ClasspathRegistry;
+import org.springframework.sbm.project.resource.ProjectResourceSetHolder;
+import org.springframework.sbm.scopes.ExecutionScope;
+import org.springframework.sbm.scopes.ProjectMetadata;
+import org.springframework.sbm.scopes.ScanScope;
+import org.springframework.stereotype.Component;
+
+/**
+ * Captures and restores the application wide state belonging to the active {@link ProjectContext}.
+ */
+@Component
+class ProjectState {
+
+    private final ProjectResourceSetHolder projectResourceSetHolder;
+    private final ProjectMetadata projectMetadata;
+    private final ReportHolder reportHolder;
+    private final JavaParser javaParser;
+    private final ScanScope scanScope;
+    private final ExecutionScope executionScope;
+    private final ConfigurableListableBeanFactory beanFactory;
+
+    ProjectState(ProjectResourceSetHolder projectResourceSetHolder, ProjectMetadata projectMetadata, ReportHolder reportHolder, JavaParser javaParser, ScanScope scanScope, ExecutionScope executionScope, ConfigurableListableBeanFactory beanFactory) {
+        this.projectResourceSetHolder = projectResourceSetHolder;
+        this.projectMetadata = projectMetadata;
+        this.reportHolder = reportHolder;
+        this.javaParser = javaParser;
+        this.scanScope = scanScope;
+        this.executionScope = executionScope;
+        this.beanFactory = beanFactory;
+    }
+
+    State capture() {
+        return new State(ClasspathRegistry.getInstance().snapshot(), projectMetadata.getMavenSettings(), reportHolder.getReport());
+    }
+
+    /**
+     * The {@link JavaParser} and {@code ExecutionContext} are recreated for the restored project.
+     */
+    void restore(ProjectContext projectContext, State state) {
+        scanScope.clear(beanFactory);
+        executionScope.clear(beanFactory);
+        ClasspathRegistry.getInstance().restore(state.classpath());
+        projectMetadata.setMavenSettings(state.mavenSettings());
+        projectResourceSetHolder.setProjectResourceSet(projectContext.getProjectResources());
+        reportHolder.setReport(state.report());
+        javaParser.setClasspath(ClasspathRegistry.getInstance().getCurrentDependencies());
+    }
+
+    record State(ClasspathRegistry.Snapshot classpath, MavenSettings mavenSettings, String report) {
+    }
+}
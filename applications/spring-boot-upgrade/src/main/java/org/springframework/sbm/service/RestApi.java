@@ -17,7 +17,6 @@ package org.springframework.sbm.service;
 
 import org.springframework.sbm.engine.commands.ApplicableRecipeListCommand;
 import org.springframework.sbm.engine.commands.ApplyCommand;
-import org.springframework.sbm.engine.commands.ScanCommand;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.service.dto.RecipeInfo;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,7 +29,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class RestApi {
     
     @Autowired
-    private ScanCommand scanCommand;
+    private ProjectContextRegistry projectContextRegistry;
     
     @Autowired
     private ApplyCommand applyCommand;
@@ -40,7 +39,7 @@ public class RestApi {
 
     @PostMapping(value = "/scan", produces = MediaType.APPLICATION_JSON_VALUE)
     RecipeInfo[] scan(@RequestParam("projectPath") String projectPath) {
-        ProjectContext projectContext = scanCommand.execute(projectPath);
+        ProjectContext projectContext = projectContextRegistry.scan(projectPath);
         return applicableRecipeListCommand.execute(projectContext).stream()
                     .map(r -> RecipeInfo.builder().name(r.getName()).description(r.getDescription()).details(r.getDetails()).build())
                     .toArray(RecipeInfo[]::new);
@@ -48,10 +47,7 @@ public class RestApi {
     
     @PostMapping("/apply")
     void apply(@RequestParam("projectPath") String projectPath, @RequestParam("recipe") String recipe) {
-        // FIXME: ProjectContext must be cached and used here
-        // FIXME: Apply should not do implicit scan.
-        ProjectContext projectContext = scanCommand.execute(projectPath);
-        applyCommand.execute(projectContext, recipe);
+        projectContextRegistry.withProjectContext(projectPath, projectContext -> applyCommand.execute(projectContext, recipe));
     }
 
 }
@@ -40,8 +40,12 @@ import org.springframework.sbm.engine.commands.ApplyCommand;
 import org.springframework.sbm.engine.commands.ScanCommand;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.context.ProjectContextHolder;
+import org.springframework.sbm.service.ProjectContextRegistry;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.file.Path;
+import java.util.function.Function;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -66,10 +70,21 @@ public class ControllerTest {
     @MockBean
     private ProjectContextHolder contextHolder;
 
-    @Test
-    void testGetRequest() throws Exception {
+    @MockBean
+    private ProjectContextRegistry projectContextRegistry;
+
+    private ProjectContext mockProjectContext() {
         ProjectContext projectContext = mock(ProjectContext.class);
+        when(projectContext.getProjectRootDirectory()).thenReturn(Path.of("/project"));
         when(contextHolder.getProjectContext()).thenReturn(projectContext);
+        when(projectContextRegistry.withProjectContext(eq("/project"), any()))
+                .thenAnswer(invocation -> invocation.<Function<ProjectContext, ?>>getArgument(1).apply(projectContext));
+        return projectContext;
+    }
+
+    @Test
+    void testGetRequest() throws Exception {
+        ProjectContext projectContext = mockProjectContext();
         mockMvc.perform(get("/spring-boot-upgrade")).andExpect(status().isOk());
         mockMvc.perform(get("/spring-boot-upgrade")).andExpect(status().isOk());
         // For the first request the report is created by the runner, for following calls the report is created again
@@ -78,8 +93,7 @@ public class ControllerTest {
 
     @Test
     void testPostRequest() throws Exception {
-        ProjectContext projectContext = mock(ProjectContext.class);
-        when(contextHolder.getProjectContext()).thenReturn(projectContext);
+        ProjectContext projectContext = mockProjectContext();
         mockMvc.perform(post("/spring-boot-upgrade")
                                 .contentType(MediaType.APPLICATION_FORM_URLENCODED)
                                 .param("recipeNames[]", "recipe1", "recipe2")
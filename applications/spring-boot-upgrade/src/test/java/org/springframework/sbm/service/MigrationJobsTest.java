@@ -0,0 +1,159 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.sbm.engine.commands.ApplyCommand;
+import org.springframework.sbm.engine.events.ActionFinishedEvent;
+import org.springframework.sbm.engine.events.ActionStartedEvent;
+import org.springframework.sbm.service.dto.JobInfo;
+import org.springframework.sbm.service.dto.JobProgress;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class MigrationJobsTest {
+
+    private final ProjectContextRegistry projectContextRegistry = mock(ProjectContextRegistry.class);
+    // jobs and events run on the calling thread
+    private final MigrationJobs sut = new MigrationJobs(projectContextRegistry, mock(ApplyCommand.class), Runnable::run, Runnable::run);
+
+    @Test
+    void runsSubmittedJob() {
+        JobInfo submitted = sut.submitScan("/project");
+
+        assertThat(submitted.getType()).isEqualTo("scan");
+        assertThat(submitted.getStatus()).isEqualTo("SUBMITTED");
+        assertThat(sut.getJob(submitted.getId()).orElseThrow().getStatus()).isEqualTo("SUCCEEDED");
+        verify(projectContextRegistry).scan("/project");
+    }
+
+    @Test
+    void reportsFailedJob() {
+        when(projectContextRegistry.scan("/project")).thenThrow(new IllegalArgumentException("Provided path does not exist"));
+
+        JobInfo submitted = sut.submitScan("/project");
+
+        JobInfo finished = sut.getJob(submitted.getId()).orElseThrow();
+        assertThat(finished.getStatus()).isEqualTo("FAILED");
+        assertThat(finished.getError()).isEqualTo("Provided path does not exist");
+    }
+
+    @Test
+    void jobFailingWithErrorShouldFinishAndCompleteSubscribers() {
+        RecordingSseEmitter emitter = new RecordingSseEmitter();
+        List<Runnable> submittedJobs = new ArrayList<>();
+        MigrationJobs migrationJobs = new MigrationJobs(projectContextRegistry, mock(ApplyCommand.class), submittedJobs::add, Runnable::run);
+        JobInfo submitted = migrationJobs.submitScan("/project");
+        when(projectContextRegistry.scan("/project")).thenAnswer(invocation -> {
+            migrationJobs.subscribe(submitted.getId(), emitter);
+            throw new StackOverflowError();
+        });
+
+        submittedJobs.forEach(Runnable::run);
+
+        JobInfo finished = migrationJobs.getJob(submitted.getId()).orElseThrow();
+        assertThat(finished.getStatus()).isEqualTo("FAILED");
+        assertThat(finished.getError()).isEqualTo(StackOverflowError.class.getName());
+        assertThat(emitter.events).containsExactly(
+                new JobProgress("status", "RUNNING"),
+                new JobProgress("status", "FAILED"));
+        assertThat(emitter.completed).isTrue();
+    }
+
+    @Test
+    void oldestFinishedJobsShouldBeEvicted() {
+        JobInfo first = sut.submitScan("/project");
+        for (int i = 0; i < 100; i++) {
+            sut.submitScan("/project");
+        }
+
+        assertThat(sut.countJobs()).isEqualTo(100);
+        assertThat(sut.getJob(first.getId())).isEmpty();
+    }
+
+    @Test
+    void eventsPublishedFromOtherThreadsShouldBeRecordedAndReplayedToLateSubscriber() {
+        when(projectContextRegistry.scan("/project")).thenAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> sut.onActionStarted(new ActionStartedEvent("some action"))).join();
+            return null;
+        });
+        JobInfo submitted = sut.submitScan("/project");
+
+        RecordingSseEmitter emitter = new RecordingSseEmitter();
+        sut.subscribe(submitted.getId(), emitter);
+
+        assertThat(emitter.events).containsExactly(
+                new JobProgress("status", "RUNNING"),
+                new JobProgress("actionStarted", "some action"),
+                new JobProgress("status", "SUCCEEDED"));
+        assertThat(emitter.completed).isTrue();
+    }
+
+    @Test
+    void subscriberShouldReceiveRecordedAndNewEventsUntilJobFinished() {
+        List<Runnable> submittedJobs = new ArrayList<>();
+        MigrationJobs migrationJobs = new MigrationJobs(projectContextRegistry, mock(ApplyCommand.class), submittedJobs::add, Runnable::run);
+        RecordingSseEmitter emitter = new RecordingSseEmitter();
+        JobInfo submitted = migrationJobs.submitScan("/project");
+        when(projectContextRegistry.scan("/project")).thenAnswer(invocation -> {
+            migrationJobs.onActionStarted(new ActionStartedEvent("some action"));
+            migrationJobs.subscribe(submitted.getId(), emitter);
+            assertThat(emitter.completed).isFalse();
+            migrationJobs.onActionFinished(new ActionFinishedEvent("some action"));
+            return null;
+        });
+
+        submittedJobs.forEach(Runnable::run);
+
+        assertThat(emitter.events).containsExactly(
+                new JobProgress("status", "RUNNING"),
+                new JobProgress("actionStarted", "some action"),
+                new JobProgress("actionFinished", "some action"),
+                new JobProgress("status", "SUCCEEDED"));
+        assertThat(emitter.completed).isTrue();
+    }
+
+    @Test
+    void unknownJob() {
+        assertThat(sut.getJob("unknown")).isEmpty();
+        assertThat(sut.subscribe("unknown")).isEmpty();
+    }
+
+    static class RecordingSseEmitter extends SseEmitter {
+        private final List<JobProgress> events = new ArrayList<>();
+        private boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            builder.build().stream()
+                    .map(DataWithMediaType::getData)
+                    .filter(JobProgress.class::isInstance)
+                    .map(JobProgress.class::cast)
+                    .forEach(events::add);
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+    }
+}
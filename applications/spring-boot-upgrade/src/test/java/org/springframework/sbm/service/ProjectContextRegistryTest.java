@@ -0,0 +1,134 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.maven.tree.ResolvedDependency;
+import org.openrewrite.maven.tree.ResolvedGroupArtifactVersion;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.sbm.ReportHolder;
+import org.springframework.sbm.engine.commands.ScanCommand;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.context.ProjectContextHolder;
+import org.springframework.sbm.engine.git.GitSupport;
+import org.springframework.sbm.java.impl.ClasspathRegistry;
+import org.springframework.sbm.project.resource.ProjectResourceSet;
+import org.springframework.sbm.project.resource.ProjectResourceSetHolder;
+import org.springframework.sbm.scopes.ExecutionScope;
+import org.springframework.sbm.scopes.ProjectMetadata;
+import org.springframework.sbm.scopes.ScanScope;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ProjectContextRegistryTest {
+
+    @TempDir
+    Path projectRoot;
+
+    private final ScanCommand scanCommand = mock(ScanCommand.class);
+    private final ProjectContextHolder contextHolder = new ProjectContextHolder();
+    private final ProjectResourceSetHolder projectResourceSetHolder = new ProjectResourceSetHolder();
+    private final ReportHolder reportHolder = new ReportHolder();
+    private final JavaParser javaParser = mock(JavaParser.class);
+    private final ProjectState projectState = new ProjectState(projectResourceSetHolder, new ProjectMetadata(), reportHolder, javaParser, new ScanScope(), new ExecutionScope(), mock(ConfigurableListableBeanFactory.class));
+    private final ProjectContextRegistry sut = new ProjectContextRegistry(scanCommand, contextHolder, mock(GitSupport.class), projectState, 0);
+
+    @Test
+    void reusesScannedProjectContext() {
+        ProjectContext projectContext = mockProjectContext();
+        when(scanCommand.execute(projectRoot.toString())).thenReturn(projectContext);
+
+        sut.scan(projectRoot.toString());
+        ProjectContext first = sut.withProjectContext(projectRoot.toString(), c -> c);
+        ProjectContext second = sut.withProjectContext(projectRoot.toString(), c -> c);
+
+        assertThat(first).isSameAs(projectContext);
+        assertThat(second).isSameAs(projectContext);
+        assertThat(contextHolder.getProjectContext()).isSameAs(projectContext);
+        verify(scanCommand, times(1)).execute(projectRoot.toString());
+    }
+
+    @Test
+    void scansUnknownProject() {
+        ProjectContext projectContext = mockProjectContext();
+        when(scanCommand.execute(projectRoot.toString())).thenReturn(projectContext);
+
+        ProjectContext used = sut.withProjectContext(projectRoot.toString(), c -> c);
+
+        assertThat(used).isSameAs(projectContext);
+        verify(scanCommand).execute(projectRoot.toString());
+    }
+
+    @Test
+    void switchingProjectsRestoresTheirState(@TempDir Path otherProjectRoot) {
+        ProjectContext projectContext = mockProjectContext();
+        ProjectContext otherProjectContext = mockProjectContext(otherProjectRoot);
+        Path jar = projectRoot.resolve("a.jar");
+        Path otherJar = otherProjectRoot.resolve("b.jar");
+        when(scanCommand.execute(projectRoot.toString())).thenAnswer(invocation -> {
+            ClasspathRegistry.getInstance().restore(new ClasspathRegistry.Snapshot(Map.of(), Map.of(dependency("a"), jar)));
+            return projectContext;
+        });
+        when(scanCommand.execute(otherProjectRoot.toString())).thenAnswer(invocation -> {
+            ClasspathRegistry.getInstance().restore(new ClasspathRegistry.Snapshot(Map.of(), Map.of(dependency("b"), otherJar)));
+            return otherProjectContext;
+        });
+
+        sut.withProjectContext(projectRoot.toString(), c -> {
+            reportHolder.setReport("report a");
+            return c;
+        });
+        sut.withProjectContext(otherProjectRoot.toString(), c -> {
+            reportHolder.setReport("report b");
+            return c;
+        });
+        assertThat(ClasspathRegistry.getInstance().getCurrentDependencies()).containsExactly(otherJar);
+
+        ProjectContext used = sut.withProjectContext(projectRoot.toString(), c -> c);
+
+        assertThat(used).isSameAs(projectContext);
+        assertThat(contextHolder.getProjectContext()).isSameAs(projectContext);
+        assertThat(projectResourceSetHolder.getProjectResourceSet()).isSameAs(projectContext.getProjectResources());
+        assertThat(ClasspathRegistry.getInstance().getCurrentDependencies()).containsExactly(jar);
+        assertThat(reportHolder.getReport()).isEqualTo("report a");
+        verify(javaParser).setClasspath(Set.of(jar));
+        verify(scanCommand, times(1)).execute(projectRoot.toString());
+    }
+
+    private ProjectContext mockProjectContext() {
+        return mockProjectContext(projectRoot);
+    }
+
+    private static ProjectContext mockProjectContext(Path root) {
+        ProjectContext projectContext = mock(ProjectContext.class);
+        when(projectContext.getProjectRootDirectory()).thenReturn(root);
+        when(projectContext.getProjectResources()).thenReturn(new ProjectResourceSet());
+        return projectContext;
+    }
+
+    private static ResolvedDependency dependency(String artifactId) {
+        return ResolvedDependency.builder()
+                .gav(new ResolvedGroupArtifactVersion(null, "com.acme", artifactId, "1.0", null))
+                .build();
+    }
+}
@@ -23,9 +23,23 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 public interface BuildFile extends ProjectResource {
 
+    /**
+     * Apply multiple changes to this build file with a single refresh of the pom model and at most one
+     * {@link DependenciesChangedEvent} after all {@code edits} were applied.
+     * <p>
+     * Inside the batch the model reflects the state before the batch started, e.g. {@link #getDeclaredDependencies(Scope...)}
+     * does not contain dependencies added in the same batch. Adding a dependency twice in one batch adds it once.
+     * Only excluding dependencies and adding dependencies removed in the same batch refresh the model first.
+     * Batches can be nested, changes are completed when the outermost batch ends.
+     * <p>
+     * If {@code edits} fail, the build file is restored to its state before the batch and no event is published.
+     */
+    void batch(Consumer<BuildFile> edits);
+
     /**
      * Returns the dependencies as declared in build file.
      *
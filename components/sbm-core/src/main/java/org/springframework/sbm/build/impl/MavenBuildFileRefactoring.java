@@ -15,7 +15,6 @@
  */
 package org.springframework.sbm.build.impl;
 
-import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 import org.openrewrite.*;
@@ -30,9 +29,8 @@ import org.springframework.sbm.support.openrewrite.GenericOpenRewriteRecipe;
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.nio.file.Path;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -85,71 +83,68 @@ public class MavenBuildFileRefactoring<T extends SourceFile> {
         }
     }
 
+    /**
+     * Resolves the models of the Maven build files again after they changed.
+     *
+     * Only the changed build files and the build files inheriting from or depending on them are resolved again,
+     * see {@link PomModelRefreshPlan}.
+     */
     public void refreshPomModels() {
-        // store buildfiles and their index in project resource list
-        List<BuildFileWithIndex> buildFilesWithIndex = new ArrayList<>();
-        List<RewriteSourceFileHolder<? extends SourceFile>> projectResources = projectResourceSet.list();
-        for(RewriteSourceFileHolder<? extends SourceFile> sf : projectResources) {
+        Map<Path, RewriteSourceFileHolder<Xml.Document>> buildFiles = new LinkedHashMap<>();
+        for(RewriteSourceFileHolder<? extends SourceFile> sf : projectResourceSet.list()) {
             if(isMavenBuildFile(sf)) {
-                int index = projectResources.indexOf(sf);
-                Xml.Document xmlDoc = (Xml.Document) sf.getSourceFile();
-                buildFilesWithIndex.add(new BuildFileWithIndex(index, (RewriteSourceFileHolder<Xml.Document>) sf));
+                buildFiles.put(sf.getSourceFile().getSourcePath(), (RewriteSourceFileHolder<Xml.Document>) sf);
             }
         }
 
+        // visitors update the requested model of the documents they change, the content can therefore not tell
+        // which build files changed
+        Set<Path> changedBuildFiles = buildFiles.entrySet().stream()
+                .filter(e -> e.getValue() instanceof OpenRewriteMavenBuildFile bf && bf.isChangedSinceResolution())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+        PomModelRefreshPlan refreshPlan = PomModelRefreshPlan.of(buildFiles.values().stream()
+                .map(RewriteSourceFileHolder::getSourceFile)
+                .collect(Collectors.toList()), changedBuildFiles);
+        if (refreshPlan.getToRefresh().isEmpty()) {
+            return;
+        }
+
         // create parser inputs from buildfiles content
-        List<Parser.Input> parserInputs = buildFilesWithIndex
+        List<Parser.Input> parserInputs = refreshPlan.getToParse()
                 .stream()
-                .map(BuildFileWithIndex::getXmlDoc)
                 .map(m -> new Parser.Input(m.getSourcePath(), null, () -> new ByteArrayInputStream(
-                        m.print().getBytes(StandardCharsets.UTF_8)), !Files.exists(m.getSourcePath())))
+                        m.printAll().getBytes(StandardCharsets.UTF_8)), !Files.exists(m.getSourcePath())))
                 .collect(Collectors.toList());
 
         // parse buildfiles
         List<Xml.Document> newMavenFiles = mavenParser.parseInputs(parserInputs, null, executionContext);
 
-        // replace new model in build files
+        // replace new model in build files that must be refreshed
+        Set<Path> toRefresh = refreshPlan.getToRefresh().stream()
+                .map(Xml.Document::getSourcePath)
+                .collect(Collectors.toSet());
         newMavenFiles.stream()
-                .forEach(mf -> {
-                    replaceModelInBuildFile(projectResources, buildFilesWithIndex, newMavenFiles, mf);
-                });
+                .filter(mf -> toRefresh.contains(mf.getSourcePath()))
+                .forEach(mf -> replaceModelInBuildFile(buildFiles.get(mf.getSourcePath()), mf));
     }
 
-    private void replaceModelInBuildFile(
-            List<RewriteSourceFileHolder<? extends SourceFile>> projectResources,
-            List<BuildFileWithIndex> buildFilesWithIndex,
-            List<Xml.Document> newMavenFiles,
-            Xml.Document mf
-    ) {
-        // get index in list of build files
-        int indexInNewMavenFiles = newMavenFiles.indexOf(mf);
-        RewriteSourceFileHolder<Xml.Document> originalPom = buildFilesWithIndex.get(indexInNewMavenFiles).getXmlDoc();
-        int indexInProjectResources = projectResources.indexOf(originalPom);
+    private void replaceModelInBuildFile(RewriteSourceFileHolder<Xml.Document> originalPom, Xml.Document mf) {
         // replace marker
         Markers markers = originalPom.getSourceFile().getMarkers().removeByType(MavenResolutionResult.class);
         MavenResolutionResult updatedModel = mf.getMarkers().findFirst(MavenResolutionResult.class).get();
         markers = markers.addIfAbsent(updatedModel);
         Xml.Document refreshedPom = originalPom.getSourceFile().withMarkers(markers);
-        RewriteSourceFileHolder<Xml.Document> rewriteSourceFileHolder = (RewriteSourceFileHolder<Xml.Document>) projectResources.get(indexInProjectResources);
-        rewriteSourceFileHolder.replaceWith(refreshedPom);
+        originalPom.replaceWith(refreshedPom);
+        if (originalPom instanceof OpenRewriteMavenBuildFile buildFile) {
+            buildFile.setChangedSinceResolution(false);
+        }
     }
 
     private boolean isMavenBuildFile(RewriteSourceFileHolder<? extends SourceFile> sf) {
         return Xml.Document.class.isInstance(sf.getSourceFile()) && Xml.Document.class.cast(sf.getSourceFile()).getMarkers().findFirst(MavenResolutionResult.class).isPresent();
     }
 
-    @Getter
-    class BuildFileWithIndex {
-        private final int index;
-        private final RewriteSourceFileHolder<Xml.Document> xmlDoc;
-
-        public BuildFileWithIndex(int index, RewriteSourceFileHolder<Xml.Document> xmlDoc) {
-
-            this.index = index;
-            this.xmlDoc = xmlDoc;
-        }
-    }
-
     private List<Result> executeRecipe(Recipe recipe) {
         List<Result> results = recipe.run(getDocumentsWrappedInOpenRewriteMavenBuildFile(), executionContext).getResults();
         return results;
@@ -188,6 +183,7 @@ public class MavenBuildFileRefactoring<T extends SourceFile> {
                         .findFirst()
                         .orElseThrow(() -> new RuntimeException("Could not find a BuildFile that wraps Xml.Document with id '%s' in the Result.".formatted(r.getAfter().getId())));
                 openRewriteMavenBuildFile.replaceWith((Xml.Document) r.getAfter());
+                openRewriteMavenBuildFile.setChangedSinceResolution(true);
             });
         }
     }
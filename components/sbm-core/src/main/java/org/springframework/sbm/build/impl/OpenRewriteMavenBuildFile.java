@@ -46,6 +46,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -57,6 +58,23 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
 
     private final ApplicationEventPublisher eventPublisher;
     private final PluginRepositoryHandler pluginRepositoryHandler = new PluginRepositoryHandler();
+    private final ResolvedDependencyPathsCache resolvedDependencyPathsCache = new ResolvedDependencyPathsCache();
+    private int batchDepth;
+    private boolean pomModelOutdated;
+    private boolean classpathRegistryOutdated;
+    private boolean dependenciesChanged;
+    private Xml.Document batchSnapshot;
+    private boolean changedBeforeBatch;
+    private boolean pomModelRefreshedInBatch;
+    /**
+     * {@code groupId:artifactId} of dependencies added or removed in the running batch but not yet in the pom model.
+     */
+    private final Set<String> addedInBatch = new HashSet<>();
+    private final Set<String> removedInBatch = new HashSet<>();
+    /**
+     * The content was changed by a refactoring and the {@link MavenResolutionResult} was not resolved again yet.
+     */
+    private boolean changedSinceResolution;
 	private final MavenBuildFileRefactoring<Xml.Document> refactoring;
 
     // Execute separately since RefreshPomModel caches the refreshed maven files after the first visit
@@ -147,15 +165,110 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
 		return this;
 	}
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void batch(Consumer<BuildFile> edits) {
+        if (batchDepth == 0) {
+            batchSnapshot = getSourceFile();
+            changedBeforeBatch = hasChanges();
+        }
+        batchDepth++;
+        boolean completed = false;
+        try {
+            edits.accept(this);
+            completed = true;
+        } finally {
+            batchDepth--;
+            if (batchDepth == 0) {
+                if (completed) {
+                    completeBatch();
+                } else {
+                    rollbackBatch();
+                }
+            }
+        }
+    }
+
+    private boolean isInBatch() {
+        return batchDepth > 0;
+    }
+
+    private void completeBatch() {
+        clearBatchState();
+        if (pomModelOutdated) {
+            refreshPomModel();
+        }
+        if (classpathRegistryOutdated) {
+            updateClasspathRegistry();
+        }
+        if (dependenciesChanged) {
+            publishDependenciesChanged();
+        }
+    }
+
+    /**
+     * Restores the pom as it was before the failed batch, no event is published and the classpath is not updated.
+     */
+    private void rollbackBatch() {
+        boolean otherModelsRefreshed = pomModelRefreshedInBatch;
+        Xml.Document snapshot = batchSnapshot;
+        clearBatchState();
+        pomModelOutdated = false;
+        classpathRegistryOutdated = false;
+        dependenciesChanged = false;
+        replaceWith(snapshot);
+        if (!changedBeforeBatch) {
+            resetHasChanges();
+        }
+        // the restored document carries the model resolved before the batch
+        changedSinceResolution = otherModelsRefreshed;
+        if (otherModelsRefreshed) {
+            // models of other build files might have been resolved with the changes of the batch
+            doRefreshPomModel();
+        }
+    }
+
+    boolean isChangedSinceResolution() {
+        return changedSinceResolution;
+    }
+
+    void setChangedSinceResolution(boolean changedSinceResolution) {
+        this.changedSinceResolution = changedSinceResolution;
+    }
+
+    private void clearBatchState() {
+        batchSnapshot = null;
+        pomModelRefreshedInBatch = false;
+        addedInBatch.clear();
+        removedInBatch.clear();
+    }
+
+    private void publishDependenciesChanged() {
+        if (isInBatch()) {
+            dependenciesChanged = true;
+            return;
+        }
+        dependenciesChanged = false;
+        eventPublisher.publishEvent(new DependenciesChangedEvent(getResolvedDependenciesPaths()));
+    }
+
     @Override
     public void addDependency(Dependency dependency) {
         if (!containsDependency(dependency)) {
             addDependencyInner(dependency);
-            eventPublisher.publishEvent(new DependenciesChangedEvent(getResolvedDependenciesPaths()));
+            publishDependenciesChanged();
         }
     }
 
     private boolean containsDependency(Dependency dependency) {
+        if (addedInBatch.contains(batchKey(dependency))) {
+            return true;
+        }
+        if (removedInBatch.contains(batchKey(dependency))) {
+            return false;
+        }
         List<ResolvedDependency> listToSearch;
 
         Map<Scope, List<ResolvedDependency>> projectDependencies = getPom().getDependencies();
@@ -175,7 +288,7 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
     @Override
     public void addDependencies(List<Dependency> dependencies) {
         addDependenciesInner(dependencies);
-        eventPublisher.publishEvent(new DependenciesChangedEvent(getResolvedDependenciesPaths()));
+        publishDependenciesChanged();
     }
 
     /**
@@ -353,7 +466,7 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
     public void removeDependencies(List<Dependency> dependencies) {
         removeDependenciesInner(dependencies);
 
-        eventPublisher.publishEvent(new DependenciesChangedEvent(getResolvedDependenciesPaths()));
+        publishDependenciesChanged();
     }
 
     /**
@@ -369,13 +482,13 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
                 .filter(c -> Arrays.stream(regex).anyMatch(r -> c.getCoordinates().matches(r)))
                 .collect(Collectors.toList());
         removeDependenciesInner(dependenciesMatching);
-        eventPublisher.publishEvent(new DependenciesChangedEvent(getResolvedDependenciesPaths()));
+        publishDependenciesChanged();
     }
 
     @Override
     public void addToDependencyManagement(Dependency dependency) {
         addToDependencyManagementInner(dependency);
-        eventPublisher.publishEvent(new DependenciesChangedEvent(getResolvedDependenciesPaths()));
+        publishDependenciesChanged();
     }
 
     private org.springframework.sbm.build.api.Dependency mapDependency(org.openrewrite.maven.tree.Dependency d) {
@@ -426,6 +539,17 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
     }
 
     protected void addDependenciesInner(List<Dependency> dependencies) {
+        if (isInBatch()) {
+            // the model doesn't contain dependencies added in the batch, AddDependencyVisitor would add them again
+            dependencies = dependencies.stream()
+                    .filter(d -> !addedInBatch.contains(batchKey(d)))
+                    .collect(Collectors.toList());
+            // ...and still contains removed dependencies, AddDependencyVisitor would not add them again
+            if (pomModelOutdated && dependencies.stream().anyMatch(d -> removedInBatch.contains(batchKey(d)))) {
+                doRefreshPomModel();
+            }
+            dependencies.forEach(d -> addedInBatch.add(batchKey(d)));
+        }
         if (!dependencies.isEmpty()) {
             Recipe r = getAddDependencyRecipe(dependencies.get(0));
             dependencies.stream().skip(1).forEach(d -> r.doNext(getAddDependencyRecipe(d)));
@@ -443,8 +567,21 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
     }
 
     private void refreshPomModel() {
+        if (isInBatch()) {
+            pomModelOutdated = true;
+            return;
+        }
+        doRefreshPomModel();
+    }
+
+    private void doRefreshPomModel() {
+        pomModelOutdated = false;
+        pomModelRefreshedInBatch |= isInBatch();
+        addedInBatch.clear();
+        removedInBatch.clear();
 //        apply(new GenericOpenRewriteRecipe<>(() -> new UpdateMavenModel<>()));
         refactoring.refreshPomModels();
+        resolvedDependencyPathsCache.invalidate();
     }
 
     /**
@@ -452,6 +589,10 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
      */
     private void excludeDependenciesInner(List<Dependency> exclusions) {
         if (!exclusions.isEmpty()) {
+            // exclusions are added to the dependencies bringing them in, this requires an up-to-date model
+            if (pomModelOutdated) {
+                doRefreshPomModel();
+            }
             Dependency excludedDependency = exclusions.get(0);
             ExcludeDependency excludeDependency = new ExcludeDependency(excludedDependency.getGroupId(), excludedDependency.getArtifactId(), excludedDependency.getScope());
             exclusions.stream().skip(1).forEach(d -> excludeDependency.doNext(new ExcludeDependency(d.getGroupId(), d.getArtifactId(), d.getScope())));
@@ -461,6 +602,11 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
     }
 
     private void updateClasspathRegistry() {
+        if (isInBatch()) {
+            classpathRegistryOutdated = true;
+            return;
+        }
+        classpathRegistryOutdated = false;
         ClasspathRegistry instance = ClasspathRegistry.getInstance();
         // FIXME: removed dependencies must be removed from ProjectDependenciesRegistry too
         Set<ResolvedDependency> compileDependencies = new HashSet<>(getPom().getDependencies().get(Scope.Compile));
@@ -490,6 +636,12 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
     }
 
     public void removeDependenciesInner(List<Dependency> dependencies) {
+        if (isInBatch()) {
+            dependencies.forEach(d -> {
+                addedInBatch.remove(batchKey(d));
+                removedInBatch.add(batchKey(d));
+            });
+        }
         if (!dependencies.isEmpty()) {
             Recipe r = getDeleteDependencyVisitor(dependencies.get(0));
             dependencies.stream().skip(1).forEach(d -> {
@@ -500,6 +652,10 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
         }
     }
 
+    private static String batchKey(Dependency dependency) {
+        return dependency.getGroupId() + ":" + dependency.getArtifactId();
+    }
+
     private Recipe getDeleteDependencyVisitor(Dependency dependency) {
         // FIXME: Test that RemoveDependency considers scope
         RemoveDependency v = new RemoveDependency(dependency.getGroupId(), dependency.getArtifactId(), dependency.getScope());
@@ -574,12 +730,21 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
     // collect declared dependencies (jar/pom)
     // resolve classpath according to list of jar/pom
 
+    /**
+     * The paths are cached until the pom changes.
+     */
     @Override
     public List<Path> getResolvedDependenciesPaths() {
-        RewriteMavenArtifactDownloader rewriteMavenArtifactDownloader = new RewriteMavenArtifactDownloader();
-        return getPom().getDependencies().get(Scope.Provided).stream()
+        return resolvedDependencyPathsCache.get(getPom(), this::resolveDependenciesPaths);
+    }
+
+    private List<Path> resolveDependenciesPaths(MavenResolutionResult mavenResolution) {
+        List<ResolvedDependency> externalDependencies = mavenResolution.getDependencies().get(Scope.Provided).stream()
                 .filter(this::filterProjectDependencies)
-                .map(rd -> rewriteMavenArtifactDownloader.downloadArtifact(rd))
+                .toList();
+        Map<ResolvedDependency, Path> downloaded = RewriteMavenArtifactDownloader.getShared().downloadArtifacts(externalDependencies);
+        return externalDependencies.stream()
+                .map(downloaded::get)
                 .collect(Collectors.toList());
     }
 
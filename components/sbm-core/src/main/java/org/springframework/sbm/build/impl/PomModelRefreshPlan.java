@@ -0,0 +1,269 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.build.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openrewrite.maven.internal.RawPom;
+import org.openrewrite.maven.tree.*;
+import org.openrewrite.xml.tree.Xml;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Calculates which Maven build files of a reactor must get a new {@link MavenResolutionResult} after some of them
+ * changed and which build files must be parsed to resolve them.
+ * <p>
+ * A build file changed when a refactoring changed it since it was resolved or when the model read from its current
+ * content differs from the model it was resolved from. Maven visitors update the requested model of the documents
+ * they change, the comparison therefore only detects changes made without such a visitor.
+ * Changed build files, the modules inheriting from them and the modules depending on them must be refreshed.
+ * These are parsed together with all reactor build files they reference as parent, dependency or imported bom,
+ * all other build files keep their {@link MavenResolutionResult}.
+ * All build files are refreshed when the coordinates or the parent of a changed build file changed.
+ */
+@Slf4j
+class PomModelRefreshPlan {
+
+    private final List<Xml.Document> toRefresh;
+    private final List<Xml.Document> toParse;
+
+    private PomModelRefreshPlan(List<Xml.Document> toRefresh, List<Xml.Document> toParse) {
+        this.toRefresh = toRefresh;
+        this.toParse = toParse;
+    }
+
+    static PomModelRefreshPlan of(List<Xml.Document> buildFiles) {
+        return of(buildFiles, Set.of());
+    }
+
+    /**
+     * @param buildFiles        all Maven build files of the reactor, each carrying the {@link MavenResolutionResult} it
+     *                          was last resolved with
+     * @param changedBuildFiles the source paths of the build files changed by a refactoring since they were resolved
+     */
+    static PomModelRefreshPlan of(List<Xml.Document> buildFiles, Set<Path> changedBuildFiles) {
+        List<Reactor.Module> modules = buildFiles.stream()
+                .map(d -> new Reactor.Module(d, changedBuildFiles.contains(d.getSourcePath())))
+                .toList();
+        Reactor reactor = new Reactor(modules);
+
+        List<Reactor.Module> changed = modules.stream().filter(Reactor.Module::isChanged).toList();
+        if (changed.isEmpty()) {
+            return new PomModelRefreshPlan(List.of(), List.of());
+        }
+        if (changed.stream().anyMatch(Reactor.Module::isStructureChanged)) {
+            return new PomModelRefreshPlan(buildFiles, buildFiles);
+        }
+
+        Set<Reactor.Module> affected = new LinkedHashSet<>(changed);
+        boolean grown;
+        do {
+            grown = false;
+            for (Reactor.Module module : modules) {
+                if (!affected.contains(module) && reactor.dependsOnAny(module, affected)) {
+                    affected.add(module);
+                    grown = true;
+                }
+            }
+        } while (grown);
+
+        Set<Reactor.Module> required = new LinkedHashSet<>(affected);
+        Deque<Reactor.Module> unvisited = new ArrayDeque<>(affected);
+        while (!unvisited.isEmpty()) {
+            for (Reactor.Module referenced : reactor.getReferencedModules(unvisited.pop())) {
+                if (required.add(referenced)) {
+                    unvisited.push(referenced);
+                }
+            }
+        }
+
+        log.debug("Refreshing %d of %d build files, parsing %d.".formatted(affected.size(), modules.size(), required.size()));
+        // keep the order of the build files
+        return new PomModelRefreshPlan(
+                modules.stream().filter(affected::contains).map(Reactor.Module::getDocument).toList(),
+                modules.stream().filter(required::contains).map(Reactor.Module::getDocument).toList()
+        );
+    }
+
+    /**
+     * The build files that need a new {@link MavenResolutionResult}.
+     */
+    List<Xml.Document> getToRefresh() {
+        return toRefresh;
+    }
+
+    /**
+     * The build files that must be parsed together to resolve the build files in {@link #getToRefresh()}.
+     */
+    List<Xml.Document> getToParse() {
+        return toParse;
+    }
+
+    private static class Reactor {
+
+        private final Map<String, Module> byGroupAndArtifactId = new HashMap<>();
+        private final Map<String, List<Module>> byArtifactId = new HashMap<>();
+
+        Reactor(List<Module> modules) {
+            for (Module module : modules) {
+                byGroupAndArtifactId.put(module.groupId + ":" + module.artifactId, module);
+                byArtifactId.computeIfAbsent(module.artifactId, a -> new ArrayList<>()).add(module);
+            }
+        }
+
+        /**
+         * {@code true} if {@code module} inherits from or depends on one of {@code modules}.
+         */
+        boolean dependsOnAny(Module module, Set<Module> modules) {
+            Module parent = module.getParent(this);
+            if (parent != null && modules.contains(parent)) {
+                return true;
+            }
+            return module.getResolvedDependencies().stream()
+                    .map(byGroupAndArtifactId::get)
+                    .filter(Objects::nonNull)
+                    .anyMatch(modules::contains)
+                    || getModules(module.getRequestedReferences()).stream().anyMatch(modules::contains);
+        }
+
+        /**
+         * The modules {@code module} needs to be resolved. Group ids of requested references can contain placeholders,
+         * these are therefore matched by artifact id.
+         */
+        Set<Module> getReferencedModules(Module module) {
+            Set<Module> referenced = new LinkedHashSet<>(getModules(module.getRequestedReferences()));
+            Module parent = module.getParent(this);
+            if (parent != null) {
+                referenced.add(parent);
+            }
+            module.getResolvedDependencies().stream()
+                    .map(byGroupAndArtifactId::get)
+                    .filter(Objects::nonNull)
+                    .forEach(referenced::add);
+            referenced.remove(module);
+            return referenced;
+        }
+
+        private List<Module> getModules(Set<String> artifactIds) {
+            return artifactIds.stream()
+                    .flatMap(artifactId -> byArtifactId.getOrDefault(artifactId, List.of()).stream())
+                    .toList();
+        }
+
+        private static class Module {
+            private static final List<String> BASEDIR_PROPERTIES = List.of("basedir", "project.basedir");
+
+            private final Xml.Document document;
+            private final boolean changedByRefactoring;
+            private final MavenResolutionResult resolutionResult;
+            private final String groupId;
+            private final String artifactId;
+            private final Pom current;
+
+            Module(Xml.Document document, boolean changedByRefactoring) {
+                this.document = document;
+                this.changedByRefactoring = changedByRefactoring;
+                this.resolutionResult = MavenBuildFileUtil.findMavenResolution(document).get();
+                this.groupId = resolutionResult.getPom().getGroupId();
+                this.artifactId = resolutionResult.getPom().getArtifactId();
+                this.current = readPom(document);
+            }
+
+            Xml.Document getDocument() {
+                return document;
+            }
+
+            /**
+             * Only the parts of the model taking part in the resolution are compared, the requested model of the
+             * {@link MavenResolutionResult} carries state the model read from the document does not have, e.g. the
+             * basedir properties added by the parser.
+             */
+            boolean isChanged() {
+                if (changedByRefactoring || current == null) {
+                    return true;
+                }
+                Pom resolvedFrom = getResolvedFrom();
+                return !Objects.equals(current.getGav(), resolvedFrom.getGav())
+                        || !Objects.equals(current.getParent(), resolvedFrom.getParent())
+                        || !Objects.equals(current.getDependencies(), resolvedFrom.getDependencies())
+                        || !Objects.equals(current.getDependencyManagement(), resolvedFrom.getDependencyManagement())
+                        || !Objects.equals(declaredProperties(current), declaredProperties(resolvedFrom))
+                        || !Objects.equals(current.getRepositories(), resolvedFrom.getRepositories());
+            }
+
+            boolean isStructureChanged() {
+                return current == null
+                        || !Objects.equals(current.getGav(), getResolvedFrom().getGav())
+                        || !Objects.equals(current.getParent(), getResolvedFrom().getParent());
+            }
+
+            Module getParent(Reactor reactor) {
+                Parent parent = getResolvedFrom().getParent();
+                return parent == null ? null : reactor.byGroupAndArtifactId.get(parent.getGroupId() + ":" + parent.getArtifactId());
+            }
+
+            Set<String> getResolvedDependencies() {
+                return resolutionResult.getDependencies().values().stream()
+                        .flatMap(List::stream)
+                        .map(d -> d.getGroupId() + ":" + d.getArtifactId())
+                        .collect(Collectors.toSet());
+            }
+
+            /**
+             * Artifact ids of the dependencies and imported boms declared in the current and the resolved model.
+             * Other managed dependencies only declare versions, they are not required to resolve the model.
+             */
+            Set<String> getRequestedReferences() {
+                Set<String> artifactIds = new HashSet<>();
+                for (Pom pom : current == null ? List.of(getResolvedFrom()) : List.of(getResolvedFrom(), current)) {
+                    if (pom.getDependencies() != null) {
+                        pom.getDependencies().forEach(d -> artifactIds.add(d.getArtifactId()));
+                    }
+                    if (pom.getDependencyManagement() != null) {
+                        pom.getDependencyManagement().stream()
+                                .filter(ManagedDependency.Imported.class::isInstance)
+                                .forEach(d -> artifactIds.add(d.getArtifactId()));
+                    }
+                }
+                return artifactIds;
+            }
+
+            private static Map<String, String> declaredProperties(Pom pom) {
+                Map<String, String> properties = new HashMap<>(pom.getProperties());
+                BASEDIR_PROPERTIES.forEach(properties::remove);
+                return properties;
+            }
+
+            private Pom getResolvedFrom() {
+                return resolutionResult.getPom().getRequested();
+            }
+
+            private static Pom readPom(Xml.Document document) {
+                try {
+                    byte[] content = document.printAll().getBytes(StandardCharsets.UTF_8);
+                    return RawPom.parse(new ByteArrayInputStream(content), null).toPom(document.getSourcePath(), null);
+                } catch (RuntimeException e) {
+                    log.debug("Could not read model of '%s', refreshing all build files.".formatted(document.getSourcePath()), e);
+                    return null;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.build.impl;
+
+import org.openrewrite.maven.tree.MavenResolutionResult;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Remembers the paths of the resolved dependencies of a build file for the {@link MavenResolutionResult} instance
+ * they were resolved from.
+ * <p>
+ * Every change of the pom creates a new {@link MavenResolutionResult}, a cached value is therefore never returned
+ * for a changed pom. Hits and misses are counted to allow monitoring the effectiveness.
+ */
+public class ResolvedDependencyPathsCache {
+
+    private MavenResolutionResult resolvedFrom;
+    private List<Path> paths;
+    private long hits;
+    private long misses;
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized List<Path> get(MavenResolutionResult mavenResolution, Function<MavenResolutionResult, List<Path>> resolver) {
+        if (paths != null && resolvedFrom == mavenResolution) {
+            hits++;
+            return paths;
+        }
+        misses++;
+        // resolved paths can contain null for artifacts that could not be downloaded
+        paths = Collections.unmodifiableList(new ArrayList<>(resolver.apply(mavenResolution)));
+        resolvedFrom = mavenResolution;
+        return paths;
+    }
+
+    public synchronized void invalidate() {
+        resolvedFrom = null;
+        paths = null;
+    }
+}
@@ -16,42 +16,82 @@
 package org.springframework.sbm.build.impl;
 
 import lombok.extern.slf4j.Slf4j;
-import lombok.extern.slf4j.XSlf4j;
+import okhttp3.ConnectionPool;
 import okhttp3.OkHttpClient;
-import okhttp3.Request;
-import okhttp3.Response;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.ipc.http.HttpSender;
 import org.openrewrite.ipc.http.OkHttpSender;
 import org.openrewrite.maven.MavenSettings;
 import org.openrewrite.maven.cache.LocalMavenArtifactCache;
 import org.openrewrite.maven.cache.MavenArtifactCache;
-import org.openrewrite.maven.cache.ReadOnlyLocalMavenArtifactCache;
+import org.openrewrite.maven.tree.ResolvedDependency;
 import org.openrewrite.maven.utilities.MavenArtifactDownloader;
-import org.springframework.stereotype.Component;
 
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.concurrent.TimeUnit;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.Consumer;
 
+/**
+ * Downloads the jars of resolved dependencies into the local Maven repository.
+ * <p>
+ * The application uses one instance, the bean provided by {@link RewriteMavenArtifactDownloaderConfiguration} is
+ * the instance returned by {@link #getShared()}.
+ * All instances share one {@link OkHttpClient} and its connection pool. {@link #downloadArtifacts(Collection)} fetches
+ * artifacts concurrently, a download requested while the same artifact is being downloaded waits for the running
+ * download.
+ * Artifacts are also read from {@code file:} repositories.
+ * Artifacts the repository definitely doesn't have, i.e. every request answered with 404 or 410 or the file doesn't
+ * exist, are not requested again for {@link #MISSING_ARTIFACT_TTL}. Other failures like timeouts are not remembered.
+ */
 @Slf4j
-@Component
 public class RewriteMavenArtifactDownloader extends MavenArtifactDownloader {
 
+    static final Duration MISSING_ARTIFACT_TTL = Duration.ofMinutes(10);
+
+    private static final int DOWNLOAD_THREADS = 8;
+
+    private static final OkHttpClient HTTP_CLIENT = new OkHttpClient.Builder()
+            .connectionPool(new ConnectionPool(DOWNLOAD_THREADS, 5, TimeUnit.MINUTES))
+            .retryOnConnectionFailure(true)
+            .connectTimeout(1, TimeUnit.SECONDS)
+            .readTimeout(2, TimeUnit.SECONDS)
+            .build();
+
+    private static final ExecutorService DOWNLOAD_EXECUTOR = Executors.newFixedThreadPool(DOWNLOAD_THREADS, r -> {
+        Thread thread = new Thread(r, "sbm-artifact-download");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The requests of the running download on the downloading thread.
+     */
+    private static final ThreadLocal<Requests> REQUESTS = ThreadLocal.withInitial(Requests::new);
+
+    private final Map<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Instant> missingUntil = new ConcurrentHashMap<>();
+    private final Duration missingArtifactTtl;
+    private final Clock clock;
+    private final MavenArtifactCache mavenArtifactCache;
+    private final Consumer<Throwable> onError;
+
     // TODO: #7 make artifactCache configurable
     public RewriteMavenArtifactDownloader() {
-        super(
+        this(
                 new LocalMavenArtifactCache(Paths.get(System.getProperty("user.home"), ".m2", "repository")).orElse(
                         new LocalMavenArtifactCache(Paths.get(System.getProperty("user.home"), ".rewrite", "cache", "artifacts"))
                 ),
                 null,
-                new OkHttpSender(
-                        new OkHttpClient.Builder()
-                                .retryOnConnectionFailure(true)
-                                .connectTimeout(1, TimeUnit.SECONDS)
-                                .readTimeout(2, TimeUnit.SECONDS)
-                                .build()
-                ),
+                new OkHttpSender(HTTP_CLIENT),
                 (t) -> log.warn("Error while downloading dependencies: " + t.getMessage(), t)
         );
 
@@ -61,6 +101,183 @@ public class RewriteMavenArtifactDownloader extends MavenArtifactDownloader {
     }
 
     public RewriteMavenArtifactDownloader(MavenArtifactCache mavenArtifactCache, @Nullable MavenSettings settings, HttpSender httpSender, Consumer<Throwable> onError) {
-        super(mavenArtifactCache, settings, httpSender, onError);
+        this(mavenArtifactCache, settings, httpSender, onError, MISSING_ARTIFACT_TTL, Clock.systemUTC());
+    }
+
+    RewriteMavenArtifactDownloader(MavenArtifactCache mavenArtifactCache, @Nullable MavenSettings settings, HttpSender httpSender, Consumer<Throwable> onError, Duration missingArtifactTtl, Clock clock) {
+        super(withoutEmptyArtifacts(mavenArtifactCache), settings, recordingResponses(httpSender), onError);
+        this.missingArtifactTtl = missingArtifactTtl;
+        this.clock = clock;
+        this.mavenArtifactCache = mavenArtifactCache;
+        this.onError = onError;
+    }
+
+    /**
+     * The downloader of the application, also used where no Spring managed instance is available.
+     */
+    public static RewriteMavenArtifactDownloader getShared() {
+        return SharedInstanceHolder.INSTANCE;
+    }
+
+    @Override
+    @Nullable
+    public Path downloadArtifact(ResolvedDependency dependency) {
+        return download(dependency).join();
+    }
+
+    /**
+     * Download the artifacts of all {@code dependencies} concurrently.
+     *
+     * @return the paths of the downloaded artifacts, dependencies that could not be downloaded are missing
+     */
+    public Map<ResolvedDependency, Path> downloadArtifacts(Collection<ResolvedDependency> dependencies) {
+        Map<ResolvedDependency, CompletableFuture<Path>> downloads = new LinkedHashMap<>();
+        dependencies.forEach(d -> downloads.put(d, download(d)));
+        Map<ResolvedDependency, Path> paths = new LinkedHashMap<>();
+        downloads.forEach((d, download) -> {
+            Path path = download.join();
+            if (path != null) {
+                paths.put(d, path);
+            }
+        });
+        return paths;
+    }
+
+    CompletableFuture<Path> download(ResolvedDependency dependency) {
+        String key = dependency.getGav() + ":" + dependency.getClassifier() + ":" + dependency.getType();
+        if (isKnownToBeMissing(key)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Path> download = new CompletableFuture<>();
+        CompletableFuture<Path> running = inFlight.putIfAbsent(key, download);
+        if (running != null) {
+            return running;
+        }
+        DOWNLOAD_EXECUTOR.execute(() -> {
+            Path path = null;
+            Requests requests = REQUESTS.get();
+            requests.reset();
+            try {
+                path = isFileRepository(dependency) ? downloadFromFileRepository(dependency) : super.downloadArtifact(dependency);
+            } catch (RuntimeException e) {
+                log.warn("Error while downloading dependency %s: %s".formatted(key, e.getMessage()), e);
+            } finally {
+                if (path == null && requests.allMissing()) {
+                    missingUntil.put(key, clock.instant().plus(missingArtifactTtl));
+                }
+                REQUESTS.remove();
+                inFlight.remove(key);
+                download.complete(path);
+            }
+        });
+        return download;
+    }
+
+    private static boolean isFileRepository(ResolvedDependency dependency) {
+        return dependency.getRepository() != null && dependency.getRepository().getUri().startsWith("file:");
+    }
+
+    @Nullable
+    private Path downloadFromFileRepository(ResolvedDependency dependency) {
+        if (dependency.getRequested().getType() != null && !"jar".equals(dependency.getRequested().getType())) {
+            return null;
+        }
+        Path artifact = Paths.get(URI.create(dependency.getRepository().getUri().replaceAll("/$", "")))
+                .resolve(dependency.getGroupId().replace('.', '/'))
+                .resolve(dependency.getArtifactId())
+                .resolve(dependency.getVersion())
+                .resolve(dependency.getArtifactId() + "-" +
+                        (dependency.getDatedSnapshotVersion() == null ? dependency.getVersion() : dependency.getDatedSnapshotVersion()) +
+                        ".jar");
+        return mavenArtifactCache.computeArtifact(dependency, () -> readFile(artifact), onError);
+    }
+
+    private static InputStream readFile(Path artifact) throws Exception {
+        Requests requests = REQUESTS.get();
+        try {
+            InputStream inputStream = Files.newInputStream(artifact);
+            requests.answered(false);
+            return inputStream;
+        } catch (NoSuchFileException e) {
+            requests.answered(true);
+            throw e;
+        }
+    }
+
+    private boolean isKnownToBeMissing(String key) {
+        Instant until = missingUntil.get(key);
+        if (until == null) {
+            return false;
+        }
+        if (clock.instant().isBefore(until)) {
+            return true;
+        }
+        missingUntil.remove(key, until);
+        return false;
+    }
+
+    private static HttpSender recordingResponses(HttpSender httpSender) {
+        return request -> {
+            boolean artifactMissing = false;
+            try {
+                HttpSender.Response response = httpSender.send(request);
+                artifactMissing = response.getCode() == 404 || response.getCode() == 410;
+                return response;
+            } finally {
+                // requests failing with an exception, e.g. a timeout, count as not missing
+                REQUESTS.get().answered(artifactMissing);
+            }
+        };
+    }
+
+    /**
+     * {@link MavenArtifactDownloader} passes no content to the cache for unsuccessful responses, which would be
+     * stored as an empty artifact.
+     */
+    private static MavenArtifactCache withoutEmptyArtifacts(MavenArtifactCache mavenArtifactCache) {
+        return new MavenArtifactCache() {
+            @Override
+            @Nullable
+            public Path getArtifact(ResolvedDependency dependency) {
+                return mavenArtifactCache.getArtifact(dependency);
+            }
+
+            @Override
+            @Nullable
+            public Path putArtifact(ResolvedDependency dependency, InputStream artifactInputStream, Consumer<Throwable> onError) {
+                if (artifactInputStream == null) {
+                    return null;
+                }
+                return mavenArtifactCache.putArtifact(dependency, artifactInputStream, onError);
+            }
+        };
+    }
+
+    /**
+     * Counts the requests of a download, the artifact is definitely missing when every request answered it is missing.
+     */
+    private static class Requests {
+        private int answered;
+        private int missing;
+
+        void reset() {
+            answered = 0;
+            missing = 0;
+        }
+
+        void answered(boolean artifactMissing) {
+            answered++;
+            if (artifactMissing) {
+                missing++;
+            }
+        }
+
+        boolean allMissing() {
+            return answered > 0 && missing == answered;
+        }
+    }
+
+    private static class SharedInstanceHolder {
+        private static final RewriteMavenArtifactDownloader INSTANCE = new RewriteMavenArtifactDownloader();
     }
 }
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.build.impl;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides {@link RewriteMavenArtifactDownloader#getShared()} as bean, code without access to the application
+ * context then uses the same downloader, its running downloads and the artifacts known to be missing.
+ */
+@Configuration
+public class RewriteMavenArtifactDownloaderConfiguration {
+
+    @Bean
+    RewriteMavenArtifactDownloader rewriteMavenArtifactDownloader() {
+        return RewriteMavenArtifactDownloader.getShared();
+    }
+}
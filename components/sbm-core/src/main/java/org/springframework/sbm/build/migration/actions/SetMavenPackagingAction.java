@@ -30,4 +30,9 @@ public class SetMavenPackagingAction extends AbstractAction {
         // FIXME: #14
         return false;
     }
+
+    @Override
+    public boolean isApplicabilityReadOnly() {
+        return true;
+    }
 }
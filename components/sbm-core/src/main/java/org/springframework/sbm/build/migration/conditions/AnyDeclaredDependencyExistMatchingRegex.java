@@ -15,7 +15,7 @@
  */
 package org.springframework.sbm.build.migration.conditions;
 
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 import org.springframework.sbm.engine.context.ProjectContext;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -31,7 +31,7 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class AnyDeclaredDependencyExistMatchingRegex implements Condition {
+public class AnyDeclaredDependencyExistMatchingRegex implements ReadOnlyCondition {
 
     private List<String> dependencies;
 
@@ -20,9 +20,10 @@ import lombok.Builder;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Check if any effective (declared or transitive) dependency exists in any build file found in {@link ProjectContext}.
@@ -31,7 +32,7 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class AnyEffectiveDependencyExistMatchingRegex implements Condition {
+public class AnyEffectiveDependencyExistMatchingRegex implements ReadOnlyCondition {
 
     private List<String> dependencies;
 
@@ -43,8 +44,7 @@ public class AnyEffectiveDependencyExistMatchingRegex implements Condition {
 
     @Override
     public boolean evaluate(ProjectContext context) {
-        return dependencies.stream().anyMatch(d ->
-                context.getBuildFile().hasEffectiveDependencyMatchingRegex(d)
-        );
+        Set<String> effectiveDependencies = context.getFactIndex().getEffectiveDependencies(context.getBuildFile().getAbsolutePath());
+        return dependencies.stream().anyMatch(d -> effectiveDependencies.stream().anyMatch(dc -> dc.matches(d)));
     }
 }
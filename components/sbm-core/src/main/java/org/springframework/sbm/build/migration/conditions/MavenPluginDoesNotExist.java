@@ -16,13 +16,13 @@
 package org.springframework.sbm.build.migration.conditions;
 
 import org.springframework.sbm.build.impl.OpenRewriteMavenPlugin;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 import org.springframework.sbm.engine.context.ProjectContext;
 import lombok.Setter;
 
 import javax.validation.Valid;
 
-public class MavenPluginDoesNotExist implements Condition {
+public class MavenPluginDoesNotExist implements ReadOnlyCondition {
     @Setter
     @Valid
     private OpenRewriteMavenPlugin plugin;
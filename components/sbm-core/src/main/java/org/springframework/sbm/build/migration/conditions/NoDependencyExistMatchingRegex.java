@@ -16,7 +16,7 @@
 package org.springframework.sbm.build.migration.conditions;
 
 import org.springframework.sbm.build.api.Module;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 import org.springframework.sbm.engine.context.ProjectContext;
 import lombok.*;
 
@@ -28,7 +28,7 @@ import java.util.List;
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
-public class NoDependencyExistMatchingRegex implements Condition {
+public class NoDependencyExistMatchingRegex implements ReadOnlyCondition {
 
     private List<String> dependencies = new ArrayList<>();
 
@@ -20,7 +20,7 @@ import lombok.Builder;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 
 import java.util.List;
 
@@ -31,7 +31,7 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class NoEffectiveDependencyExistMatchingRegex implements Condition {
+public class NoEffectiveDependencyExistMatchingRegex implements ReadOnlyCondition {
 
     private List<String> dependencies;
 
@@ -16,7 +16,7 @@
 package org.springframework.sbm.build.migration.conditions;
 
 import org.springframework.sbm.build.api.Dependency;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 import org.springframework.sbm.engine.context.ProjectContext;
 import lombok.*;
 
@@ -25,7 +25,7 @@ import lombok.*;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class NoExactDependencyExist implements Condition {
+public class NoExactDependencyExist implements ReadOnlyCondition {
 
     private Dependency dependency;
 
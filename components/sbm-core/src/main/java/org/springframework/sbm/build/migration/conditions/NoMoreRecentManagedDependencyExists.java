@@ -21,7 +21,7 @@ import org.springframework.sbm.build.api.BuildFile;
 import org.springframework.sbm.build.api.Dependency;
 import org.springframework.sbm.build.api.Module;
 import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 
 import java.util.List;
 
@@ -29,7 +29,7 @@ import java.util.List;
  * @author Fabian Krüger
  */
 @Setter
-public class NoMoreRecentManagedDependencyExists implements Condition {
+public class NoMoreRecentManagedDependencyExists implements ReadOnlyCondition {
 
     private String groupId;
     private String artifactId;
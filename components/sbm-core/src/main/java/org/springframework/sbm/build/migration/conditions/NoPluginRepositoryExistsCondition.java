@@ -18,10 +18,10 @@ package org.springframework.sbm.build.migration.conditions;
 import lombok.Setter;
 import org.springframework.sbm.build.api.RepositoryDefinition;
 import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 
 @Setter
-public class NoPluginRepositoryExistsCondition implements Condition {
+public class NoPluginRepositoryExistsCondition implements ReadOnlyCondition {
     private String url;
 
     @Override
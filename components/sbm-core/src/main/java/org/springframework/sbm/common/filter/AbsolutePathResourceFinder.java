@@ -17,7 +17,6 @@ package org.springframework.sbm.common.filter;
 
 import lombok.RequiredArgsConstructor;
 import org.openrewrite.SourceFile;
-import org.springframework.sbm.project.resource.ProjectResource;
 import org.springframework.sbm.project.resource.ProjectResourceSet;
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
 import org.springframework.sbm.project.resource.filter.ProjectResourceFinder;
@@ -35,11 +34,6 @@ public class AbsolutePathResourceFinder implements ProjectResourceFinder<Optiona
         if (absoluteResourcePath == null || ! absoluteResourcePath.isAbsolute()) {
             throw new IllegalArgumentException("Given path '"+absoluteResourcePath+"' is not absolute");
         }
-        Path searchForPath = absoluteResourcePath.normalize();
-        return projectResourceSet
-                .stream()
-                .filter(r -> searchForPath.equals(r.getAbsolutePath()))
-                .findFirst();
-
+        return projectResourceSet.findByAbsolutePath(absoluteResourcePath.normalize());
     }
 }
@@ -58,9 +58,9 @@ public class AbsolutePathResourcesFinder implements ProjectResourceFinder<List<R
 
     @Override
     public List<RewriteSourceFileHolder<? extends SourceFile>> apply(ProjectResourceSet projectResourceSet) {
-        return projectResourceSet
-                .stream()
-                .filter(r -> absoluteResourcePaths.contains(r.getAbsolutePath()))
+        return absoluteResourcePaths.stream()
+                .map(projectResourceSet::findByAbsolutePath)
+                .flatMap(Optional::stream)
                 .collect(Collectors.toList());
     }
 }
@@ -81,6 +81,11 @@ public class DocumentationExtraction extends AbstractAction {
                 .anyMatch(Action.class::isAssignableFrom);
     }
 
+    @Override
+    public boolean isApplicabilityReadOnly() {
+        return false;
+    }
+
     @NotNull
     private Class<?> getaClass(OpenRewriteType t) {
         try {
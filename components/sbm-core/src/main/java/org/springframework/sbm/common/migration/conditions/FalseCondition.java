@@ -15,10 +15,10 @@
  */
 package org.springframework.sbm.common.migration.conditions;
 
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 import org.springframework.sbm.engine.context.ProjectContext;
 
-public class FalseCondition implements Condition {
+public class FalseCondition implements ReadOnlyCondition {
 
     @Override
     public String getDescription() {
@@ -15,7 +15,7 @@
  */
 package org.springframework.sbm.common.migration.conditions;
 
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 import org.springframework.sbm.engine.context.ProjectContext;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -26,7 +26,7 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class FileExist implements Condition {
+public class FileExist implements ReadOnlyCondition {
 
     private String fileName;
 
@@ -37,7 +37,6 @@ public class FileExist implements Condition {
 
     @Override
     public boolean evaluate(ProjectContext context) {
-        return context.getProjectResources().stream()
-                .anyMatch(f -> !f.isDeleted() && fileName.equals(f.getAbsolutePath().getFileName().toString()));
+        return context.getFactIndex().hasFileNamed(fileName);
     }
 }
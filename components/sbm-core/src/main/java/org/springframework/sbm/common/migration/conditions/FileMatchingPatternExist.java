@@ -19,6 +19,7 @@ import lombok.*;
 import org.springframework.sbm.common.util.OsAgnosticPathMatcher;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 import org.springframework.util.PathMatcher;
 
 /**
@@ -34,7 +35,7 @@ import org.springframework.util.PathMatcher;
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
-public class FileMatchingPatternExist implements Condition {
+public class FileMatchingPatternExist implements ReadOnlyCondition {
 
     private String pattern;
     private final PathMatcher pathMatcher = new OsAgnosticPathMatcher();
@@ -22,6 +22,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 
 /**
  * Condition resolves to {@code true} if given {@code antPath} matches any file.
@@ -36,7 +37,7 @@ import org.springframework.sbm.engine.recipe.Condition;
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
-public class NoFileMatchingPathPatternExist implements Condition {
+public class NoFileMatchingPathPatternExist implements ReadOnlyCondition {
 
     private String pattern;
 
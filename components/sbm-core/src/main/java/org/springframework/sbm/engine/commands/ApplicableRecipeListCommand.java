@@ -18,12 +18,16 @@ package org.springframework.sbm.engine.commands;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.recipe.ApplicableRecipesListHolder;
 import org.springframework.sbm.engine.recipe.Recipe;
+import org.springframework.sbm.engine.recipe.RecipeApplicabilityMemo;
 import org.springframework.sbm.engine.recipe.Recipes;
 import org.springframework.sbm.engine.recipe.RecipesBuilder;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
 import org.springframework.sbm.scopes.ExecutionScope;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 public class ApplicableRecipeListCommand extends AbstractCommand<List<Recipe>> {
@@ -31,11 +35,14 @@ public class ApplicableRecipeListCommand extends AbstractCommand<List<Recipe>> {
     private static final String COMMAND_NAME = "applicableRecipes";
     private final RecipesBuilder recipesBuilder;
     private final ApplicableRecipesListHolder applicableRecipesListHolder;
+    private final SbmApplicationProperties sbmApplicationProperties;
+    private final RecipeApplicabilityMemo applicabilityMemo = new RecipeApplicabilityMemo();
 
-    protected ApplicableRecipeListCommand(RecipesBuilder recipesBuilder, ExecutionScope executionScope, ApplicableRecipesListHolder applicableRecipesListHolder) {
+    protected ApplicableRecipeListCommand(RecipesBuilder recipesBuilder, ExecutionScope executionScope, ApplicableRecipesListHolder applicableRecipesListHolder, SbmApplicationProperties sbmApplicationProperties) {
         super(COMMAND_NAME);
         this.recipesBuilder = recipesBuilder;
         this.applicableRecipesListHolder = applicableRecipesListHolder;
+        this.sbmApplicationProperties = sbmApplicationProperties;
     }
 
     public List<Recipe> execute(ProjectContext projectContext) {
@@ -45,11 +52,21 @@ public class ApplicableRecipeListCommand extends AbstractCommand<List<Recipe>> {
     private List<Recipe> getApplicableRecipes(ProjectContext context) {
         applicableRecipesListHolder.clear();
         Recipes recipes = recipesBuilder.buildRecipes();
-        List<Recipe> applicable = recipes.getApplicable(context);
+        List<Recipe> applicable = getApplicable(recipes, context);
         applicableRecipesListHolder.setRecipes(applicable);
         return applicable;
     }
 
+    private List<Recipe> getApplicable(Recipes recipes, ProjectContext context) {
+        int parallelism = sbmApplicationProperties.getApplicabilityEvaluationParallelism();
+        boolean memoEnabled = sbmApplicationProperties.isApplicabilityMemoEnabled();
+        if (parallelism <= 1 && !memoEnabled) {
+            return recipes.getApplicable(context);
+        }
+        Map<Recipe, Boolean> knownResults = memoEnabled ? applicabilityMemo.getResults(context) : new HashMap<>();
+        return recipes.getApplicable(context, parallelism, knownResults);
+    }
+
     @Override
     @Deprecated
     // FIXME: Refactor: inheriting AbstractCommand forces this method!
@@ -52,6 +52,7 @@ public class ProjectContext {
     private final JavaParser javaParser;
     private final ExecutionContext executionContext;
     private final RewriteMigrationResultMerger resultMerger;
+    private final ProjectFactIndex factIndex;
 
     public ProjectContext(JavaRefactoringFactory javaRefactoringFactory, Path projectRootDirectory, ProjectResourceSet projectResources, BasePackageCalculator basePackageCalculator, JavaParser javaParser, ExecutionContext executionContext, RewriteMigrationResultMerger resultMerger) {
         this.projectRootDirectory = projectRootDirectory.toAbsolutePath();
@@ -61,6 +62,7 @@ public class ProjectContext {
         this.javaParser = javaParser;
         this.executionContext = executionContext;
         this.resultMerger = resultMerger;
+        this.factIndex = new ProjectFactIndex(projectResources);
     }
 
     /**
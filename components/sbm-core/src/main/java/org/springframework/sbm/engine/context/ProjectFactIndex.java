@@ -0,0 +1,233 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.context;
+
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+import org.openrewrite.maven.tree.MavenResolutionResult;
+import org.openrewrite.maven.tree.ResolvedDependency;
+import org.openrewrite.maven.tree.Scope;
+import org.openrewrite.xml.tree.Xml;
+import org.springframework.sbm.build.impl.MavenBuildFileUtil;
+import org.springframework.sbm.project.resource.ProjectResourceSet;
+import org.springframework.sbm.project.resource.ResourceReadRecorder;
+import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Index of the facts most conditions ask for: imports, annotations, declared types, file names and dependencies.
+ * <p>
+ * The facts of a resource are extracted once for each {@link SourceFile} instance. The {@link ProjectResourceSet}
+ * reports every added, removed or changed resource and only these resources are (re-)indexed, either right after
+ * {@link org.springframework.sbm.engine.recipe.RewriteMigrationResultMerger merging} recipe results or before the
+ * next question. Questions are answered without locking as long as no resource was modified.
+ * Questions are recorded by the {@link ResourceReadRecorder} as reads of the types the facts are extracted from.
+ */
+public class ProjectFactIndex {
+
+    private static final List<Scope> EFFECTIVE_SCOPES = List.of(Scope.Compile, Scope.Provided, Scope.Test);
+
+    private final ProjectResourceSet projectResources;
+    /**
+     * Resources modified since they were indexed, a resource is only removed after it was indexed.
+     */
+    private final Queue<RewriteSourceFileHolder<? extends SourceFile>> modifiedResources = new ConcurrentLinkedQueue<>();
+    private final Map<RewriteSourceFileHolder<? extends SourceFile>, FileFacts> indexed = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<String, Integer> imports = new ConcurrentSkipListMap<>();
+    private final Map<String, Integer> annotations = new ConcurrentHashMap<>();
+    private final Map<String, Integer> typeAnnotations = new ConcurrentHashMap<>();
+    private final Map<String, Integer> declaredTypes = new ConcurrentHashMap<>();
+    private final Map<String, Integer> fileNames = new ConcurrentHashMap<>();
+
+    public ProjectFactIndex(ProjectResourceSet projectResources) {
+        this.projectResources = projectResources;
+        projectResources.addModificationListener(modifiedResources::add);
+        projectResources.stream().forEach(modifiedResources::add);
+    }
+
+    /**
+     * @return {@code true} if any Java source has an import starting with {@code prefix}
+     */
+    public boolean hasImportStartingWith(String prefix) {
+        ResourceReadRecorder.recordType(J.CompilationUnit.class);
+        refresh();
+        String candidate = imports.ceilingKey(prefix);
+        return candidate != null && candidate.startsWith(prefix);
+    }
+
+    /**
+     * @return {@code true} if any Java source uses the annotation {@code fqName} or an annotation meta-annotated with it
+     */
+    public boolean hasAnnotation(String fqName) {
+        ResourceReadRecorder.recordType(J.CompilationUnit.class);
+        refresh();
+        return annotations.containsKey(fqName);
+    }
+
+    /**
+     * @return {@code true} if any top-level type is annotated with {@code fqName}
+     */
+    public boolean hasTypeAnnotatedWith(String fqName) {
+        ResourceReadRecorder.recordType(J.CompilationUnit.class);
+        refresh();
+        return typeAnnotations.containsKey(fqName);
+    }
+
+    /**
+     * @return {@code true} if any Java source declares the top-level type {@code fqName}
+     */
+    public boolean declaresType(String fqName) {
+        ResourceReadRecorder.recordType(J.CompilationUnit.class);
+        refresh();
+        return declaredTypes.containsKey(fqName);
+    }
+
+    public boolean hasFileNamed(String fileName) {
+        ResourceReadRecorder.recordType(SourceFile.class);
+        refresh();
+        return fileNames.containsKey(fileName);
+    }
+
+    /**
+     * @return the {@code groupId:artifactId:version} coordinates of the compile, provided and test dependencies
+     * (including transitive dependencies) of the build file at {@code buildFilePath}
+     */
+    public Set<String> getEffectiveDependencies(Path buildFilePath) {
+        refresh();
+        return projectResources.findByAbsolutePath(buildFilePath)
+                .map(indexed::get)
+                .map(FileFacts::effectiveDependencies)
+                .orElse(Set.of());
+    }
+
+    /**
+     * Index the resources modified since the last refresh.
+     */
+    public void refresh() {
+        if (modifiedResources.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            RewriteSourceFileHolder<? extends SourceFile> resource;
+            while ((resource = modifiedResources.peek()) != null) {
+                index(resource);
+                modifiedResources.poll();
+            }
+        }
+    }
+
+    private void index(RewriteSourceFileHolder<? extends SourceFile> resource) {
+        FileFacts facts = indexed.get(resource);
+        if (resource.isDeleted() || !projectResources.contains(resource)) {
+            if (facts != null) {
+                indexed.remove(resource);
+                count(facts, -1);
+            }
+            return;
+        }
+        if (facts != null && facts.sourceFile() == resource.getSourceFile()) {
+            return;
+        }
+        FileFacts newFacts = extractFacts(resource);
+        indexed.put(resource, newFacts);
+        // count the new facts first so facts of the resource don't disappear for concurrent readers
+        count(newFacts, 1);
+        if (facts != null) {
+            count(facts, -1);
+        }
+    }
+
+    private void count(FileFacts facts, int delta) {
+        count(imports, facts.imports(), delta);
+        count(annotations, facts.annotations(), delta);
+        count(typeAnnotations, facts.typeAnnotations(), delta);
+        count(declaredTypes, facts.declaredTypes(), delta);
+        count(fileNames, Set.of(facts.fileName()), delta);
+    }
+
+    private static void count(Map<String, Integer> counts, Set<String> facts, int delta) {
+        facts.forEach(fact -> counts.compute(fact, (k, count) -> {
+            int newCount = (count == null ? 0 : count) + delta;
+            return newCount > 0 ? newCount : null;
+        }));
+    }
+
+    private static FileFacts extractFacts(RewriteSourceFileHolder<? extends SourceFile> resource) {
+        SourceFile sourceFile = resource.getSourceFile();
+        String fileName = resource.getAbsolutePath().getFileName().toString();
+        Set<String> imports = new HashSet<>();
+        Set<String> annotations = new HashSet<>();
+        Set<String> typeAnnotations = new HashSet<>();
+        Set<String> declaredTypes = new HashSet<>();
+        Set<String> effectiveDependencies = new HashSet<>();
+        if (sourceFile instanceof J.CompilationUnit compilationUnit) {
+            compilationUnit.getImports().forEach(i -> imports.add(i.getTypeName()));
+            for (J.ClassDeclaration classDeclaration : compilationUnit.getClasses()) {
+                JavaType.FullyQualified type = TypeUtils.asFullyQualified(classDeclaration.getType());
+                if (type != null) {
+                    declaredTypes.add(type.getFullyQualifiedName());
+                }
+                classDeclaration.getLeadingAnnotations().stream()
+                        .map(a -> a.getAnnotationType().getType())
+                        .filter(JavaType.Class.class::isInstance)
+                        .map(t -> ((JavaType.Class) t).getFullyQualifiedName())
+                        .forEach(typeAnnotations::add);
+            }
+            new AnnotationCollector().visit(compilationUnit, annotations);
+        } else if (sourceFile instanceof Xml.Document pom) {
+            MavenBuildFileUtil.findMavenResolution(pom)
+                    .ifPresent(mavenResolution -> addEffectiveDependencies(mavenResolution, effectiveDependencies));
+        }
+        return new FileFacts(sourceFile, fileName, imports, annotations, typeAnnotations, declaredTypes, effectiveDependencies);
+    }
+
+    private static void addEffectiveDependencies(MavenResolutionResult mavenResolution, Set<String> effectiveDependencies) {
+        for (Scope scope : EFFECTIVE_SCOPES) {
+            List<ResolvedDependency> dependencies = mavenResolution.getDependencies().getOrDefault(scope, List.of());
+            dependencies.forEach(d -> effectiveDependencies.add(d.getGroupId() + ":" + d.getArtifactId() + ":" + d.getVersion()));
+        }
+    }
+
+    /**
+     * Collects the fully qualified names of all used annotations and their meta-annotations.
+     */
+    private static class AnnotationCollector extends JavaIsoVisitor<Set<String>> {
+        @Override
+        public J.Annotation visitAnnotation(J.Annotation annotation, Set<String> annotations) {
+            addWithMetaAnnotations(TypeUtils.asFullyQualified(annotation.getType()), annotations);
+            return super.visitAnnotation(annotation, annotations);
+        }
+
+        private void addWithMetaAnnotations(JavaType.FullyQualified type, Set<String> annotations) {
+            if (type != null && annotations.add(type.getFullyQualifiedName())) {
+                type.getAnnotations().forEach(metaAnnotation -> addWithMetaAnnotations(metaAnnotation, annotations));
+            }
+        }
+    }
+
+    private record FileFacts(SourceFile sourceFile, String fileName, Set<String> imports, Set<String> annotations,
+                             Set<String> typeAnnotations, Set<String> declaredTypes, Set<String> effectiveDependencies) {
+    }
+}
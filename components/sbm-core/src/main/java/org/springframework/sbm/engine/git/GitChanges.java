@@ -0,0 +1,37 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.git;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * Absolute paths of files added, modified or deleted in the working tree since a given revision.
+ */
+@Getter
+@RequiredArgsConstructor
+public class GitChanges {
+    private final Set<Path> added;
+    private final Set<Path> modified;
+    private final Set<Path> deleted;
+
+    public boolean isEmpty() {
+        return added.isEmpty() && modified.isEmpty() && deleted.isEmpty();
+    }
+}
@@ -19,10 +19,15 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.jgit.api.*;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.diff.DiffEntry;
 import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.treewalk.CanonicalTreeParser;
+import org.eclipse.jgit.treewalk.TreeWalk;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.project.resource.SbmApplicationProperties;
@@ -32,8 +37,10 @@ import org.springframework.stereotype.Component;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -217,6 +224,59 @@ public class GitSupport {
         }
     }
 
+    /**
+     * Get the files added, modified or deleted since {@code revision}.
+     * Contains committed changes between {@code revision} and {@code HEAD} as well as uncommitted and untracked changes.
+     *
+     * @param repo     the location of the repo
+     * @param revision the revision to compare with
+     */
+    public GitChanges getChangesSince(File repo, String revision) {
+        try {
+            Git git = getGit(repo);
+            Repository repository = git.getRepository();
+            Path workTree = repository.getWorkTree().toPath();
+            ObjectId revisionTree = repository.resolve(revision + "^{tree}");
+            ObjectId headTree = repository.resolve("HEAD^{tree}");
+            if (revisionTree == null || headTree == null) {
+                throw new IllegalArgumentException("Could not resolve revision '%s' or HEAD in '%s'".formatted(revision, repo));
+            }
+
+            Set<String> changedPaths = new HashSet<>();
+            try (ObjectReader reader = repository.newObjectReader()) {
+                CanonicalTreeParser oldTree = new CanonicalTreeParser();
+                oldTree.reset(reader, revisionTree);
+                CanonicalTreeParser newTree = new CanonicalTreeParser();
+                newTree.reset(reader, headTree);
+                git.diff().setOldTree(oldTree).setNewTree(newTree).call().forEach(diff -> {
+                    changedPaths.add(diff.getOldPath());
+                    changedPaths.add(diff.getNewPath());
+                });
+            }
+            changedPaths.remove(DiffEntry.DEV_NULL);
+            Status status = git.status().call();
+            changedPaths.addAll(status.getUncommittedChanges());
+            changedPaths.addAll(status.getUntracked());
+
+            Set<Path> added = new HashSet<>();
+            Set<Path> modified = new HashSet<>();
+            Set<Path> deleted = new HashSet<>();
+            for (String changedPath : changedPaths) {
+                Path absolutePath = workTree.resolve(changedPath).toAbsolutePath().normalize();
+                if (!absolutePath.toFile().isFile()) {
+                    deleted.add(absolutePath);
+                } else if (TreeWalk.forPath(repository, changedPath, revisionTree) == null) {
+                    added.add(absolutePath);
+                } else {
+                    modified.add(absolutePath);
+                }
+            }
+            return new GitChanges(added, modified, deleted);
+        } catch (GitAPIException | IOException e) {
+            throw new RuntimeException("Could not compute changes since revision '%s'.".formatted(revision), e);
+        }
+    }
+
     /**
      * Add and commit modified and deleted files.
      *
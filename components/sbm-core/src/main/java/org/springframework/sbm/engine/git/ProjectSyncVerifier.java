@@ -18,6 +18,8 @@ package org.springframework.sbm.engine.git;
 import org.springframework.sbm.engine.commands.ScanCommand;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.context.ProjectContextHolder;
+import org.springframework.sbm.project.parser.IncrementalProjectContextUpdater;
+import org.springframework.sbm.project.parser.ProjectContextInitializer;
 import org.springframework.sbm.project.resource.SbmApplicationProperties;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -33,6 +35,8 @@ public class ProjectSyncVerifier {
     private final ScanCommand scanCommand;
     private final SbmApplicationProperties sbmApplicationProperties;
     private final ProjectContextHolder projectContextHolder;
+    private final IncrementalProjectContextUpdater incrementalProjectContextUpdater;
+    private final ProjectContextInitializer projectContextInitializer;
 
     public void rescanWhenProjectIsOutOfSyncAndGitAvailable(ProjectContext context) {
         if (sbmApplicationProperties.isGitSupportEnabled()) {
@@ -40,6 +44,9 @@ public class ProjectSyncVerifier {
             if (gitSupport.repoExists(repo)) {
                 String expectedRevision = context.getRevision();
                 if (expectedRevision != null && !isProjectInSync(repo, expectedRevision)) {
+                    if (sbmApplicationProperties.isIncrementalRescanEnabled() && rescanChangedFiles(repo, context, expectedRevision)) {
+                        return;
+                    }
                     ProjectContext projectContext = scanCommand.execute(context.getProjectRootDirectory().toString());
                     projectContextHolder.setProjectContext(projectContext);
                 }
@@ -60,6 +67,15 @@ public class ProjectSyncVerifier {
         }
     }
 
+    private boolean rescanChangedFiles(File repo, ProjectContext context, String expectedRevision) {
+        GitChanges changes = gitSupport.getChangesSince(repo, expectedRevision);
+        if (!incrementalProjectContextUpdater.update(context, changes)) {
+            return false;
+        }
+        projectContextInitializer.storeGitCommitHash(context.getProjectRootDirectory(), context);
+        projectContextHolder.setProjectContext(context);
+        return true;
+    }
 
     boolean isProjectInSync(File repo, String expectedRevision) {
         Assert.notNull(expectedRevision, "Revision must not be null. This might be due to a problem retrieving the last commit hash from git.");
@@ -59,6 +59,15 @@ public abstract class AbstractAction implements Action {
 
     }
 
+    /**
+     * Applicability is decided by the {@link Condition}, subclasses overriding
+     * {@link #isApplicable(ProjectContext)} must override this method as well.
+     */
+    @Override
+    public boolean isApplicabilityReadOnly() {
+        return getCondition() == null || getCondition().isReadOnly();
+    }
+
     @Override
     public boolean isAutomated() {
         return !this.getClass().isAssignableFrom(DisplayDescription.class);
@@ -57,6 +57,15 @@ public interface Action {
         return getCondition().evaluate(context);
     }
 
+    /**
+     * {@code true} if {@link #isApplicable(ProjectContext)} only reads the {@link ProjectContext}, see
+     * {@link Condition#isReadOnly()}.
+     * Actions must opt in explicitly by overriding this method.
+     */
+    default boolean isApplicabilityReadOnly() {
+        return false;
+    }
+
     /**
      * Informs the user about a long running process.
      * Every started process must be ended with {@code #endProcess}.
@@ -30,6 +30,11 @@ public interface Condition {
         public boolean evaluate(ProjectContext context) {
             return false;
         }
+
+        @Override
+        public boolean isReadOnly() {
+            return true;
+        }
     };
     Condition TRUE = new Condition() {
 
@@ -42,6 +47,11 @@ public interface Condition {
         public boolean evaluate(ProjectContext context) {
             return true;
         }
+
+        @Override
+        public boolean isReadOnly() {
+            return true;
+        }
     };
 
     default Condition or(Condition other) {
@@ -62,10 +72,24 @@ public interface Condition {
             public boolean evaluate(ProjectContext context) {
                 return Condition.this.evaluate(context) || other.evaluate(context);
             }
+
+            @Override
+            public boolean isReadOnly() {
+                return Condition.this.isReadOnly() && other.isReadOnly();
+            }
         };
     }
 
     String getDescription();
 
     boolean evaluate(ProjectContext context);
+
+    /**
+     * Conditions only reading the {@link ProjectContext} can be evaluated concurrently with other read-only conditions.
+     * Conditions must opt in after verifying they neither change the context nor depend on state shared with other
+     * conditions, e.g. the {@code ExecutionContext} used by {@code JavaGlobalRefactoring#find}.
+     */
+    default boolean isReadOnly() {
+        return false;
+    }
 }
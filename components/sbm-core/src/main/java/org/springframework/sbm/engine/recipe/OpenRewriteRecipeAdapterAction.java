@@ -57,6 +57,11 @@ public class OpenRewriteRecipeAdapterAction extends AbstractAction {
         }*/
     }
 
+    @Override
+    public boolean isApplicabilityReadOnly() {
+        return true;
+    }
+
     public OpenRewriteRecipeAdapterAction(Recipe recipe) {
         this.recipe = recipe;
     }
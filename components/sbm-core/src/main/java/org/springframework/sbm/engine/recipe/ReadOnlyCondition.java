@@ -0,0 +1,29 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.recipe;
+
+/**
+ * A {@link Condition} which only reads the {@link org.springframework.sbm.engine.context.ProjectContext}.
+ * <p>
+ * Conditions implement this interface to opt in to concurrent evaluation, see {@link Condition#isReadOnly()}.
+ */
+public interface ReadOnlyCondition extends Condition {
+
+    @Override
+    default boolean isReadOnly() {
+        return true;
+    }
+}
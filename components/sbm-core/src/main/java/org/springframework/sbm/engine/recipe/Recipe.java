@@ -92,6 +92,15 @@ public class Recipe {
         return condition.evaluate(context) && actions.stream().anyMatch(a -> a.isApplicable(context));
     }
 
+    /**
+     * @return {@code true} if the condition of this recipe and the applicability of all its actions are
+     * {@link Condition#isReadOnly() read-only}
+     * @see Action#isApplicabilityReadOnly()
+     */
+    public boolean hasReadOnlyConditions() {
+        return condition.isReadOnly() && actions.stream().allMatch(Action::isApplicabilityReadOnly);
+    }
+
     public List<Action> apply(ProjectContext context) {
 
         List<Action> appliedActions = new ArrayList<>();
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.recipe;
+
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.project.resource.ProjectResourceSet;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers for each {@link ProjectContext} which recipes were applicable.
+ * <p>
+ * The remembered results of a context are discarded as soon as a resource was added, removed or changed,
+ * see {@link ProjectResourceSet#getModificationCount()}.
+ */
+public class RecipeApplicabilityMemo {
+
+    private final Map<ProjectContext, Results> resultsByContext = new WeakHashMap<>();
+
+    /**
+     * @return the remembered results of {@code context}, the returned map can be used to record new results
+     */
+    public synchronized Map<Recipe, Boolean> getResults(ProjectContext context) {
+        long modificationCount = context.getProjectResources().getModificationCount();
+        Results results = resultsByContext.get(context);
+        if (results == null || results.modificationCount() != modificationCount) {
+            results = new Results(modificationCount, new ConcurrentHashMap<>());
+            resultsByContext.put(context, results);
+        }
+        return results.applicable();
+    }
+
+    private record Results(long modificationCount, Map<Recipe, Boolean> applicable) {
+    }
+}
@@ -17,9 +17,11 @@ package org.springframework.sbm.engine.recipe;
 
 import org.springframework.sbm.engine.context.ProjectContext;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 public class Recipes {
@@ -52,6 +54,45 @@ public class Recipes {
         return applicableRecipes;
     }
 
+    /**
+     * Like {@link #getApplicable(ProjectContext)} but recipes with {@link Recipe#hasReadOnlyConditions() read-only conditions}
+     * are evaluated concurrently using up to {@code parallelism} threads. All other recipes are evaluated afterwards,
+     * one after the other.
+     * <p>
+     * Results found in {@code knownResults} are not evaluated again, new results are added to it.
+     */
+    public List<Recipe> getApplicable(ProjectContext context, int parallelism, Map<Recipe, Boolean> knownResults) {
+        List<Recipe> readOnly = recipesList.stream()
+                .filter(r -> !knownResults.containsKey(r))
+                .filter(Recipe::hasReadOnlyConditions)
+                .toList();
+        int threads = Math.min(parallelism, readOnly.size());
+        if (threads > 1) {
+            ExecutorService executorService = Executors.newFixedThreadPool(threads);
+            try {
+                Map<Recipe, CompletableFuture<Boolean>> evaluations = new LinkedHashMap<>();
+                readOnly.forEach(r -> evaluations.put(r, CompletableFuture.supplyAsync(() -> r.isApplicable(context), executorService)));
+                evaluations.forEach((r, evaluation) -> knownResults.put(r, join(evaluation)));
+            } finally {
+                executorService.shutdownNow();
+            }
+        }
+        return recipesList.stream()
+                .filter(r -> knownResults.computeIfAbsent(r, recipe -> recipe.isApplicable(context)))
+                .collect(Collectors.toList());
+    }
+
+    private boolean join(CompletableFuture<Boolean> evaluation) {
+        try {
+            return evaluation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
     public Optional<Recipe> getRecipeByName(String recipeName) {
         return recipesList.stream()
                 .filter(r -> r.getName().equals(recipeName))
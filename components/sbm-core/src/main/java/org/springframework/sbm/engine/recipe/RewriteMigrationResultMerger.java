@@ -46,6 +46,8 @@ public class RewriteMigrationResultMerger {
                 handleModified(context, after);
             }
         });
+        // index the merged resources once instead of on the next question
+        context.getFactIndex().refresh();
     }
 
     private void handleDeleted(ProjectContext context, SourceFile before) {
@@ -106,9 +106,7 @@ public class ClasspathRegistry {
 	}
 
 	public void addDependency(ResolvedDependency... deps) {
-		Arrays.asList(deps).forEach(dep -> {
-			initDependency(dep, currentDependencies);
-		});
+		initDependencies(Arrays.asList(deps), currentDependencies);
 	}
 
 	public void removeDependency(ResolvedDependency... deps) {
@@ -123,6 +121,26 @@ public class ClasspathRegistry {
 		}));
 	}
 
+	/**
+	 * Copy of the initial and current dependencies, used to switch between the classpaths of several projects.
+	 */
+	public Snapshot snapshot() {
+		return new Snapshot(new HashMap<>(initialDependencies), new HashMap<>(currentDependencies));
+	}
+
+	/**
+	 * Replace the initial and current dependencies with those of a {@link #snapshot()}.
+	 */
+	public void restore(Snapshot snapshot) {
+		initialDependencies.clear();
+		currentDependencies.clear();
+		initialDependencies.putAll(snapshot.initialDependencies());
+		currentDependencies.putAll(snapshot.currentDependencies());
+	}
+
+	public record Snapshot(Map<ResolvedDependency, Path> initialDependencies, Map<ResolvedDependency, Path> currentDependencies) {
+	}
+
 	public Set<Path> getInitialDependencies() {
 		return new HashSet<>(initialDependencies.values());
 	}
@@ -138,21 +156,29 @@ public class ClasspathRegistry {
 	}
 
 	private void initializeDepeendencies(Set<ResolvedDependency> deps) {
-		deps.forEach(dep -> {
-			initDependency(dep, initialDependencies, currentDependencies);
-		});
+		initDependencies(deps, initialDependencies, currentDependencies);
 	}
 
-	private void initDependency(ResolvedDependency d, Map<ResolvedDependency, Path>... maps) {
-		if(isExternalDependency(d)) {
-			Path dependencyPath = new RewriteMavenArtifactDownloader().downloadArtifact(d);
+	/**
+	 * Downloads all external dependencies concurrently, the transitive dependencies of dependencies that are
+	 * not external or could not be downloaded are initialized afterwards.
+	 */
+	private void initDependencies(Collection<ResolvedDependency> deps, Map<ResolvedDependency, Path>... maps) {
+		List<ResolvedDependency> externalDependencies = deps.stream()
+				.filter(this::isExternalDependency)
+				.toList();
+		Map<ResolvedDependency, Path> downloaded = RewriteMavenArtifactDownloader.getShared().downloadArtifacts(externalDependencies);
+		Set<ResolvedDependency> transitiveDependencies = new HashSet<>();
+		deps.forEach(d -> {
+			Path dependencyPath = downloaded.get(d);
 			if(dependencyPath != null) {
 				Stream.of(maps).forEach(m -> m.put(d, dependencyPath));
 			} else {
-				initializeDepeendencies(new HashSet<>(d.getDependencies()));
+				transitiveDependencies.addAll(d.getDependencies());
 			}
-		} else {
-			initializeDepeendencies(new HashSet(d.getDependencies()));
+		});
+		if(!transitiveDependencies.isEmpty()) {
+			initializeDepeendencies(transitiveDependencies);
 		}
 	}
 
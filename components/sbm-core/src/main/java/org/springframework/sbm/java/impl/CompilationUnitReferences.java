@@ -0,0 +1,126 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.java.impl;
+
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Names of the types a compilation unit references with all their enclosing names, and the packages it imports
+ * with a wildcard.
+ * <p>
+ * A compilation unit references a type when it imports the type or its package, when the type is in use or when it
+ * is written fully qualified.
+ * The references are read from the compilation unit, it is neither printed nor parsed again.
+ */
+public record CompilationUnitReferences(Set<String> types, Set<String> packages) {
+
+    public static CompilationUnitReferences of(J.CompilationUnit compilationUnit) {
+        Set<String> types = new HashSet<>();
+        Set<String> packages = new HashSet<>();
+        compilationUnit.getImports().forEach(i -> {
+            String name = i.getQualid().printTrimmed();
+            if (name.endsWith(".*")) {
+                String importedName = name.substring(0, name.length() - 2);
+                // a static wildcard import imports the members of a type
+                (i.isStatic() ? types : packages).add(importedName);
+            } else {
+                types.add(name);
+            }
+        });
+        compilationUnit.getTypesInUse().getTypesInUse().stream()
+                .map(TypeUtils::asFullyQualified)
+                .filter(Objects::nonNull)
+                .map(t -> t.getFullyQualifiedName().replace('$', '.'))
+                .forEach(types::add);
+        // fully qualified names are not in use when their type could not be attributed
+        new JavaIsoVisitor<Set<String>>() {
+            @Override
+            public J.FieldAccess visitFieldAccess(J.FieldAccess fieldAccess, Set<String> names) {
+                names.add(fieldAccess.printTrimmed().replaceAll("\\s", ""));
+                return fieldAccess;
+            }
+        }.visit(compilationUnit, types);
+        return new CompilationUnitReferences(
+                types.stream().flatMap(CompilationUnitReferences::withEnclosingNames).collect(Collectors.toSet()),
+                packages);
+    }
+
+    /**
+     * The compilation units of {@code candidates} required to attribute {@code compilationUnits}.
+     * <p>
+     * These are the candidates in the package of a compilation unit or declaring a type it references, directly or
+     * through other required candidates.
+     */
+    public static List<J.CompilationUnit> findRequired(Collection<J.CompilationUnit> compilationUnits, Collection<J.CompilationUnit> candidates) {
+        Map<String, List<J.CompilationUnit>> candidatesByType = new HashMap<>();
+        Map<String, List<J.CompilationUnit>> candidatesByPackage = new HashMap<>();
+        candidates.forEach(cu -> {
+            declaredTypes(cu).forEach(t -> candidatesByType.computeIfAbsent(t, k -> new ArrayList<>()).add(cu));
+            candidatesByPackage.computeIfAbsent(packageName(cu), k -> new ArrayList<>()).add(cu);
+        });
+
+        Set<J.CompilationUnit> required = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<J.CompilationUnit> toVisit = new ArrayDeque<>();
+        Consumer<J.CompilationUnit> require = cu -> {
+            if (required.add(cu)) {
+                toVisit.push(cu);
+            }
+        };
+        // types of the same package can be used without import, the candidates' own references to them are in use
+        compilationUnits.forEach(cu -> {
+            candidatesByPackage.getOrDefault(packageName(cu), List.of()).forEach(require);
+            toVisit.push(cu);
+        });
+        while (!toVisit.isEmpty()) {
+            CompilationUnitReferences references = of(toVisit.pop());
+            references.packages().forEach(p -> candidatesByPackage.getOrDefault(p, List.of()).forEach(require));
+            references.types().forEach(t -> candidatesByType.getOrDefault(t, List.of()).forEach(require));
+        }
+        return candidates.stream().filter(required::contains).toList();
+    }
+
+    public static String packageName(J.CompilationUnit compilationUnit) {
+        return compilationUnit.getPackageDeclaration() == null ? "" : compilationUnit.getPackageDeclaration().getExpression().printTrimmed();
+    }
+
+    public static Stream<String> declaredTypes(J.CompilationUnit compilationUnit) {
+        String packageName = packageName(compilationUnit);
+        String prefix = packageName.isEmpty() ? "" : packageName + ".";
+        return compilationUnit.getClasses().stream()
+                .map(c -> prefix + c.getSimpleName());
+    }
+
+    public boolean matchesAny(Set<String> changedTypes, Set<String> changedPackages) {
+        return types.stream().anyMatch(changedTypes::contains) || packages.stream().anyMatch(changedPackages::contains);
+    }
+
+    private static Stream<String> withEnclosingNames(String name) {
+        List<String> names = new ArrayList<>();
+        int index = name.length();
+        while (index > 0) {
+            names.add(name.substring(0, index));
+            index = name.lastIndexOf('.', index - 1);
+        }
+        return names.stream();
+    }
+}
@@ -15,52 +15,217 @@
  */
 package org.springframework.sbm.java.impl;
 
+import lombok.extern.slf4j.Slf4j;
 import org.openrewrite.ExecutionContext;
 import org.springframework.sbm.build.api.DependenciesChangedEvent;
+import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.context.ProjectContextHolder;
 import lombok.RequiredArgsConstructor;
 import org.openrewrite.Parser;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.tree.J;
 import org.springframework.context.event.EventListener;
+import org.springframework.sbm.engine.events.ActionFailedEvent;
+import org.springframework.sbm.engine.events.ActionFinishedEvent;
+import org.springframework.sbm.engine.events.ActionStartedEvent;
+import org.springframework.sbm.java.api.JavaSource;
 import org.springframework.stereotype.Component;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
+import java.util.function.Function;
+import java.util.jar.JarFile;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * Re-attributes Java compilation units with the current classpath when dependencies changed.
+ * <p>
+ * Only compilation units referencing types of added or removed classpath entries, directly or through other project
+ * types, are parsed again, together with the compilation units of the project they require,
+ * see {@link CompilationUnitReferences}.
+ * The classpath of the parser is updated immediately.
+ * All compilation units are parsed when the classpath they were attributed with is unknown, e.g. for a new
+ * {@link ProjectContext}.
+ * {@link DependenciesChangedEvent}s raised while an action is applied are handled once, when the action finished.
+ */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class DependenciesChangedEventHandler {
     private final ProjectContextHolder projectContextHolder;
     private final JavaParser javaParser;
     private final ExecutionContext executionContext;
+    private final Map<Path, Set<String>> typesInClasspathEntry = new HashMap<>();
+    private final Map<ProjectContext, Set<Path>> attributedClasspaths = new WeakHashMap<>();
+    private int runningActions;
+    private boolean pendingDependencyChanges;
+
+    @EventListener
+    public synchronized void onDependenciesChanged(DependenciesChangedEvent event) {
+        // the parser resolves the new dependencies right away, only the re-attribution is deferred
+        javaParser.setClasspath(ClasspathRegistry.getInstance().getCurrentDependencies());
+        if (runningActions > 0) {
+            pendingDependencyChanges = true;
+        } else {
+            reattributeCompilationUnits();
+        }
+    }
+
+    @EventListener
+    public synchronized void onActionStarted(ActionStartedEvent event) {
+        runningActions++;
+    }
+
+    @EventListener
+    public synchronized void onActionFinished(ActionFinishedEvent event) {
+        actionEnded();
+    }
 
     @EventListener
-    public void onDependenciesChanged(DependenciesChangedEvent event) {
-        if (projectContextHolder.getProjectContext() != null) {
-            Set<Parser.Input> compilationUnitsSet = projectContextHolder.getProjectContext().getProjectJavaSources().stream()
-                    .map(js -> js.getResource().getSourceFile())
-                    .map(js -> new Parser.Input(js.getSourcePath(), () -> new ByteArrayInputStream(js.printAll().getBytes(StandardCharsets.UTF_8))))
+    public synchronized void onActionFailed(ActionFailedEvent event) {
+        actionEnded();
+    }
+
+    private void actionEnded() {
+        runningActions = Math.max(0, runningActions - 1);
+        if (runningActions == 0 && pendingDependencyChanges) {
+            pendingDependencyChanges = false;
+            reattributeCompilationUnits();
+        }
+    }
+
+    private void reattributeCompilationUnits() {
+        ProjectContext projectContext = projectContextHolder.getProjectContext();
+        if (projectContext == null) {
+            return;
+        }
+        Set<Path> classpath = ClasspathRegistry.getInstance().getCurrentDependencies();
+        List<JavaSource> javaSources = projectContext.getProjectJavaSources().list();
+        List<JavaSource> affectedJavaSources = findAffectedJavaSources(projectContext, javaSources, classpath);
+        attributedClasspaths.put(projectContext, Set.copyOf(classpath));
+        if (affectedJavaSources.isEmpty()) {
+            return;
+        }
+
+        List<JavaSource> javaSourcesToParse = addReferencedJavaSources(javaSources, affectedJavaSources);
+        List<Parser.Input> compilationUnits = javaSourcesToParse.stream()
+                .map(js -> js.getResource().getSourceFile())
+                .map(js -> new Parser.Input(js.getSourcePath(), () -> new ByteArrayInputStream(js.printAll().getBytes(StandardCharsets.UTF_8))))
+                .collect(Collectors.toList());
+        log.debug("Re-attributing %d of %d compilation units.".formatted(affectedJavaSources.size(), javaSources.size()));
+
+        Path projectRootDirectory = projectContext.getProjectRootDirectory();
+        javaParser.setSourceSet("main");
+        javaParser.setClasspath(classpath);
+
+        List<J.CompilationUnit> parsedCompilationUnits = javaParser.parseInputs(compilationUnits, null, executionContext);
+        Map<Path, JavaSource> affectedJavaSourcesByPath = affectedJavaSources.stream()
+                .collect(Collectors.toMap(js -> js.getResource().getAbsolutePath(), Function.identity(), (js1, js2) -> js1));
+        parsedCompilationUnits.forEach(cu -> {
+            JavaSource javaSource = affectedJavaSourcesByPath.get(projectRootDirectory.resolve(cu.getSourcePath()).normalize());
+            if (javaSource != null) {
+                javaSource.getResource().replaceWith(cu);
+            }
+        });
+    }
+
+    List<JavaSource> findAffectedJavaSources(ProjectContext projectContext, List<JavaSource> javaSources, Set<Path> classpath) {
+        Set<Path> attributedClasspath = attributedClasspaths.get(projectContext);
+        if (attributedClasspath == null) {
+            return javaSources;
+        }
+        Set<Path> changedClasspathEntries = new HashSet<>(classpath);
+        changedClasspathEntries.addAll(attributedClasspath);
+        changedClasspathEntries.removeIf(p -> classpath.contains(p) && attributedClasspath.contains(p));
+        if (changedClasspathEntries.isEmpty()) {
+            return List.of();
+        }
+        Set<String> changedTypes = changedClasspathEntries.stream()
+                .flatMap(p -> typesInClasspathEntry.computeIfAbsent(p, this::readTypes).stream())
+                .collect(Collectors.toSet());
+        Set<String> changedPackages = changedTypes.stream()
+                .map(this::packageOf)
+                .collect(Collectors.toSet());
+        Map<JavaSource, CompilationUnitReferences> references = new IdentityHashMap<>();
+        javaSources.forEach(js -> references.put(js, CompilationUnitReferences.of(js.getResource().getSourceFile())));
+        List<JavaSource> directlyAffectedJavaSources = javaSources.stream()
+                .filter(js -> references.get(js).matchesAny(changedTypes, changedPackages))
+                .toList();
+        return addDependentJavaSources(javaSources, directlyAffectedJavaSources, references);
+    }
+
+    /**
+     * Compilation units can reach types of changed classpath entries through project types only, e.g. by extending
+     * a project type which extends a type of a jar.
+     * These reference a type declared in an affected compilation unit, directly or through other such compilation
+     * units, and are affected as well.
+     */
+    private List<JavaSource> addDependentJavaSources(List<JavaSource> javaSources, List<JavaSource> affectedJavaSources, Map<JavaSource, CompilationUnitReferences> references) {
+        Map<String, List<JavaSource>> javaSourcesByReferencedType = new HashMap<>();
+        javaSources.forEach(js -> references.get(js).types().forEach(t -> javaSourcesByReferencedType.computeIfAbsent(t, k -> new ArrayList<>()).add(js)));
+        Set<JavaSource> affected = Collections.newSetFromMap(new IdentityHashMap<>());
+        affected.addAll(affectedJavaSources);
+        Deque<JavaSource> toVisit = new ArrayDeque<>(affectedJavaSources);
+        while (!toVisit.isEmpty()) {
+            CompilationUnitReferences.declaredTypes(toVisit.pop().getResource().getSourceFile())
+                    .flatMap(t -> javaSourcesByReferencedType.getOrDefault(t, List.of()).stream())
+                    .filter(affected::add)
+                    .forEach(toVisit::push);
+        }
+        return javaSources.stream().filter(affected::contains).toList();
+    }
+
+    /**
+     * Type attribution of the affected compilation units requires the project types they reference.
+     */
+    private List<JavaSource> addReferencedJavaSources(List<JavaSource> javaSources, List<JavaSource> affectedJavaSources) {
+        Map<J.CompilationUnit, JavaSource> javaSourcesByCompilationUnit = new IdentityHashMap<>();
+        javaSources.forEach(js -> javaSourcesByCompilationUnit.put(js.getResource().getSourceFile(), js));
+        Set<J.CompilationUnit> affectedCompilationUnits = Collections.newSetFromMap(new IdentityHashMap<>());
+        affectedJavaSources.forEach(js -> affectedCompilationUnits.add(js.getResource().getSourceFile()));
+        List<J.CompilationUnit> otherCompilationUnits = javaSources.stream()
+                .map(js -> js.getResource().getSourceFile())
+                .filter(cu -> !affectedCompilationUnits.contains(cu))
+                .toList();
+        List<JavaSource> javaSourcesToParse = new ArrayList<>(affectedJavaSources);
+        CompilationUnitReferences.findRequired(affectedCompilationUnits, otherCompilationUnits).stream()
+                .map(javaSourcesByCompilationUnit::get)
+                .forEach(javaSourcesToParse::add);
+        return javaSourcesToParse;
+    }
+
+    private String packageOf(String typeName) {
+        int index = typeName.lastIndexOf('.');
+        return index == -1 ? "" : typeName.substring(0, index);
+    }
+
+    /**
+     * Fully qualified names of all top level and nested types in a jar or directory classpath entry.
+     */
+    private Set<String> readTypes(Path classpathEntry) {
+        try {
+            Stream<String> classFiles;
+            if (Files.isDirectory(classpathEntry)) {
+                try (Stream<Path> files = Files.walk(classpathEntry)) {
+                    classFiles = files.map(f -> classpathEntry.relativize(f).toString().replace('\\', '/')).toList().stream();
+                }
+            } else {
+                try (JarFile jarFile = new JarFile(classpathEntry.toFile())) {
+                    classFiles = jarFile.stream().map(e -> e.getName()).toList().stream();
+                }
+            }
+            return classFiles
+                    .filter(n -> n.endsWith(".class") && !n.endsWith("module-info.class") && !n.endsWith("package-info.class"))
+                    .map(n -> n.substring(0, n.length() - ".class".length()).replace('/', '.').replace('$', '.'))
                     .collect(Collectors.toSet());
-            List<Parser.Input> compilationUnits = new ArrayList<>(compilationUnitsSet);
-
-            Path projectRootDirectory = projectContextHolder.getProjectContext().getProjectRootDirectory();
-            javaParser.setSourceSet("main");
-            javaParser.setClasspath(ClasspathRegistry.getInstance().getCurrentDependencies());
-
-            List<J.CompilationUnit> parsedCompilationUnits = javaParser.parseInputs(compilationUnits, null, executionContext);
-            // ((J.VariableDeclarations)parsedCompilationUnits.get(0).getClasses().get(0).getBody().getStatements().get(0)).getLeadingAnnotations().get(0).getType()
-            parsedCompilationUnits.forEach(cu -> {
-                projectContextHolder.getProjectContext().getProjectJavaSources().stream()
-                        .filter(js -> js.getResource().getAbsolutePath().equals(projectRootDirectory.resolve(cu.getSourcePath()).normalize()))
-                        .forEach(js -> js.getResource().replaceWith(cu));
-            });
+        } catch (IOException e) {
+            log.warn("Could not read types from classpath entry '%s'.".formatted(classpathEntry), e);
+            return Set.of();
         }
     }
 }
-
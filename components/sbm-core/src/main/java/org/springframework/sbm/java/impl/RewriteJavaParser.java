@@ -22,14 +22,17 @@ import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.marker.JavaSourceSet;
 import org.openrewrite.java.tree.J;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.sbm.project.resource.SbmApplicationProperties;
 import org.springframework.sbm.scopes.annotations.ScanScope;
+import org.springframework.sbm.utils.SharedJavaTypeCache;
 import org.springframework.stereotype.Component;
 
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 @Component
 @ScanScope
@@ -39,19 +42,26 @@ public class RewriteJavaParser implements JavaParser {
     @Getter
     private final JavaParser javaParser;
     private final ExecutionContext executionContext;
+    private final SharedJavaTypeCache.ClasspathTypeCache typeCache;
 
+    public RewriteJavaParser(SbmApplicationProperties sbmApplicationProperties, ExecutionContext executionContext) {
+        this(sbmApplicationProperties, executionContext, new SharedJavaTypeCache(SharedJavaTypeCache.DEFAULT_MAX_ENTRIES));
+    }
 
     // satisfies DI
-    public RewriteJavaParser(SbmApplicationProperties sbmApplicationProperties, ExecutionContext executionContext) {
+    @Autowired
+    public RewriteJavaParser(SbmApplicationProperties sbmApplicationProperties, ExecutionContext executionContext, SharedJavaTypeCache sharedJavaTypeCache) {
         this.sbmApplicationProperties = sbmApplicationProperties;
         this.executionContext = executionContext;
+        this.typeCache = sharedJavaTypeCache.forClasspath(Set.of());
         javaParser = buildJavaParser(Collections.emptySet());
     }
 
     @NotNull
     private JavaParser buildJavaParser(Collection<Path> classpath) {
         Builder<? extends JavaParser, ?> builder = JavaParser.fromJavaVersion()
-                .logCompilationWarningsAndErrors(sbmApplicationProperties.isJavaParserLoggingCompilationWarningsAndErrors());
+                .logCompilationWarningsAndErrors(sbmApplicationProperties.isJavaParserLoggingCompilationWarningsAndErrors())
+                .typeCache(typeCache);
         if (!classpath.isEmpty()) {
             builder.classpath(classpath);
         }
@@ -71,6 +81,7 @@ public class RewriteJavaParser implements JavaParser {
 
     @Override
     public void setClasspath(Collection<Path> classpath) {
+        this.typeCache.setClasspath(classpath);
         this.javaParser.setClasspath(classpath);
     }
 
@@ -16,14 +16,18 @@
 package org.springframework.sbm.java.migration.conditions;
 
 import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 import lombok.*;
 
+import java.util.regex.Pattern;
+
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class HasAnnotation implements Condition {
-	
+public class HasAnnotation implements ReadOnlyCondition {
+
+	private static final Pattern FULLY_QUALIFIED_NAME = Pattern.compile("[\\w.]+");
+
     @Setter
 	@Getter
     private String annotation;
@@ -36,6 +40,11 @@ public class HasAnnotation implements Condition {
 
 	@Override
 	public boolean evaluate(ProjectContext context) {
+		String fqName = annotation.startsWith("@") ? annotation.substring(1) : annotation;
+		if (FULLY_QUALIFIED_NAME.matcher(fqName).matches()) {
+			return context.getFactIndex().hasAnnotation(fqName);
+		}
+		// patterns with wildcards or arguments
 		return context.getProjectJavaSources().asStream()
 				.anyMatch(js -> js.hasAnnotation(annotation));
 	}
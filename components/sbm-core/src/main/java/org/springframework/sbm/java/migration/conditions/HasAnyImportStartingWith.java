@@ -16,7 +16,7 @@
 package org.springframework.sbm.java.migration.conditions;
 
 import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -24,7 +24,7 @@ import java.util.List;
 
 @Setter
 @Getter
-public class HasAnyImportStartingWith implements Condition {
+public class HasAnyImportStartingWith implements ReadOnlyCondition {
 
     private List<String> importPatterns;
 
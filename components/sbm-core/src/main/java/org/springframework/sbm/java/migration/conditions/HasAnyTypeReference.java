@@ -17,7 +17,7 @@ package org.springframework.sbm.java.migration.conditions;
 
 import lombok.*;
 import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 
 import java.util.List;
 
@@ -26,7 +26,7 @@ import java.util.List;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-public class HasAnyTypeReference implements Condition {
+public class HasAnyTypeReference implements ReadOnlyCondition {
 
     private List<String> fqTypeNames;
 
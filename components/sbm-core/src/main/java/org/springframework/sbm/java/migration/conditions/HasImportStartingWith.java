@@ -18,7 +18,7 @@ package org.springframework.sbm.java.migration.conditions;
 import org.springframework.util.StringUtils;
 
 import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 import lombok.*;
 
 @Setter
@@ -26,7 +26,7 @@ import lombok.*;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class HasImportStartingWith implements Condition {
+public class HasImportStartingWith implements ReadOnlyCondition {
 
     private String value;
 
@@ -39,6 +39,6 @@ public class HasImportStartingWith implements Condition {
 
     @Override
     public boolean evaluate(ProjectContext context) {
-        return context.getProjectJavaSources().hasImportStartingWith(value);
+        return context.getFactIndex().hasImportStartingWith(value);
     }
 }
@@ -16,11 +16,11 @@
 package org.springframework.sbm.java.migration.conditions;
 
 import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 import lombok.Getter;
 import lombok.Setter;
 
-public class HasMemberAnnotation implements Condition {
+public class HasMemberAnnotation implements ReadOnlyCondition {
 
     @Setter
     @Getter
@@ -15,14 +15,14 @@
  */
 package org.springframework.sbm.java.migration.conditions;
 
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 import org.springframework.sbm.engine.context.ProjectContext;
 import lombok.Builder;
 import lombok.RequiredArgsConstructor;
 
 @Builder
 @RequiredArgsConstructor
-public class HasNoTypeAnnotation implements Condition {
+public class HasNoTypeAnnotation implements ReadOnlyCondition {
 
     private final HasTypeAnnotation hasTypeAnnotation;
 
@@ -16,13 +16,13 @@
 package org.springframework.sbm.java.migration.conditions;
 
 import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 import lombok.*;
 
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class HasTypeAnnotation implements Condition {
+public class HasTypeAnnotation implements ReadOnlyCondition {
 
     @Setter
     @Getter
@@ -35,9 +35,7 @@ public class HasTypeAnnotation implements Condition {
 
     @Override
     public boolean evaluate(ProjectContext context) {
-        return context.getProjectJavaSources().asStream()
-                .flatMap(js -> js.getTypes().stream())
-                .anyMatch(t -> t.hasAnnotation(annotation));
+        return context.getFactIndex().hasTypeAnnotatedWith(annotation);
     }
 
 }
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.parser;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Parser;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.marker.JavaProject;
+import org.openrewrite.java.marker.JavaSourceSet;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.marker.Marker;
+import org.openrewrite.marker.Markers;
+import org.openrewrite.maven.tree.MavenResolutionResult;
+import org.openrewrite.xml.tree.Xml;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.sbm.common.util.OsAgnosticPathMatcher;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.git.GitChanges;
+import org.springframework.sbm.java.impl.ClasspathRegistry;
+import org.springframework.sbm.java.impl.CompilationUnitReferences;
+import org.springframework.sbm.project.resource.ProjectResourceSet;
+import org.springframework.sbm.project.resource.ProjectResourceWrapper;
+import org.springframework.sbm.project.resource.ProjectResourceWrapperRegistry;
+import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
+import org.springframework.sbm.utils.SharedJavaTypeCache;
+import org.springframework.stereotype.Component;
+import org.springframework.util.PathMatcher;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Updates the {@link ProjectResourceSet} of a {@link ProjectContext} by parsing only the files changed on disk.
+ * <p>
+ * Java files are parsed with the unchanged compilation units declaring the project types they require, see
+ * {@link CompilationUnitReferences}, so these types are attributed without parsing the whole project again.
+ * Parsed files get the markers of the resource they replace or, for new files, the provenance markers of the build
+ * file of their module and the {@link JavaSourceSet} of the module's source set they belong to, like a full scan would.
+ * Changes to build files affect the whole project and can not be applied incrementally.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IncrementalProjectContextUpdater {
+
+    private final ResourceParser resourceParser;
+    private final ProjectResourceWrapperRegistry resourceWrapperRegistry;
+    private final SbmApplicationProperties sbmApplicationProperties;
+    private final ExecutionContext executionContext;
+    private final SharedJavaTypeCache sharedJavaTypeCache;
+    private final PathMatcher pathMatcher = new OsAgnosticPathMatcher();
+
+    /**
+     * Parse the added and modified files and swap them into the {@link ProjectResourceSet} of {@code context},
+     * deleted files are removed.
+     *
+     * @return {@code false} if the changes could not be applied and the project must be scanned again
+     */
+    public boolean update(ProjectContext context, GitChanges changes) {
+        Path projectRoot = context.getProjectRootDirectory();
+        ProjectResourceSet projectResources = context.getProjectResources();
+        Set<Path> changedFiles = Stream.concat(changes.getAdded().stream(), changes.getModified().stream())
+                .filter(p -> isRelevant(projectRoot, p))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<Path> deletedFiles = changes.getDeleted().stream()
+                .filter(p -> isRelevant(projectRoot, p))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        if (Stream.concat(changedFiles.stream(), deletedFiles.stream()).anyMatch(this::isBuildFile)) {
+            log.debug("Build file changed, project must be scanned again.");
+            return false;
+        }
+
+        Map<Path, Markers> markersForChangedFiles = new HashMap<>();
+        for (Path changedFile : changedFiles) {
+            Optional<Markers> markers = findMarkers(projectRoot, projectResources, changedFile);
+            if (markers.isEmpty()) {
+                log.debug("Could not find markers for changed file '%s', project must be scanned again.".formatted(changedFile));
+                return false;
+            }
+            markersForChangedFiles.put(changedFile, markers.get());
+        }
+
+        List<SourceFile> parsedFiles = parse(projectRoot, projectResources, changedFiles, deletedFiles);
+
+        deletedFiles.forEach(projectResources::remove);
+        for (SourceFile parsedFile : parsedFiles) {
+            Path absolutePath = projectRoot.resolve(parsedFile.getSourcePath()).toAbsolutePath().normalize();
+            Markers markers = markersForChangedFiles.getOrDefault(absolutePath, parsedFile.getMarkers());
+            RewriteSourceFileHolder<? extends SourceFile> resource = wrap(projectRoot, parsedFile.withMarkers(markers));
+            if (projectResources.indexOf(absolutePath) == -1) {
+                projectResources.add(resource);
+            } else {
+                projectResources.replace(absolutePath, resource);
+            }
+        }
+        log.debug("Updated project with %d changed and %d deleted files.".formatted(changedFiles.size(), deletedFiles.size()));
+        return true;
+    }
+
+    private List<SourceFile> parse(Path projectRoot, ProjectResourceSet projectResources, Set<Path> changedFiles, Set<Path> deletedFiles) {
+        Map<Boolean, List<Path>> javaAndOtherFiles = changedFiles.stream()
+                .collect(Collectors.partitioningBy(this::isJavaFile));
+
+        List<Resource> otherFiles = javaAndOtherFiles.get(false).stream()
+                .map(p -> (Resource) new FileSystemResource(p))
+                .toList();
+        List<SourceFile> parsedFiles = new ArrayList<>(resourceParser.parse(projectRoot, otherFiles, List.of()));
+
+        List<Parser.Input> javaFiles = javaAndOtherFiles.get(true).stream()
+                .map(p -> new Parser.Input(p, () -> getInputStream(p)))
+                .toList();
+        if (!javaFiles.isEmpty()) {
+            Set<Path> classpath = ClasspathRegistry.getInstance().getCurrentDependencies();
+            List<J.CompilationUnit> compilationUnits = buildJavaParser(classpath, List.of()).parseInputs(javaFiles, projectRoot, executionContext);
+            // only the unchanged compilation units declaring project types the changed files require are compiled alongside
+            List<J.CompilationUnit> unchangedCompilationUnits = projectResources.streamByType(J.CompilationUnit.class)
+                    .filter(r -> !changedFiles.contains(r.getAbsolutePath()) && !deletedFiles.contains(r.getAbsolutePath()))
+                    .map(RewriteSourceFileHolder::getSourceFile)
+                    .toList();
+            List<J.CompilationUnit> requiredCompilationUnits = CompilationUnitReferences.findRequired(compilationUnits, unchangedCompilationUnits);
+            if (!requiredCompilationUnits.isEmpty()) {
+                compilationUnits = buildJavaParser(classpath, requiredCompilationUnits).parseInputs(javaFiles, projectRoot, executionContext);
+            }
+            parsedFiles.addAll(compilationUnits);
+        }
+        return parsedFiles;
+    }
+
+    private JavaParser buildJavaParser(Set<Path> classpath, List<J.CompilationUnit> requiredCompilationUnits) {
+        return JavaParser.fromJavaVersion()
+                .classpath(classpath)
+                .typeCache(sharedJavaTypeCache.forClasspath(classpath))
+                .dependsOn(requiredCompilationUnits.stream().map(J.CompilationUnit::printAll).toArray(String[]::new))
+                .logCompilationWarningsAndErrors(sbmApplicationProperties.isJavaParserLoggingCompilationWarningsAndErrors())
+                .build();
+    }
+
+    /**
+     * Markers of the resource at {@code changedFile} or, for a new file, the markers a full scan would give it.
+     */
+    private Optional<Markers> findMarkers(Path projectRoot, ProjectResourceSet projectResources, Path changedFile) {
+        Optional<RewriteSourceFileHolder<? extends SourceFile>> existingResource = projectResources.findByAbsolutePath(changedFile);
+        if (existingResource.isPresent()) {
+            return existingResource.map(r -> r.getSourceFile().getMarkers());
+        }
+        return findBuildFileOfModule(projectRoot, projectResources, changedFile)
+                .flatMap(buildFile -> markersForNewFile(projectResources, buildFile, changedFile));
+    }
+
+    /**
+     * The build file in the closest directory of {@code file} containing one.
+     */
+    private Optional<RewriteSourceFileHolder<? extends SourceFile>> findBuildFileOfModule(Path projectRoot, ProjectResourceSet projectResources, Path file) {
+        Path dir = file.getParent();
+        while (dir != null && dir.startsWith(projectRoot)) {
+            Optional<RewriteSourceFileHolder<? extends SourceFile>> buildFile = projectResources.findByAbsolutePath(dir.resolve("pom.xml"));
+            if (buildFile.isPresent()) {
+                return buildFile;
+            }
+            dir = dir.getParent();
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Provenance markers of the module's build file and the {@link JavaSourceSet} of the source set {@code newFile}
+     * belongs to, empty if no resource of the module carries this source set.
+     */
+    private Optional<Markers> markersForNewFile(ProjectResourceSet projectResources, RewriteSourceFileHolder<? extends SourceFile> buildFile, Path newFile) {
+        Markers buildFileMarkers = buildFile.getSourceFile().getMarkers();
+        Optional<JavaProject> javaProject = buildFileMarkers.findFirst(JavaProject.class);
+        if (!(buildFile.getSourceFile() instanceof Xml.Document) || javaProject.isEmpty()) {
+            return Optional.empty();
+        }
+        Path moduleDir = buildFile.getAbsolutePath().getParent();
+        String sourceSetName = moduleDir.relativize(newFile).startsWith(Path.of("src", "test")) ? "test" : "main";
+        Optional<JavaSourceSet> sourceSet = projectResources.stream()
+                .map(r -> r.getSourceFile().getMarkers())
+                .filter(m -> m.findFirst(JavaProject.class).filter(javaProject.get()::equals).isPresent())
+                .flatMap(m -> m.findFirst(JavaSourceSet.class).stream())
+                .filter(s -> sourceSetName.equals(s.getName()))
+                .findFirst();
+        if (sourceSet.isEmpty()) {
+            return Optional.empty();
+        }
+        List<Marker> markers = buildFileMarkers.getMarkers().stream()
+                .filter(m -> !(m instanceof MavenResolutionResult))
+                .collect(Collectors.toCollection(ArrayList::new));
+        markers.add(sourceSet.get());
+        return Optional.of(Markers.build(markers));
+    }
+
+    private RewriteSourceFileHolder<? extends SourceFile> wrap(Path projectRoot, SourceFile sourceFile) {
+        RewriteSourceFileHolder<? extends SourceFile> resource = new RewriteSourceFileHolder<>(projectRoot, sourceFile);
+        Optional<ProjectResourceWrapper> wrapper = resourceWrapperRegistry.findWrapper(resource);
+        if (wrapper.isPresent()) {
+            return (RewriteSourceFileHolder<? extends SourceFile>) wrapper.get().wrapRewriteSourceFileHolder(resource);
+        }
+        return resource;
+    }
+
+    private boolean isRelevant(Path projectRoot, Path path) {
+        return path.startsWith(projectRoot) && sbmApplicationProperties.getIgnoredPathsPatterns().stream()
+                .noneMatch(ir -> pathMatcher.match(ir, projectRoot.relativize(path).toString()));
+    }
+
+    private boolean isBuildFile(Path path) {
+        return "pom.xml".equals(path.getFileName().toString());
+    }
+
+    private boolean isJavaFile(Path path) {
+        return path.getFileName().toString().endsWith(".java");
+    }
+
+    private FileInputStream getInputStream(Path path) {
+        try {
+            return new FileInputStream(path.toFile());
+        } catch (FileNotFoundException e) {
+            throw new ProjectParserException("Could not read file '%s'".formatted(path), e);
+        }
+    }
+}
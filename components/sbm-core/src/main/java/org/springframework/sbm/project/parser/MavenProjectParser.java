@@ -68,15 +68,7 @@ public class MavenProjectParser {
     private final ExecutionContext executionContext;
 
     public List<SourceFile> parse(Path projectDirectory, List<Resource> resources) {
-        projectMetadata.setMetadata("some metadata");
-        MavenSettings mavenSettings = new MavenSettings(null, null, null, null, null);
-        projectMetadata.setMavenSettings(mavenSettings);
-        MavenExecutionContextView mavenExecutionContext = MavenExecutionContextView.view(executionContext);
-        mavenExecutionContext.setMavenSettings(mavenSettings);
-        Path localRepo = Path.of(System.getProperty("user.home")).resolve(".m2/repository");
-        MavenExecutionContextView.view(executionContext).setLocalRepository(new MavenRepository("local", localRepo.toUri().toString(), null, null, false, null, null, null));
-        // default local repo provided by MavenExecutionContextView misses two '/' in the path
-        mavenConfigHandler.injectMavenConfigIntoSystemProperties(resources);
+        initializeParsing(resources);
 
         @Nullable BuildEnvironment buildEnvironment = null;
         GitProvenance gitProvenance = GitProvenance.fromProjectDirectory(projectDirectory, buildEnvironment);
@@ -187,6 +179,41 @@ public class MavenProjectParser {
         return sourceFiles;
     }
 
+    /**
+     * Restores the state {@link #parse(Path, List)} leaves behind for {@code sourceFiles} previously parsed from
+     * {@code resources}, e.g. when they were loaded from a {@link ProjectSnapshotStore}.
+     * <p>
+     * The Maven settings and the Maven config are set up again and the {@link JavaParser} gets the classpath of the
+     * last module it parsed.
+     */
+    public void restore(List<Resource> resources, List<SourceFile> sourceFiles) {
+        initializeParsing(resources);
+
+        List<Xml.Document> mavens = sourceFiles.stream()
+                .filter(Xml.Document.class::isInstance)
+                .map(Xml.Document.class::cast)
+                .filter(d -> MavenBuildFileUtil.findMavenResolution(d).isPresent())
+                .collect(Collectors.toList());
+        if (!mavens.isEmpty()) {
+            List<Xml.Document> sorted = sort(mavens);
+            MavenResolutionResult mavenResolution = MavenBuildFileUtil.getMavenResolution(sorted.get(sorted.size() - 1));
+            javaParser.setClasspath(downloadArtifacts(mavenResolution.getDependencies().get(Scope.Test)));
+            javaParser.setSourceSet("test");
+        }
+    }
+
+    private void initializeParsing(List<Resource> resources) {
+        projectMetadata.setMetadata("some metadata");
+        MavenSettings mavenSettings = new MavenSettings(null, null, null, null, null);
+        projectMetadata.setMavenSettings(mavenSettings);
+        MavenExecutionContextView mavenExecutionContext = MavenExecutionContextView.view(executionContext);
+        mavenExecutionContext.setMavenSettings(mavenSettings);
+        Path localRepo = Path.of(System.getProperty("user.home")).resolve(".m2/repository");
+        MavenExecutionContextView.view(executionContext).setLocalRepository(new MavenRepository("local", localRepo.toUri().toString(), null, null, false, null, null, null));
+        // default local repo provided by MavenExecutionContextView misses two '/' in the path
+        mavenConfigHandler.injectMavenConfigIntoSystemProperties(resources);
+    }
+
 
     private List<J.CompilationUnit> parseTestJavaSources(Path projectDirectory, List<Resource> resources, ExecutionContext ctx, JavaParser javaParser, Xml.Document pomXml, Xml.Document mavenWithMarkers, Path mavenProjectDirectory, List<Marker> javaProvenanceMarkers) {
         MavenResolutionResult mavenResolution = MavenBuildFileUtil.getMavenResolution(mavenWithMarkers);
@@ -25,6 +25,7 @@ import org.springframework.sbm.engine.git.GitSupport;
 import org.springframework.sbm.project.RewriteSourceFileWrapper;
 import org.springframework.sbm.project.resource.ProjectResourceSet;
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
 import org.springframework.stereotype.Component;
 
 import java.nio.file.Path;
@@ -43,23 +44,57 @@ public class ProjectContextInitializer {
     private final GitSupport gitSupport;
 
     private final RewriteSourceFileWrapper rewriteSourceFileWrapper;
+    private final ProjectSnapshotStore projectSnapshotStore;
+    private final SbmApplicationProperties sbmApplicationProperties;
 
     public ProjectContext initProjectContext(Path projectDir, List<Resource> resources) {
         final Path absoluteProjectDir = projectDir.toAbsolutePath().normalize();
         // TODO: remove git initialization, handled by precondition check
         initializeGitRepoIfNoneExists(absoluteProjectDir);
 
-        List<SourceFile> parsedResources = mavenProjectParser.parse(absoluteProjectDir, resources);
+        List<SourceFile> parsedResources = parseOrLoadSnapshot(absoluteProjectDir, resources);
         List<RewriteSourceFileHolder<? extends SourceFile>> rewriteSourceFileHolders = rewriteSourceFileWrapper.wrapRewriteSourceFiles(absoluteProjectDir, parsedResources);
 
         ProjectResourceSet projectResourceSet = new ProjectResourceSet(rewriteSourceFileHolders);
         ProjectContext projectContext = projectContextFactory.createProjectContext(projectDir, projectResourceSet);
+        // index the facts most conditions ask for in one pass
+        projectContext.getFactIndex().refresh();
 
         storeGitCommitHash(projectDir, projectContext);
 
         return projectContext;
     }
 
+    private List<SourceFile> parseOrLoadSnapshot(Path absoluteProjectDir, List<Resource> resources) {
+        Optional<String> revision = getRevisionOfCleanWorkingTree(absoluteProjectDir);
+        if (revision.isEmpty()) {
+            return mavenProjectParser.parse(absoluteProjectDir, resources);
+        }
+        return projectSnapshotStore.load(absoluteProjectDir, revision.get())
+                .map(sourceFiles -> {
+                    mavenProjectParser.restore(resources, sourceFiles);
+                    return sourceFiles;
+                })
+                .orElseGet(() -> {
+                    List<SourceFile> parsedResources = mavenProjectParser.parse(absoluteProjectDir, resources);
+                    projectSnapshotStore.store(absoluteProjectDir, revision.get(), parsedResources);
+                    return parsedResources;
+                });
+    }
+
+    /**
+     * The revision identifies the parsed sources only if there are no uncommitted changes.
+     */
+    private Optional<String> getRevisionOfCleanWorkingTree(Path absoluteProjectDir) {
+        if (!sbmApplicationProperties.isProjectSnapshotsEnabled() || !gitSupport.repoExists(absoluteProjectDir.toFile())) {
+            return Optional.empty();
+        }
+        if (!gitSupport.getStatus(absoluteProjectDir.toFile()).isClean()) {
+            return Optional.empty();
+        }
+        return gitSupport.getLatestCommit(absoluteProjectDir.toFile()).map(Commit::getHash);
+    }
+
     public void storeGitCommitHash(Path projectDir, ProjectContext projectContext) {
         if (gitSupport.repoExists(projectDir.toFile())) {
             Optional<Commit> latestCommit = gitSupport.getLatestCommit(projectDir.toFile());
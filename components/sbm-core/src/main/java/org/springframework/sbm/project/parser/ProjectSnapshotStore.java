@@ -0,0 +1,312 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.parser;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.cfg.ConstructorDetector;
+import com.fasterxml.jackson.databind.deser.ValueInstantiator;
+import com.fasterxml.jackson.databind.deser.ValueInstantiators;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import lombok.extern.slf4j.Slf4j;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.tree.JavaType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.*;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Stores the parsed {@link SourceFile}s of a project for a given git revision to skip parsing when the same
+ * revision is scanned again, e.g. after a restart.
+ * <p>
+ * A snapshot file starts with a header of magic number, format version, OpenRewrite version, SBM version, project root,
+ * revision and the scan settings followed by the source files as Smile (binary JSON). Snapshot files are read through a
+ * memory mapped buffer.
+ * The scan settings are the settings changing which files get parsed, e.g. the ignored path patterns, a snapshot is only
+ * used when these did not change.
+ * Snapshots with a different format, OpenRewrite or SBM version are ignored, the serialized trees depend on both.
+ * When one of the versions is unknown, e.g. when running from an IDE, no snapshots are used.
+ * Only the {@link SbmApplicationProperties#getProjectSnapshotsPerProject()} most recently used snapshots of a project
+ * are kept.
+ */
+@Slf4j
+@Component
+public class ProjectSnapshotStore {
+
+    private static final int MAGIC_NUMBER = 0x53424D53; // SBMS
+    static final int FORMAT_VERSION = 3;
+    private static final String SNAPSHOT_FILE_EXTENSION = ".snapshot";
+    private static final TypeReference<List<SourceFile>> SOURCE_FILES_TYPE = new TypeReference<>() {};
+
+    private final SbmApplicationProperties sbmApplicationProperties;
+    private final String rewriteVersion;
+    private final String sbmVersion;
+    private final ObjectMapper objectMapper = createObjectMapper();
+
+    @Autowired
+    public ProjectSnapshotStore(SbmApplicationProperties sbmApplicationProperties) {
+        this(sbmApplicationProperties,
+             SourceFile.class.getPackage().getImplementationVersion(),
+             ProjectSnapshotStore.class.getPackage().getImplementationVersion());
+    }
+
+    ProjectSnapshotStore(SbmApplicationProperties sbmApplicationProperties, String rewriteVersion, String sbmVersion) {
+        this.sbmApplicationProperties = sbmApplicationProperties;
+        this.rewriteVersion = rewriteVersion;
+        this.sbmVersion = sbmVersion;
+    }
+
+    /**
+     * Load the snapshot of {@code projectRoot} at {@code revision}.
+     *
+     * @return the parsed source files or empty if no valid snapshot exists
+     */
+    public Optional<List<SourceFile>> load(Path projectRoot, String revision) {
+        Path snapshotFile = getSnapshotFile(projectRoot, revision);
+        if (!isVersionKnown() || !Files.isRegularFile(snapshotFile)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC_NUMBER || buffer.getInt() != FORMAT_VERSION) {
+                log.debug("Ignoring snapshot '%s' with unknown format.".formatted(snapshotFile));
+                return Optional.empty();
+            }
+            if (!rewriteVersion.equals(readString(buffer)) || !sbmVersion.equals(readString(buffer))) {
+                log.debug("Ignoring snapshot '%s' created with another OpenRewrite or SBM version.".formatted(snapshotFile));
+                return Optional.empty();
+            }
+            if (!projectRoot.toString().equals(readString(buffer)) || !revision.equals(readString(buffer))) {
+                log.debug("Ignoring snapshot '%s' created for another project or revision.".formatted(snapshotFile));
+                return Optional.empty();
+            }
+            if (!getScanSettings().equals(readString(buffer))) {
+                log.debug("Ignoring snapshot '%s' created with other scan settings.".formatted(snapshotFile));
+                return Optional.empty();
+            }
+            List<SourceFile> sourceFiles = objectMapper.readValue(new ByteBufferBackedInputStream(buffer), SOURCE_FILES_TYPE);
+            log.debug("Loaded %d source files from snapshot '%s'.".formatted(sourceFiles.size(), snapshotFile));
+            // the last modified time orders snapshots by their last use for eviction
+            Files.setLastModifiedTime(snapshotFile, FileTime.fromMillis(System.currentTimeMillis()));
+            return Optional.of(sourceFiles);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not read snapshot '%s', the project will be parsed.".formatted(snapshotFile), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Store {@code sourceFiles} as snapshot of {@code projectRoot} at {@code revision}.
+     * Failures are logged and don't affect the scan.
+     */
+    public void store(Path projectRoot, String revision, List<SourceFile> sourceFiles) {
+        if (!isVersionKnown()) {
+            log.debug("Not storing a snapshot, the OpenRewrite or SBM version is unknown.");
+            return;
+        }
+        Path snapshotFile = getSnapshotFile(projectRoot, revision);
+        try {
+            Files.createDirectories(snapshotFile.getParent());
+            Path tmpFile = Files.createTempFile(snapshotFile.getParent(), snapshotFile.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+                out.writeInt(MAGIC_NUMBER);
+                out.writeInt(FORMAT_VERSION);
+                writeString(out, rewriteVersion);
+                writeString(out, sbmVersion);
+                writeString(out, projectRoot.toString());
+                writeString(out, revision);
+                writeString(out, getScanSettings());
+                objectMapper.writerFor(SOURCE_FILES_TYPE).writeValue((OutputStream) out, sourceFiles);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(tmpFile);
+                throw e;
+            }
+            Files.move(tmpFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Stored %d source files in snapshot '%s'.".formatted(sourceFiles.size(), snapshotFile));
+            evictLeastRecentlyUsed(snapshotFile.getParent());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not write snapshot '%s'.".formatted(snapshotFile), e);
+        }
+    }
+
+    private void evictLeastRecentlyUsed(Path projectSnapshotsDir) throws IOException {
+        List<Path> snapshots;
+        try (Stream<Path> files = Files.list(projectSnapshotsDir)) {
+            snapshots = files
+                    .filter(f -> f.getFileName().toString().endsWith(SNAPSHOT_FILE_EXTENSION))
+                    .sorted(Comparator.comparing(ProjectSnapshotStore::getLastModifiedTime).reversed())
+                    .toList();
+        }
+        int keep = Math.max(1, sbmApplicationProperties.getProjectSnapshotsPerProject());
+        for (Path evicted : snapshots.subList(Math.min(keep, snapshots.size()), snapshots.size())) {
+            Files.deleteIfExists(evicted);
+            log.debug("Evicted snapshot '%s'.".formatted(evicted));
+        }
+    }
+
+    private boolean isVersionKnown() {
+        return rewriteVersion != null && sbmVersion != null;
+    }
+
+    private static FileTime getLastModifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    Path getSnapshotFile(Path projectRoot, String revision) {
+        String projectKey = DigestUtils.md5DigestAsHex(projectRoot.toString().getBytes(StandardCharsets.UTF_8));
+        String scanSettingsKey = DigestUtils.md5DigestAsHex(getScanSettings().getBytes(StandardCharsets.UTF_8));
+        return Path.of(sbmApplicationProperties.getProjectSnapshotsDirectory())
+                .resolve(projectKey)
+                .resolve(revision + "-" + scanSettingsKey + SNAPSHOT_FILE_EXTENSION);
+    }
+
+    /**
+     * The settings changing which files get parsed.
+     */
+    private String getScanSettings() {
+        return "ignoredPathsPatterns=%s;resourceSizeThresholdMb=%d".formatted(
+                sbmApplicationProperties.getIgnoredPathsPatterns().stream().sorted().toList(),
+                sbmApplicationProperties.getResourceSizeThresholdMb());
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static ObjectMapper createObjectMapper() {
+        SmileFactory smileFactory = new SmileFactory();
+        smileFactory.configure(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES, true);
+        // configured like OpenRewrite's own tree serialization
+        ObjectMapper mapper = JsonMapper.builder(smileFactory)
+                .constructorDetector(ConstructorDetector.USE_PROPERTIES_BASED)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build()
+                .registerModule(new ParameterNamesModule())
+                .registerModule(new JavaTypeModule());
+        return mapper.setVisibility(mapper.getSerializationConfig().getDefaultVisibilityChecker()
+                .withCreatorVisibility(JsonAutoDetect.Visibility.NON_PRIVATE)
+                .withGetterVisibility(JsonAutoDetect.Visibility.NONE)
+                .withIsGetterVisibility(JsonAutoDetect.Visibility.NONE)
+                .withFieldVisibility(JsonAutoDetect.Visibility.ANY));
+    }
+
+    /**
+     * Types reference each other in cycles, e.g. a class and the types of its methods.
+     * Jackson can only resolve a reference to an object which was created already, types are therefore not created
+     * through their {@code @JsonCreator} constructor, which requires all referenced types, but with empty values
+     * before their fields are set.
+     */
+    private static class JavaTypeModule extends SimpleModule {
+
+        @Override
+        public void setupModule(SetupContext context) {
+            super.setupModule(context);
+            context.addValueInstantiators(new JavaTypeInstantiators());
+        }
+    }
+
+    private static class JavaTypeInstantiators extends ValueInstantiators.Base {
+
+        @Override
+        public ValueInstantiator findValueInstantiator(DeserializationConfig config, BeanDescription beanDesc, ValueInstantiator defaultInstantiator) {
+            Class<?> beanClass = beanDesc.getBeanClass();
+            if (!JavaType.class.isAssignableFrom(beanClass) || beanClass.isEnum() || Modifier.isAbstract(beanClass.getModifiers())) {
+                return defaultInstantiator;
+            }
+            return Arrays.stream(beanClass.getConstructors())
+                    .max(Comparator.comparingInt(Constructor::getParameterCount))
+                    .<ValueInstantiator>map(constructor -> new EmptyJavaTypeInstantiator(beanDesc.getType(), constructor))
+                    .orElse(defaultInstantiator);
+        }
+    }
+
+    private static class EmptyJavaTypeInstantiator extends ValueInstantiator.Base {
+
+        private final Constructor<?> constructor;
+
+        EmptyJavaTypeInstantiator(com.fasterxml.jackson.databind.JavaType type, Constructor<?> constructor) {
+            super(type);
+            this.constructor = constructor;
+        }
+
+        @Override
+        public boolean canCreateUsingDefault() {
+            return true;
+        }
+
+        @Override
+        public Object createUsingDefault(DeserializationContext context) throws IOException {
+            Object[] arguments = Arrays.stream(constructor.getParameterTypes())
+                    .map(EmptyJavaTypeInstantiator::emptyValue)
+                    .toArray();
+            try {
+                return constructor.newInstance(arguments);
+            } catch (ReflectiveOperationException e) {
+                return context.handleInstantiationProblem(getValueClass(), null, e);
+            }
+        }
+
+        private static Object emptyValue(Class<?> type) {
+            if (type == boolean.class) {
+                return false;
+            }
+            if (type == long.class) {
+                return 0L;
+            }
+            if (type == int.class) {
+                return 0;
+            }
+            return null;
+        }
+    }
+}
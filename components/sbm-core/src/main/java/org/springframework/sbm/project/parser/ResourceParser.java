@@ -18,6 +18,7 @@ package org.springframework.sbm.project.parser;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
+import org.openrewrite.DelegatingExecutionContext;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Parser;
 import org.openrewrite.SourceFile;
@@ -34,6 +35,7 @@ import org.openrewrite.yaml.YamlParser;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.Resource;
 import org.springframework.sbm.engine.events.StartedScanningProjectResourceEvent;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
 import org.springframework.sbm.utils.LinuxWindowsPathUnifier;
 import org.springframework.stereotype.Component;
 
@@ -41,7 +43,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.function.Function;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -59,6 +66,10 @@ public class ResourceParser {
     private final ResourceFilter resourceFilter;
     private final ApplicationEventPublisher eventPublisher;
     private final ExecutionContext executionContext;
+    private final SbmApplicationProperties sbmApplicationProperties;
+    private final ProtoParser protoParser = new ProtoParser();
+    private final HclParser hclParser = HclParser.builder().build();
+    private final Map<String, Parser<? extends SourceFile>> parsersByExtension = new ConcurrentHashMap<>();
 
     List<Resource> filter(Path projectDirectory, Set<Path> resourcePaths, List<Resource> resources, Path relativeModuleDir) {
         Path comparingPath = relativeModuleDir != null ? projectDirectory.resolve(relativeModuleDir) : projectDirectory;
@@ -96,61 +107,165 @@ public class ResourceParser {
     }
 
     public List<SourceFile> parse(Path baseDir, List<Resource> relevantResources, List<Marker> markers) {
-        List<Parser.Input> parserInputs = createParserInputs(relevantResources);
-
-        HashMap<Parser<? extends SourceFile>, List<Parser.Input>> parserAndParserInputMappings = new LinkedHashMap();
-        parserAndParserInputMappings.put(jsonParser, new ArrayList<>());
-        parserAndParserInputMappings.put(xmlParser, new ArrayList<>());
-        parserAndParserInputMappings.put(yamlParser, new ArrayList<>());
-        parserAndParserInputMappings.put(propertiesParser, new ArrayList<>());
-        parserAndParserInputMappings.put(new ProtoParser(), new ArrayList<>());
-        parserAndParserInputMappings.put(HclParser.builder().build(), new ArrayList<>());
-        parserAndParserInputMappings.put(plainTextParser, new ArrayList<>());
-
-        parserInputs.forEach(r -> {
-            Parser parser = parserAndParserInputMappings.keySet().stream()
-                    .filter(p -> p.accept(r))
-                    .findFirst()
-                    .orElseThrow(() -> new RuntimeException("Could not find matching parser for " + r.getPath()));
-
-            parserAndParserInputMappings.get(parser).add(r);
-        });
+        List<Parser.Input> parserInputs = createParserInputs(filterExceedingSizeThreshold(relevantResources));
+
+        Map<Parser<? extends SourceFile>, List<Parser.Input>> parserAndParserInputMappings = new LinkedHashMap<>();
+        getParsers().forEach(p -> parserAndParserInputMappings.put(p, new ArrayList<>()));
+        parserInputs.forEach(r -> parserAndParserInputMappings.get(getMatchingParser(r)).add(r));
 
         ParsingExecutionContextView ctx = ParsingExecutionContextView.view(executionContext);
         ctx.setParsingListener((input, sourceFile) -> eventPublisher.publishEvent(new StartedScanningProjectResourceEvent(sourceFile.getSourcePath())));
 
-        return parserAndParserInputMappings.entrySet().stream()
+        List<Map.Entry<Parser<? extends SourceFile>, List<Parser.Input>>> parserEntries = parserAndParserInputMappings.entrySet().stream()
                 .filter(ifNoInput())
-                .map(parseEntry(baseDir, ctx))
-                .flatMap(List::stream)
+                .toList();
+
+        return parseEntries(baseDir, ctx, parserEntries).stream()
                 .map(e -> addMarkers(e, markers))
                 .collect(Collectors.toList());
+    }
 
+    private List<Parser<? extends SourceFile>> getParsers() {
+        // order matters, the first accepting parser is used and PlainTextParser accepts all resources
+        return List.of(jsonParser, xmlParser, yamlParser, propertiesParser, protoParser, hclParser, plainTextParser);
     }
 
-    @NotNull
-    private Function<Map.Entry<Parser<? extends SourceFile>, List<Parser.Input>>, ? extends List<? extends SourceFile>> parseEntry(Path baseDir, ParsingExecutionContextView ctx) {
-        return e -> {
-            Stream<SourceFile> sourceFileStream = getSourceFileStream(baseDir, ctx, e);
-            return sourceFileStream.toList();
+    /**
+     * Parsers accept resources by their file extension, the first accepting parser is therefore looked up once
+     * per extension.
+     */
+    private Parser<? extends SourceFile> getMatchingParser(Parser.Input input) {
+        String fileName = input.getPath().getFileName().toString();
+        int extensionIndex = fileName.lastIndexOf('.');
+        String extension = extensionIndex == -1 ? "" : fileName.substring(extensionIndex);
+        return parsersByExtension.computeIfAbsent(extension, e -> getParsers().stream()
+                .filter(p -> p.accept(input))
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Could not find matching parser for " + input.getPath())));
+    }
+
+    private List<Resource> filterExceedingSizeThreshold(List<Resource> resources) {
+        int sizeThresholdMb = sbmApplicationProperties.getResourceSizeThresholdMb();
+        if (sizeThresholdMb <= 0) {
+            return resources;
+        }
+        return resources.stream()
+                .filter(r -> {
+                    long fileSize = getContentLength(r);
+                    if (fileSize > sizeThresholdMb * 1024L * 1024L) {
+                        log.info("Skipping parsing " + getPath(r) + " as its size " + fileSize / (1024L * 1024L) +
+                                "Mb exceeds size threshold " + sizeThresholdMb + "Mb");
+                        return false;
+                    }
+                    return true;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private long getContentLength(Resource r) {
+        try {
+            return r.contentLength();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Parses all inputs of a parser in one batch, batches of different parsers are parsed concurrently
+     * when {@code sbm.resourceParserParallelism} is greater than 1.
+     */
+    private List<SourceFile> parseEntries(Path baseDir, ExecutionContext ctx, List<Map.Entry<Parser<? extends SourceFile>, List<Parser.Input>>> parserEntries) {
+        int parallelism = Math.min(sbmApplicationProperties.getResourceParserParallelism(), parserEntries.size());
+        if (parallelism <= 1) {
+            return parserEntries.stream()
+                    .map(e -> parseEntry(baseDir, ctx, e))
+                    .flatMap(List::stream)
+                    .collect(Collectors.toList());
+        }
+        ExecutorService executorService = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<CompletableFuture<List<SourceFile>>> parsedEntries = parserEntries.stream()
+                    .map(e -> CompletableFuture.supplyAsync(() -> parseEntry(baseDir, ctx, e), executorService))
+                    .toList();
+            return parsedEntries.stream()
+                    .map(this::join)
+                    .flatMap(List::stream)
+                    .collect(Collectors.toList());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private List<SourceFile> join(CompletableFuture<List<SourceFile>> parsedEntry) {
+        try {
+            return parsedEntry.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Parses the inputs of a parser in one batch.
+     * <p>
+     * Parsers record the failure of an input and report it to {@link ExecutionContext#getOnError()}, which can throw.
+     * Errors are therefore collected while the batch is parsed, so an input failing to parse does not discard the
+     * source files of the other inputs.
+     * Failed inputs are handled as if parsed one by one, inputs neither parsed nor failed, e.g. when the parser
+     * aborted the batch, are parsed again one by one.
+     */
+    private List<SourceFile> parseEntry(Path baseDir, ExecutionContext ctx, Map.Entry<Parser<? extends SourceFile>, List<Parser.Input>> e) {
+        List<Throwable> batchErrors = new ArrayList<>();
+        ExecutionContext batchContext = new DelegatingExecutionContext(ctx) {
+            @Override
+            public Consumer<Throwable> getOnError() {
+                return batchErrors::add;
+            }
         };
+        List<SourceFile> sourceFiles = new ArrayList<>();
+        try {
+            sourceFiles.addAll(e.getKey().parseInputs(e.getValue(), baseDir, batchContext));
+        } catch (Exception ex) {
+            log.debug("Parser %s failed to parse %d resources in one batch.".formatted(e.getKey().getClass().getName(), e.getValue().size()), ex);
+        }
+        Set<Path> parsedPaths = sourceFiles.stream().map(SourceFile::getSourcePath).collect(Collectors.toSet());
+        Set<Path> failedPaths = ParsingExecutionContextView.view(ctx).getParseFailures().stream()
+                .map(SourceFile::getSourcePath)
+                .collect(Collectors.toSet());
+        Iterator<Throwable> errors = batchErrors.iterator();
+        for (Parser.Input resource : e.getValue()) {
+            Path path = resource.getRelativePath(baseDir);
+            if (parsedPaths.contains(path)) {
+                continue;
+            }
+            if (failedPaths.contains(path)) {
+                Throwable error = errors.hasNext() ? errors.next() : new IllegalStateException("Could not parse resource '%s'".formatted(resource.getPath()));
+                handleParseFailure(ctx, e.getKey(), resource, error);
+            } else {
+                List<? extends SourceFile> parsedResource = parseSingleResource(baseDir, ctx, e, resource);
+                if (parsedResource != null) {
+                    sourceFiles.addAll(parsedResource);
+                }
+            }
+        }
+        return sourceFiles;
     }
 
-    @NotNull
-    private Stream<SourceFile> getSourceFileStream(Path baseDir, ExecutionContext ctx, Map.Entry<Parser<? extends SourceFile>, List<Parser.Input>> e) {
-        return e
-                .getValue()
-                .stream()
-                .map(resource -> (List<SourceFile>) parseSingleResource(baseDir, ctx, e, resource))
-                .flatMap(elem -> Stream.ofNullable(elem))
-                .flatMap(List::stream);
+    private void handleParseFailure(ExecutionContext ctx, Parser<? extends SourceFile> parser, Parser.Input resource, Throwable error) {
+        if (isTestResource(resource)) {
+            log.error("Could not parse resource '%s' using parser %s. Exception was: %s".formatted(resource.getPath(), parser.getClass().getName(), error.getMessage()));
+        } else {
+            ctx.getOnError().accept(error);
+        }
     }
 
     private List<? extends SourceFile> parseSingleResource(Path baseDir, ExecutionContext ctx, Map.Entry<Parser<? extends SourceFile>, List<Parser.Input>> e, Parser.Input resource) {
         try {
             return e.getKey().parseInputs(List.of(resource), baseDir, ctx);
         } catch(Exception ex) {
-            if(LinuxWindowsPathUnifier.unifyPath(resource.getPath()).contains("src/test/resources")) {
+            if(isTestResource(resource)) {
                 log.error("Could not parse resource '%s' using parser %s. Exception was: %s".formatted(resource.getPath(), e.getKey().getClass().getName(), ex.getMessage()));
                 return null;
             } else {
@@ -159,6 +274,10 @@ public class ResourceParser {
         }
     }
 
+    private boolean isTestResource(Parser.Input resource) {
+        return LinuxWindowsPathUnifier.unifyPath(resource.getPath()).contains("src/test/resources");
+    }
+
     @NotNull
     private Predicate<Map.Entry<Parser<? extends SourceFile>, List<Parser.Input>>> ifNoInput() {
         return e -> !e.getValue().isEmpty();
@@ -176,19 +295,4 @@ public class ResourceParser {
                     .collect(Collectors.toList());
         }
     }
-
-    // TODO: Filter resources exceeding size threshold
-	/*
-	long fileSize = attrs.size();
-        if ((sizeThresholdMb > 0 && fileSize > sizeThresholdMb * 1024L * 1024L)) {
-            alreadyParsed.add(path);
-            log.info("Skipping parsing " + path + " as its size + " + fileSize / (1024L * 1024L) +
-                    "Mb exceeds size threshold " + sizeThresholdMb + "Mb");
-            return false;
-        }
-	 */
 }
-
-
-
-
@@ -15,46 +15,131 @@
  */
 package org.springframework.sbm.project.resource;
 
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
 
+/**
+ * Writes changes of a {@link InternalProjectResource} to disk.
+ * <p>
+ * Changed resources are first printed to a temporary file next to the target file ({@link #stage(InternalProjectResource)})
+ * which is then atomically moved to the target ({@link #commit(StagedChange)}).
+ * Resources are written in the charset they were read with, line endings are kept as printed.
+ */
 @Component
 public class ProjectResourceSerializer {
 
     public void writeChanges(InternalProjectResource projectResource) {
+        StagedChange stagedChange = stage(projectResource);
+        if (stagedChange != null) {
+            commit(stagedChange);
+        }
+    }
 
-        if (projectResource != null && projectResource.hasChanges()) {
-
-            Path absolutePath = projectResource.getAbsolutePath();
+    /**
+     * Print a changed resource to a temporary file.
+     *
+     * @return the staged change or {@code null} if the resource has no changes
+     */
+    @Nullable
+    StagedChange stage(InternalProjectResource projectResource) {
+        if (projectResource == null || !projectResource.hasChanges()) {
+            return null;
+        }
+        Path absolutePath = projectResource.getAbsolutePath();
+        if (projectResource.isDeleted()) {
+            return new StagedChange(projectResource, absolutePath, null, 0);
+        }
+        try {
+            Files.createDirectories(absolutePath.getParent());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        Path tmpFile = null;
+        try {
+            byte[] content = projectResource.print().getBytes(getCharset(projectResource));
+            tmpFile = absolutePath.resolveSibling("." + absolutePath.getFileName() + "." + UUID.randomUUID() + ".tmp");
+            Files.write(tmpFile, content, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            copyPermissions(absolutePath, tmpFile);
+            return new StagedChange(projectResource, absolutePath, tmpFile, content.length);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(tmpFile);
+            throw new RuntimeException("Can't write back changes in [" + absolutePath + "]", e);
+        }
+    }
 
-            if (projectResource.isDeleted()) {
-                try {
-                    if(Files.exists(absolutePath)) {
-                        Files.delete(absolutePath);
-                    }
-                } catch (IOException ioe) {
-                    throw new RuntimeException("Can't delete file [" + absolutePath + "]", ioe);
-                }
-            } else {
+    /**
+     * Move the staged file to its target or delete the target of a deleted resource.
+     */
+    void commit(StagedChange stagedChange) {
+        Path absolutePath = stagedChange.absolutePath();
+        if (stagedChange.isDeletion()) {
+            try {
+                Files.deleteIfExists(absolutePath);
+            } catch (IOException ioe) {
+                throw new RuntimeException("Can't delete file [" + absolutePath + "]", ioe);
+            }
+        } else {
+            try {
                 try {
-                    Files.createDirectories(absolutePath.getParent());
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
+                    Files.move(stagedChange.tmpFile(), absolutePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(stagedChange.tmpFile(), absolutePath, StandardCopyOption.REPLACE_EXISTING);
                 }
+            } catch (IOException ioe) {
+                discard(stagedChange);
+                throw new RuntimeException("Can't write back changes in [" + absolutePath + "]", ioe);
+            }
+            stagedChange.projectResource().resetHasChanges();
+        }
+    }
 
-                try (BufferedWriter sourceFileWriter = Files.newBufferedWriter(absolutePath)) {
-                    String newSource = projectResource.print();
-                    sourceFileWriter.write(newSource);
-                    projectResource.resetHasChanges();
-                } catch (IOException ioe) {
-                    throw new RuntimeException("Can't write back changes in [" + absolutePath + "]", ioe);
-                }
+    /**
+     * Remove the temporary file of a staged change that will not be committed.
+     */
+    void discard(StagedChange stagedChange) {
+        deleteQuietly(stagedChange.tmpFile());
+    }
+
+    private static Charset getCharset(InternalProjectResource projectResource) {
+        if (projectResource instanceof RewriteSourceFileHolder<?> sourceFileHolder && sourceFileHolder.getSourceFile().getCharset() != null) {
+            return sourceFileHolder.getSourceFile().getCharset();
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    private static void copyPermissions(Path from, Path to) throws IOException {
+        if (Files.exists(from) && from.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            Files.setPosixFilePermissions(to, Files.getPosixFilePermissions(from));
+        }
+    }
+
+    private static void deleteQuietly(@Nullable Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // best effort, the temporary file is left behind
             }
+        }
+    }
 
+    /**
+     * A change printed to {@code tmpFile} but not yet written to {@code absolutePath}.
+     * {@code tmpFile} is {@code null} when the resource was deleted.
+     */
+    record StagedChange(InternalProjectResource projectResource, Path absolutePath, @Nullable Path tmpFile, long bytes) {
+        boolean isDeletion() {
+            return tmpFile == null;
         }
     }
 }
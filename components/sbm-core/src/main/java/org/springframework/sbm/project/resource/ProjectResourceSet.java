@@ -18,29 +18,60 @@ package org.springframework.sbm.project.resource;
 import org.openrewrite.SourceFile;
 
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
+/**
+ * Holds all resources of a project.
+ * <p>
+ * Resources are additionally indexed by absolute path, by the type of the wrapped {@link SourceFile}
+ * and by their position to allow constant time lookups, see {@link #findByAbsolutePath(Path)},
+ * {@link #indexOf(Path)} and {@link #streamByType(Class)}.
+ * The indices are authoritative, resources notify the sets holding them when their path or type changes
+ * or when they get deleted.
+ * Lookups are recorded by the {@link ResourceReadRecorder}.
+ */
 // TODO: make package private
 public class ProjectResourceSet {
 
     private final List<RewriteSourceFileHolder<? extends SourceFile>> projectResources = new ArrayList<>();
+    private final Map<Path, List<RewriteSourceFileHolder<? extends SourceFile>>> pathIndex = new HashMap<>();
+    private final Map<Class<? extends SourceFile>, List<RewriteSourceFileHolder<? extends SourceFile>>> typeIndex = new LinkedHashMap<>();
+    /**
+     * Position of the first occurrence of a resource in {@code projectResources}.
+     */
+    private final Map<RewriteSourceFileHolder<? extends SourceFile>, Integer> positions = new IdentityHashMap<>();
+    /**
+     * The not deleted resources in project order, {@code null} after any change until requested again.
+     */
+    private volatile List<RewriteSourceFileHolder<? extends SourceFile>> liveResources;
+    private final AtomicLong modificationCount = new AtomicLong();
+    private final List<Consumer<RewriteSourceFileHolder<? extends SourceFile>>> modificationListeners = new CopyOnWriteArrayList<>();
 
     public ProjectResourceSet(List<RewriteSourceFileHolder<? extends SourceFile>> projectResources) {
-        this.projectResources.addAll(projectResources);
+        projectResources.forEach(this::add);
     }
 
     public ProjectResourceSet() {
     }
 
     public List<RewriteSourceFileHolder<? extends SourceFile>> list() {
-        return stream().toList();
+        ResourceReadRecorder.recordType(SourceFile.class);
+        List<RewriteSourceFileHolder<? extends SourceFile>> live = liveResources;
+        if (live == null) {
+            synchronized (this) {
+                live = stream().toList();
+                liveResources = live;
+            }
+        }
+        return live;
     }
 
     public Stream<RewriteSourceFileHolder<? extends SourceFile>> stream() {
+        ResourceReadRecorder.recordType(SourceFile.class);
         return projectResources.stream().filter(r -> r != null && !r.isDeleted());
     }
 
@@ -48,23 +79,75 @@ public class ProjectResourceSet {
         return list().get(index);
     }
 
-    public void add(RewriteSourceFileHolder<? extends SourceFile> newResource) {
+    public synchronized void add(RewriteSourceFileHolder<? extends SourceFile> newResource) {
         projectResources.add(newResource);
+        if (newResource != null) {
+            positions.putIfAbsent(newResource, projectResources.size() - 1);
+        }
+        addToIndex(newResource);
     }
 
-    public void replace(int index, RewriteSourceFileHolder<? extends SourceFile> newResource) {
-        projectResources.set(index, newResource);
+    public synchronized void replace(int index, RewriteSourceFileHolder<? extends SourceFile> newResource) {
+        RewriteSourceFileHolder<? extends SourceFile> oldResource = projectResources.set(index, newResource);
+        removeFromIndex(oldResource);
+        if (oldResource != null && Objects.equals(positions.get(oldResource), index)) {
+            if (pathIndex.getOrDefault(oldResource.getAbsolutePath(), List.of()).contains(oldResource)) {
+                // the replaced resource is held again at a later position
+                rebuildPositions();
+            } else {
+                positions.remove(oldResource);
+            }
+        }
+        if (newResource != null) {
+            positions.merge(newResource, index, Math::min);
+        }
+        addToIndex(newResource);
     }
 
-    public void replace(Path path, RewriteSourceFileHolder<? extends SourceFile> newResource) {
+    public synchronized void replace(Path path, RewriteSourceFileHolder<? extends SourceFile> newResource) {
         int index = indexOf(path);
-        projectResources.set(index, newResource);
+        replace(index, newResource);
+    }
+
+    /**
+     * Removes the resource with given {@code absolutePath} without marking it as deleted.
+     */
+    public synchronized void remove(Path absolutePath) {
+        int index = indexOf(absolutePath);
+        if (index != -1) {
+            removeFromIndex(projectResources.remove(index));
+            rebuildPositions();
+        }
     }
 
     public int size() {
         return projectResources.size();
     }
 
+    /**
+     * Returns the number of modifications so far, every added, replaced, removed, deleted or changed resource
+     * increments it.
+     */
+    public long getModificationCount() {
+        return modificationCount.get();
+    }
+
+    /**
+     * Registers {@code listener} to be called with every resource which was added, replaced, removed, deleted or changed.
+     * <p>
+     * Listeners are called while the set might be locked and must return quickly.
+     */
+    public void addModificationListener(Consumer<RewriteSourceFileHolder<? extends SourceFile>> listener) {
+        modificationListeners.add(listener);
+    }
+
+    /**
+     * @return {@code true} if this set holds {@code resource}, deleted or not
+     */
+    public synchronized boolean contains(RewriteSourceFileHolder<? extends SourceFile> resource) {
+        return positions.containsKey(resource);
+    }
+
 //    /**
 //     * @deprecated use {@link ProjectContext#getFilteredResources(ProjectResourcesFilter)}
 //     * with {@link org.springframework.sbm.project.resource.filter.GenericTypeFilter}
@@ -74,26 +157,145 @@ public class ProjectResourceSet {
 //        return typeFilteredList(projectionClass);
 //    }
 
-    public int indexOf(Path absolutePath) {
-        return projectResources.stream()
-                .map(ProjectResource::getAbsolutePath)
-                .collect(Collectors.toList())
-                .indexOf(absolutePath);
+    /**
+     * Returns the position of the first resource (including deleted resources) with given {@code absolutePath} or -1.
+     */
+    public synchronized int indexOf(Path absolutePath) {
+        return pathIndex.getOrDefault(absolutePath.normalize(), List.of()).stream()
+                .mapToInt(positions::get)
+                .min()
+                .orElse(-1);
+    }
+
+    /**
+     * Find the (not deleted) resource with given {@code absolutePath}.
+     */
+    public synchronized Optional<RewriteSourceFileHolder<? extends SourceFile>> findByAbsolutePath(Path absolutePath) {
+        ResourceReadRecorder.recordPath(absolutePath.normalize());
+        return pathIndex.getOrDefault(absolutePath.normalize(), List.of()).stream()
+                .filter(r -> !r.isDeleted())
+                .min(Comparator.comparingInt(positions::get));
     }
 
-    void clearDeletedResources() {
+    /**
+     * Stream all (not deleted) resources wrapping a {@link SourceFile} assignable to {@code type} in project order.
+     */
+    public <T extends SourceFile> Stream<RewriteSourceFileHolder<T>> streamByType(Class<T> type) {
+        ResourceReadRecorder.recordType(type);
+        List<RewriteSourceFileHolder<? extends SourceFile>> candidates;
+        synchronized (this) {
+            candidates = typeIndex.entrySet().stream()
+                    .filter(e -> type.isAssignableFrom(e.getKey()))
+                    .flatMap(e -> e.getValue().stream())
+                    .sorted(Comparator.comparingInt(positions::get))
+                    .toList();
+        }
+        return candidates.stream()
+                .filter(r -> !r.isDeleted())
+                .map(r -> (RewriteSourceFileHolder<T>) r);
+    }
+
+    synchronized void clearDeletedResources() {
         Iterator<RewriteSourceFileHolder<? extends SourceFile>> iterator = this.projectResources.iterator();
+        boolean removed = false;
         while(iterator.hasNext()) {
             RewriteSourceFileHolder<? extends SourceFile> current = iterator.next();
             if(current.isDeleted()) {
                 iterator.remove();
+                removeFromIndex(current);
+                removed = true;
             }
         }
+        if (removed) {
+            rebuildPositions();
+        }
     }
 
     public Stream<RewriteSourceFileHolder<? extends SourceFile>> streamIncludingDeleted() {
+        ResourceReadRecorder.recordType(SourceFile.class);
         return projectResources.stream();
     }
+
+    /**
+     * Moves {@code resource} in the index after its path or type changed.
+     */
+    synchronized void reindex(RewriteSourceFileHolder<? extends SourceFile> resource, Path previousPath, Class<? extends SourceFile> previousType) {
+        if (previousPath != null) {
+            removeFromIndex(pathIndex, previousPath, resource);
+            removeFromIndex(typeIndex, previousType, resource);
+        }
+        addToIndex(resource);
+    }
+
+    /**
+     * Drops the cached list of not deleted resources after {@code resource} got deleted.
+     */
+    void deleted(RewriteSourceFileHolder<? extends SourceFile> resource) {
+        liveResources = null;
+        modified(resource);
+    }
+
+    /**
+     * Counts a change of {@code resource} which neither changed its path nor its type.
+     */
+    void changed(RewriteSourceFileHolder<? extends SourceFile> resource) {
+        modified(resource);
+    }
+
+    private void modified(RewriteSourceFileHolder<? extends SourceFile> resource) {
+        modificationCount.incrementAndGet();
+        modificationListeners.forEach(l -> l.accept(resource));
+    }
+
+    private void rebuildPositions() {
+        positions.clear();
+        for (int i = 0; i < projectResources.size(); i++) {
+            RewriteSourceFileHolder<? extends SourceFile> resource = projectResources.get(i);
+            if (resource != null) {
+                positions.putIfAbsent(resource, i);
+            }
+        }
+    }
+
+    private synchronized void addToIndex(RewriteSourceFileHolder<? extends SourceFile> resource) {
+        if (resource == null) {
+            return;
+        }
+        liveResources = null;
+        resource.addedTo(this);
+        pathIndex.computeIfAbsent(resource.getAbsolutePath(), p -> new ArrayList<>(1)).add(resource);
+        typeIndex.computeIfAbsent(resource.getSourceFileType(), t -> new ArrayList<>()).add(resource);
+        modified(resource);
+    }
+
+    private synchronized void removeFromIndex(RewriteSourceFileHolder<? extends SourceFile> resource) {
+        if (resource == null) {
+            return;
+        }
+        liveResources = null;
+        resource.removedFrom(this);
+        removeFromIndex(pathIndex, resource.getAbsolutePath(), resource);
+        removeFromIndex(typeIndex, resource.getSourceFileType(), resource);
+        modified(resource);
+    }
+
+    private static <K> void removeFromIndex(Map<K, List<RewriteSourceFileHolder<? extends SourceFile>>> index, K key, RewriteSourceFileHolder<? extends SourceFile> resource) {
+        List<RewriteSourceFileHolder<? extends SourceFile>> resources = index.get(key);
+        if (resources == null) {
+            return;
+        }
+        // the same resource can be held twice, remove one occurrence by identity
+        for (int i = 0; i < resources.size(); i++) {
+            if (resources.get(i) == resource) {
+                resources.remove(i);
+                break;
+            }
+        }
+        if (resources.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
 //
 //    public Stream<ProjectResource> filteredStream(ProjectResourceFilter filter) {
 //        return projectResources.stream()
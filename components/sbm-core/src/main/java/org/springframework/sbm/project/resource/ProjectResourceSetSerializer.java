@@ -16,17 +16,83 @@
 package org.springframework.sbm.project.resource;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Writes all changed resources of a {@link ProjectResourceSet} to disk.
+ * <p>
+ * All changed resources are printed to temporary files in parallel before any file in the project is touched.
+ * Only if all resources could be printed the temporary files are moved to their targets and deleted resources are removed,
+ * a failure while printing leaves the project unchanged.
+ * Deleted resources are removed before changed resources are written, a resource replacing a deleted resource at the
+ * same path is therefore kept.
+ */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class ProjectResourceSetSerializer {
 
     private final ProjectResourceSerializer resourceSerializer;
 
-    public void writeChanges(ProjectResourceSet projectResourceSet) {
-        projectResourceSet.streamIncludingDeleted()
-                .forEach(resourceSerializer::writeChanges);
+    public WrittenChanges writeChanges(ProjectResourceSet projectResourceSet) {
+        List<? extends InternalProjectResource> changedResources = projectResourceSet.streamIncludingDeleted()
+                .filter(Objects::nonNull)
+                .filter(InternalProjectResource::hasChanges)
+                .toList();
+
+        ProjectResourceSerializer.StagedChange[] stagedChanges = new ProjectResourceSerializer.StagedChange[changedResources.size()];
+        ConcurrentLinkedQueue<RuntimeException> failures = new ConcurrentLinkedQueue<>();
+        IntStream.range(0, changedResources.size()).parallel().forEach(i -> {
+            try {
+                stagedChanges[i] = resourceSerializer.stage(changedResources.get(i));
+            } catch (RuntimeException e) {
+                failures.add(e);
+            }
+        });
+        if (!failures.isEmpty()) {
+            Stream.of(stagedChanges).filter(Objects::nonNull).forEach(resourceSerializer::discard);
+            RuntimeException failure = failures.poll();
+            failures.forEach(failure::addSuppressed);
+            throw failure;
+        }
+
+        // deletions go first, a resource added at the path of a deleted resource must not be removed
+        List<ProjectResourceSerializer.StagedChange> orderedChanges = Stream.concat(
+                Stream.of(stagedChanges).filter(Objects::nonNull).filter(ProjectResourceSerializer.StagedChange::isDeletion),
+                Stream.of(stagedChanges).filter(Objects::nonNull).filter(c -> !c.isDeletion())
+        ).toList();
+        int writtenFiles = 0;
+        long writtenBytes = 0;
+        int deletedFiles = 0;
+        for (int i = 0; i < orderedChanges.size(); i++) {
+            ProjectResourceSerializer.StagedChange stagedChange = orderedChanges.get(i);
+            try {
+                resourceSerializer.commit(stagedChange);
+            } catch (RuntimeException e) {
+                orderedChanges.subList(i + 1, orderedChanges.size()).forEach(resourceSerializer::discard);
+                throw e;
+            }
+            if (stagedChange.isDeletion()) {
+                deletedFiles++;
+            } else {
+                writtenFiles++;
+                writtenBytes += stagedChange.bytes();
+            }
+        }
         projectResourceSet.clearDeletedResources();
+
+        WrittenChanges writtenChanges = new WrittenChanges(writtenFiles, writtenBytes, deletedFiles);
+        log.debug("Wrote %d files (%d bytes) and deleted %d files.".formatted(writtenChanges.writtenFiles(), writtenChanges.writtenBytes(), writtenChanges.deletedFiles()));
+        return writtenChanges;
+    }
+
+    public record WrittenChanges(int writtenFiles, long writtenBytes, int deletedFiles) {
     }
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.resource;
+
+import org.openrewrite.SourceFile;
+
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records the lookups of resources on the current thread.
+ * <p>
+ * Reads are recorded where resources are looked up, not where their content is accessed: the {@link ProjectResourceSet}
+ * records looked up paths and queried types, the {@link org.springframework.sbm.engine.context.ProjectFactIndex}
+ * records the types its facts are extracted from. A query for a type reads all resources of that type and its
+ * subtypes, streaming all resources reads {@link SourceFile}.
+ * Recordings can be nested, a read is recorded by all recordings active on the thread.
+ *
+ * <pre>
+ * try (ResourceReadRecorder.Recording recording = ResourceReadRecorder.start()) {
+ *     condition.evaluate(context);
+ *     Set&lt;Path&gt; readPaths = recording.getReadPaths();
+ * }
+ * </pre>
+ */
+public class ResourceReadRecorder {
+
+    private static final ThreadLocal<Recording> activeRecording = new ThreadLocal<>();
+    private static final AtomicInteger activeRecordings = new AtomicInteger();
+
+    private ResourceReadRecorder() {
+    }
+
+    /**
+     * Start recording reads on the current thread until the returned {@link Recording} is closed.
+     */
+    public static Recording start() {
+        Recording recording = new Recording(activeRecording.get());
+        activeRecording.set(recording);
+        activeRecordings.incrementAndGet();
+        return recording;
+    }
+
+    /**
+     * Records the lookup of the resource at {@code absolutePath}, whether it exists or not.
+     */
+    public static void recordPath(Path absolutePath) {
+        // avoid the thread local lookup when nothing is recorded
+        if (activeRecordings.get() == 0) {
+            return;
+        }
+        for (Recording recording = activeRecording.get(); recording != null; recording = recording.parent) {
+            recording.readPaths.add(absolutePath);
+        }
+    }
+
+    /**
+     * Records a query for all resources of {@code type}.
+     */
+    public static void recordType(Class<? extends SourceFile> type) {
+        if (activeRecordings.get() == 0) {
+            return;
+        }
+        for (Recording recording = activeRecording.get(); recording != null; recording = recording.parent) {
+            recording.readTypes.add(type);
+        }
+    }
+
+    public static class Recording implements AutoCloseable {
+        private final Recording parent;
+        private final Set<Path> readPaths = new HashSet<>();
+        private final Set<Class<? extends SourceFile>> readTypes = new HashSet<>();
+        private boolean closed;
+
+        private Recording(Recording parent) {
+            this.parent = parent;
+        }
+
+        /**
+         * The absolute paths looked up so far.
+         */
+        public Set<Path> getReadPaths() {
+            return Set.copyOf(readPaths);
+        }
+
+        /**
+         * The queried {@code SourceFile} types so far, resources of their subtypes were read as well.
+         */
+        public Set<Class<? extends SourceFile>> getReadTypes() {
+            return Set.copyOf(readTypes);
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            activeRecordings.decrementAndGet();
+            if (parent == null) {
+                activeRecording.remove();
+            } else {
+                activeRecording.set(parent);
+            }
+        }
+    }
+}
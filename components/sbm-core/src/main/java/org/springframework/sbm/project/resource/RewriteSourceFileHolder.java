@@ -18,15 +18,26 @@ package org.springframework.sbm.project.resource;
 import lombok.Getter;
 import org.openrewrite.SourceFile;
 import org.springframework.sbm.utils.LinuxWindowsPathUnifier;
+import org.springframework.util.DigestUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
-import java.util.UUID;
+import java.util.*;
 
 public class RewriteSourceFileHolder<T extends SourceFile> extends BaseProjectResource implements InternalProjectResource {
 
     private T sourceFile;
+    /**
+     * Hash of the printed {@code hashedSourceFile}, valid as long as it is the current {@code sourceFile}.
+     */
+    private byte[] contentHash;
+    private T hashedSourceFile;
     @Getter
     final private Path absoluteProjectDir;
+    /**
+     * The resource sets holding this resource, their indices are updated when its path or type changes.
+     */
+    private final Set<ProjectResourceSet> resourceSets = Collections.newSetFromMap(new WeakHashMap<>());
 
     /**
      * @param absoluteProjectDir the absolute path to project root
@@ -90,8 +101,15 @@ public class RewriteSourceFileHolder<T extends SourceFile> extends BaseProjectRe
         if (absoluteProjectDir.resolve(newPath).toFile().isDirectory()) {
             newPath = newPath.resolve(this.getAbsolutePath().getFileName());
         }
+        Path previousPath = getAbsolutePath();
+        Class<? extends SourceFile> previousType = sourceFile.getClass();
+        boolean contentHashValid = hashedSourceFile == sourceFile;
         sourceFile = sourceFile.withSourcePath(newPath);
+        if (contentHashValid) {
+            hashedSourceFile = sourceFile;
+        }
         this.markChanged();
+        updateResourceSets(previousPath, previousType);
     }
 
     public T getSourceFile() {
@@ -103,14 +121,84 @@ public class RewriteSourceFileHolder<T extends SourceFile> extends BaseProjectRe
      * <p>
      * If {@code fixedSourceFile.print()} differs from current file content,
      * source file is marked as changed.
+     * Source files are immutable, the same instance is therefore never a change.
+     * Otherwise the content hash of {@code fixedSourceFile} is compared with the hash of the current content
+     * which is kept from the previous comparison, so only {@code fixedSourceFile} gets printed.
      *
      * @param fixedSourceFile the new source file
      */
     public void replaceWith(T fixedSourceFile) {
-        if (sourceFile != null && !sourceFile.printAll().equals(fixedSourceFile.printAll())) {
+        if (sourceFile == fixedSourceFile) {
+            return;
+        }
+        byte[] fixedContentHash = hash(fixedSourceFile);
+        if (sourceFile != null && !Arrays.equals(getContentHash(), fixedContentHash)) {
             markChanged();
         }
+        Path previousPath = sourceFile == null ? null : getAbsolutePath();
+        Class<? extends SourceFile> previousType = sourceFile == null ? null : sourceFile.getClass();
         sourceFile = fixedSourceFile;
+        hashedSourceFile = fixedSourceFile;
+        contentHash = fixedContentHash;
+        updateResourceSets(previousPath, previousType);
+    }
+
+    /**
+     * The type of the wrapped {@code SourceFile}, other than {@link #getType()} this is not recorded as read.
+     * <p>
+     * This and the callbacks of {@link ProjectResourceSet} are protected so mocked resources can be held by a set.
+     */
+    protected Class<? extends SourceFile> getSourceFileType() {
+        return sourceFile.getClass();
+    }
+
+    protected void addedTo(ProjectResourceSet resourceSet) {
+        synchronized (resourceSets) {
+            resourceSets.add(resourceSet);
+        }
+    }
+
+    protected void removedFrom(ProjectResourceSet resourceSet) {
+        synchronized (resourceSets) {
+            resourceSets.remove(resourceSet);
+        }
+    }
+
+    @Override
+    public void delete() {
+        super.delete();
+        List<ProjectResourceSet> holdingSets;
+        synchronized (resourceSets) {
+            holdingSets = List.copyOf(resourceSets);
+        }
+        holdingSets.forEach(s -> s.deleted(this));
+    }
+
+    private void updateResourceSets(Path previousPath, Class<? extends SourceFile> previousType) {
+        boolean reindex = previousPath == null || !previousPath.equals(getAbsolutePath()) || previousType != sourceFile.getClass();
+        List<ProjectResourceSet> holdingSets;
+        synchronized (resourceSets) {
+            holdingSets = List.copyOf(resourceSets);
+        }
+        for (ProjectResourceSet holdingSet : holdingSets) {
+            if (reindex) {
+                holdingSet.reindex(this, previousPath, previousType);
+            } else {
+                holdingSet.changed(this);
+            }
+        }
+    }
+
+    private byte[] getContentHash() {
+        if (hashedSourceFile != sourceFile) {
+            contentHash = hash(sourceFile);
+            hashedSourceFile = sourceFile;
+        }
+        return contentHash;
+    }
+
+    private static byte[] hash(SourceFile sourceFile) {
+        return DigestUtils.md5Digest(sourceFile.printAll().getBytes(StandardCharsets.UTF_8));
     }
 
     public void markChanged() {
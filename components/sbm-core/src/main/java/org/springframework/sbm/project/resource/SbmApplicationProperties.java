@@ -20,6 +20,7 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -30,11 +31,22 @@ import java.util.stream.Collectors;
 @ConfigurationProperties(prefix = "sbm")
 public class SbmApplicationProperties {
     private boolean gitSupportEnabled;
+    private boolean incrementalRescanEnabled;
     private boolean muleTriggerMeshTransformEnabled;
     private String defaultBasePackage;
     private boolean writeInMavenLocal;
     private boolean  javaParserLoggingCompilationWarningsAndErrors;
     private List<String> ignoredPathsPatterns = new ArrayList<>();
+    private boolean projectSnapshotsEnabled;
+    private String projectSnapshotsDirectory = Path.of(System.getProperty("user.home"), ".sbm", "snapshots").toString();
+    private int projectSnapshotsPerProject = 5;
+    private int resourceSizeThresholdMb = -1;
+    private int resourceParserParallelism = 1;
+    private int applicabilityEvaluationParallelism = 1;
+    private int reportSectionEvaluationParallelism = 1;
+    private boolean applicabilityMemoEnabled;
+    private boolean asciidoctorPrewarmEnabled;
+    private boolean incrementalReportEnabled;
 
     public void setIgnoredPathsPatterns(List<String> patterns) {
         List<String> absolutePatterns = patterns.stream()
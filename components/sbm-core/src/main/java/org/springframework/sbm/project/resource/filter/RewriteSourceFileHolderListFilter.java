@@ -30,13 +30,7 @@ public class RewriteSourceFileHolderListFilter<T extends SourceFile> implements
 
     @Override
     public List<RewriteSourceFileHolder<T>> apply(ProjectResourceSet projectResourceSet) {
-        return projectResourceSet.stream()
-                .filter(r -> wrappedType.isAssignableFrom(r.getSourceFile().getClass()))
-                .map(this::cast)
+        return projectResourceSet.streamByType(wrappedType)
                 .collect(Collectors.toList());
     }
-
-    private RewriteSourceFileHolder<T> cast(RewriteSourceFileHolder<? extends SourceFile> rewriteSourceFileHolder) {
-        return (RewriteSourceFileHolder<T>) rewriteSourceFileHolder;
-    }
 }
@@ -35,7 +35,10 @@ public class AbstractBaseScope implements Scope {
         scopedBeans.keySet().stream().forEach(beanName -> beanFactory.destroyScopedBean(beanName));
     }
 
-    public Object get(String name, ObjectFactory<?> objectFactory) {
+    /**
+     * Synchronized to not create a bean twice when it's requested concurrently, e.g. while evaluating conditions.
+     */
+    public synchronized Object get(String name, ObjectFactory<?> objectFactory) {
         Object scopedObject = this.scopedBeans.get(name);
         if (scopedObject == null) {
             scopedObject = objectFactory.getObject();
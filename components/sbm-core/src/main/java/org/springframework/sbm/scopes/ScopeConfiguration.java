@@ -21,6 +21,7 @@ import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.sbm.openrewrite.RewriteExecutionContext;
+import org.springframework.sbm.utils.SharedJavaTypeCache;
 
 /**
  * @author Fabian Krüger
@@ -51,4 +52,13 @@ public class ScopeConfiguration {
         return rewriteExecutionContext;
     }
 
+    /**
+     * Types of the JDK and of jars shared by all Java parsers of a scan.
+     */
+    @Bean
+    @org.springframework.sbm.scopes.annotations.ScanScope
+    SharedJavaTypeCache sharedJavaTypeCache() {
+        return new SharedJavaTypeCache(SharedJavaTypeCache.DEFAULT_MAX_ENTRIES);
+    }
+
 }
@@ -25,7 +25,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.sbm.build.impl.MavenSettingsInitializer;
-import org.springframework.sbm.build.impl.RewriteMavenArtifactDownloader;
+import org.springframework.sbm.build.impl.RewriteMavenArtifactDownloaderConfiguration;
 import org.springframework.sbm.build.impl.RewriteMavenParser;
 import org.springframework.sbm.engine.commands.ApplicableRecipeListCommand;
 import org.springframework.sbm.engine.commands.ApplyCommand;
@@ -104,6 +104,7 @@ import static org.springframework.sbm.archfitfun.ExecutionScopeArchFitTest.Scope
                     ResourceHelper.class,
                     PreconditionVerifier.class,
                     ProjectContextInitializer.class,
+                    ProjectSnapshotStore.class,
                     ProjectContextFactory.class,
                     ProjectResourceWrapperRegistry.class,
                     ProjectResourceSetHolder.class,
@@ -120,7 +121,7 @@ import static org.springframework.sbm.archfitfun.ExecutionScopeArchFitTest.Scope
                     RewriteMavenParser.class,
                     MavenSettingsInitializer.class,
                     RewriteMigrationResultMerger.class,
-                    RewriteMavenArtifactDownloader.class,
+                    RewriteMavenArtifactDownloaderConfiguration.class,
                     JavaProvenanceMarkerFactory.class,
                     MavenConfigHandler.class,
                     RewriteSourceFileWrapper.class,
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.build.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.Parser;
+import org.openrewrite.xml.XmlParser;
+import org.openrewrite.xml.tree.Xml;
+import org.springframework.sbm.openrewrite.RewriteExecutionContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PomModelRefreshPlanTest {
+
+    private static final Map<String, String> POMS = Map.of(
+            "pom.xml", """
+                    <?xml version="1.0" encoding="UTF-8"?>
+                    <project xmlns="http://maven.apache.org/POM/4.0.0">
+                        <modelVersion>4.0.0</modelVersion>
+                        <groupId>com.acme</groupId>
+                        <artifactId>parent</artifactId>
+                        <version>0.0.1-SNAPSHOT</version>
+                        <packaging>pom</packaging>
+                        <modules>
+                            <module>module-a</module>
+                            <module>module-b</module>
+                            <module>module-c</module>
+                        </modules>
+                    </project>
+                    """,
+            "module-a/pom.xml", module("module-a", ""),
+            "module-b/pom.xml", module("module-b", """
+                    <dependencies>
+                        <dependency>
+                            <groupId>com.acme</groupId>
+                            <artifactId>module-a</artifactId>
+                            <version>0.0.1-SNAPSHOT</version>
+                        </dependency>
+                    </dependencies>
+                    """),
+            "module-c/pom.xml", module("module-c", "")
+    );
+
+    private List<Xml.Document> buildFiles;
+
+    @BeforeEach
+    void beforeEach() {
+        List<Parser.Input> inputs = POMS.keySet().stream()
+                .sorted()
+                .map(path -> new Parser.Input(Path.of(path), () -> new ByteArrayInputStream(POMS.get(path).getBytes(StandardCharsets.UTF_8))))
+                .toList();
+        buildFiles = new ArrayList<>(new RewriteMavenParser(new MavenSettingsInitializer(), new RewriteExecutionContext())
+                .parseInputs(inputs, null, new RewriteExecutionContext()));
+    }
+
+    @Test
+    void nothingToRefreshWhenUnchanged() {
+        PomModelRefreshPlan refreshPlan = PomModelRefreshPlan.of(buildFiles);
+
+        assertThat(refreshPlan.getToRefresh()).isEmpty();
+        assertThat(refreshPlan.getToParse()).isEmpty();
+    }
+
+    @Test
+    void refreshesChangedLeafModuleOnly() {
+        change("module-c/pom.xml", module("module-c", "<properties><foo>bar</foo></properties>"));
+
+        PomModelRefreshPlan refreshPlan = PomModelRefreshPlan.of(buildFiles);
+
+        assertThat(sourcePaths(refreshPlan.getToRefresh())).containsExactly("module-c/pom.xml");
+        assertThat(sourcePaths(refreshPlan.getToParse())).containsExactly("module-c/pom.xml", "pom.xml");
+    }
+
+    @Test
+    void refreshesModulesDependingOnChangedModule() {
+        change("module-a/pom.xml", module("module-a", "<properties><foo>bar</foo></properties>"));
+
+        PomModelRefreshPlan refreshPlan = PomModelRefreshPlan.of(buildFiles);
+
+        assertThat(sourcePaths(refreshPlan.getToRefresh())).containsExactly("module-a/pom.xml", "module-b/pom.xml");
+        assertThat(sourcePaths(refreshPlan.getToParse())).containsExactly("module-a/pom.xml", "module-b/pom.xml", "pom.xml");
+    }
+
+    @Test
+    void refreshesBuildFilesChangedByRefactoringWithUnchangedModel() {
+        PomModelRefreshPlan refreshPlan = PomModelRefreshPlan.of(buildFiles, Set.of(Path.of("module-a/pom.xml")));
+
+        assertThat(sourcePaths(refreshPlan.getToRefresh())).containsExactly("module-a/pom.xml", "module-b/pom.xml");
+        assertThat(sourcePaths(refreshPlan.getToParse())).containsExactly("module-a/pom.xml", "module-b/pom.xml", "pom.xml");
+    }
+
+    @Test
+    void refreshesModulesInheritingFromChangedParent() {
+        change("pom.xml", POMS.get("pom.xml").replace("<packaging>pom</packaging>", "<packaging>pom</packaging><properties><foo>bar</foo></properties>"));
+
+        PomModelRefreshPlan refreshPlan = PomModelRefreshPlan.of(buildFiles);
+
+        assertThat(refreshPlan.getToRefresh()).hasSize(4);
+        assertThat(refreshPlan.getToParse()).hasSize(4);
+    }
+
+    @Test
+    void refreshesAllWhenCoordinatesChanged() {
+        change("module-c/pom.xml", module("module-c", "").replace("<artifactId>module-c</artifactId>", "<artifactId>module-d</artifactId>"));
+
+        PomModelRefreshPlan refreshPlan = PomModelRefreshPlan.of(buildFiles);
+
+        assertThat(refreshPlan.getToRefresh()).hasSize(4);
+        assertThat(refreshPlan.getToParse()).hasSize(4);
+    }
+
+    private void change(String sourcePath, String content) {
+        for (int i = 0; i < buildFiles.size(); i++) {
+            Xml.Document original = buildFiles.get(i);
+            if (original.getSourcePath().equals(Path.of(sourcePath))) {
+                Xml.Document changed = new XmlParser().parse(content).get(0)
+                        .withSourcePath(original.getSourcePath())
+                        .withMarkers(original.getMarkers());
+                buildFiles.set(i, changed);
+            }
+        }
+    }
+
+    private static List<String> sourcePaths(List<Xml.Document> documents) {
+        return documents.stream().map(d -> d.getSourcePath().toString()).toList();
+    }
+
+    private static String module(String artifactId, String body) {
+        return """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <modelVersion>4.0.0</modelVersion>
+                    <parent>
+                        <groupId>com.acme</groupId>
+                        <artifactId>parent</artifactId>
+                        <version>0.0.1-SNAPSHOT</version>
+                    </parent>
+                    <artifactId>%s</artifactId>
+                    %s
+                </project>
+                """.formatted(artifactId, body);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.build.impl;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.maven.tree.MavenResolutionResult;
+import org.springframework.sbm.openrewrite.RewriteExecutionContext;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResolvedDependencyPathsCacheTest {
+
+    private final ResolvedDependencyPathsCache sut = new ResolvedDependencyPathsCache();
+    private final AtomicInteger resolutions = new AtomicInteger();
+
+    @Test
+    void resolvesOncePerMavenResolution() {
+        MavenResolutionResult first = parsePom();
+        MavenResolutionResult second = parsePom();
+
+        List<Path> paths = sut.get(first, this::resolve);
+        assertThat(sut.get(first, this::resolve)).isSameAs(paths);
+        sut.get(second, this::resolve);
+
+        assertThat(resolutions).hasValue(2);
+        assertThat(sut.getHitCount()).isEqualTo(1);
+        assertThat(sut.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    void resolvesAgainAfterInvalidation() {
+        MavenResolutionResult mavenResolution = parsePom();
+
+        sut.get(mavenResolution, this::resolve);
+        sut.invalidate();
+        sut.get(mavenResolution, this::resolve);
+
+        assertThat(resolutions).hasValue(2);
+    }
+
+    private List<Path> resolve(MavenResolutionResult mavenResolution) {
+        resolutions.incrementAndGet();
+        return List.of(Path.of("some.jar"));
+    }
+
+    private MavenResolutionResult parsePom() {
+        String pom = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.acme</groupId>
+                    <artifactId>dummy</artifactId>
+                    <version>0.0.1-SNAPSHOT</version>
+                </project>
+                """;
+        return new RewriteMavenParser(new MavenSettingsInitializer(), new RewriteExecutionContext())
+                .parse(pom)
+                .get(0)
+                .getMarkers()
+                .findFirst(MavenResolutionResult.class)
+                .get();
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.build.impl;
+
+import lombok.Lombok;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.ipc.http.HttpSender;
+import org.openrewrite.ipc.http.HttpUrlConnectionSender;
+import org.openrewrite.maven.cache.LocalMavenArtifactCache;
+import org.openrewrite.maven.tree.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.*;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RewriteMavenArtifactDownloaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path repository;
+    private RewriteMavenArtifactDownloader sut;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        repository = tempDir.resolve("repository");
+        publish("present", true);
+        publish("absent", false);
+        sut = newDownloader();
+    }
+
+    @Test
+    void downloadsArtifactsFromFileRepository() {
+        List<ResolvedDependency> dependencies = fileRepositoryDependencies();
+
+        Map<ResolvedDependency, Path> downloaded = sut.downloadArtifacts(dependencies);
+
+        assertThat(downloaded).hasSize(1);
+        ResolvedDependency present = dependencies.stream().filter(d -> d.getArtifactId().equals("present")).findFirst().get();
+        assertThat(downloaded.get(present)).exists();
+        assertThat(sut.downloadArtifact(present)).isEqualTo(downloaded.get(present));
+    }
+
+    @Test
+    void doesNotRequestMissingArtifactAgain() throws IOException {
+        ResolvedDependency absent = fileRepositoryDependencies().stream().filter(d -> d.getArtifactId().equals("absent")).findFirst().get();
+        assertThat(sut.downloadArtifact(absent)).isNull();
+
+        Files.writeString(artifactDir("absent").resolve("absent-1.0.0.jar"), "jar");
+
+        assertThat(sut.downloadArtifact(absent)).isNull();
+        assertThat(newDownloader().downloadArtifact(absent)).exists();
+    }
+
+    @Test
+    void requestsMissingArtifactAgainWhenTtlExpired() throws IOException {
+        MutableClock clock = new MutableClock();
+        RewriteMavenArtifactDownloader sut = new RewriteMavenArtifactDownloader(new LocalMavenArtifactCache(tempDir.resolve("cache")), null, new HttpUrlConnectionSender(), t -> {}, Duration.ofMinutes(1), clock);
+        ResolvedDependency absent = fileRepositoryDependencies().stream().filter(d -> d.getArtifactId().equals("absent")).findFirst().get();
+        assertThat(sut.downloadArtifact(absent)).isNull();
+
+        Files.writeString(artifactDir("absent").resolve("absent-1.0.0.jar"), "jar");
+        assertThat(sut.downloadArtifact(absent)).isNull();
+
+        clock.advance(Duration.ofMinutes(1));
+        assertThat(sut.downloadArtifact(absent)).exists();
+    }
+
+    @Test
+    void concurrentRequestsForSameArtifactShareOneDownload() {
+        AtomicInteger requests = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        HttpSender httpSender = request -> {
+            requests.incrementAndGet();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("connection reset");
+        };
+        RewriteMavenArtifactDownloader sut = new RewriteMavenArtifactDownloader(new LocalMavenArtifactCache(tempDir.resolve("cache")), null, httpSender, t -> {});
+        ResolvedDependency dependency = remoteDependency();
+
+        CompletableFuture<Path> first = sut.download(dependency);
+        CompletableFuture<Path> second = sut.download(dependency);
+        release.countDown();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.join()).isNull();
+        assertThat(requests).hasValue(1);
+
+        // failures other than a missing artifact are not remembered
+        assertThat(sut.downloadArtifact(dependency)).isNull();
+        assertThat(requests).hasValue(2);
+    }
+
+    @Test
+    void missingArtifactIsRequestedAgainWhenAnotherRequestTimedOut() {
+        AtomicInteger requests = new AtomicInteger();
+        HttpSender httpSender = request -> {
+            if (requests.incrementAndGet() % 2 == 1) {
+                throw Lombok.sneakyThrow(new SocketTimeoutException("read timed out"));
+            }
+            return new HttpSender.Response(404, InputStream.nullInputStream(), () -> {});
+        };
+        RewriteMavenArtifactDownloader sut = new RewriteMavenArtifactDownloader(new LocalMavenArtifactCache(tempDir.resolve("cache")), null, httpSender, t -> {});
+        ResolvedDependency dependency = remoteDependency();
+
+        assertThat(sut.downloadArtifact(dependency)).isNull();
+        assertThat(requests).hasValue(2);
+
+        assertThat(sut.downloadArtifact(dependency)).isNull();
+        assertThat(requests).hasValue(4);
+    }
+
+    private ResolvedDependency remoteDependency() {
+        return dependency(MavenRepository.MAVEN_CENTRAL, "remote");
+    }
+
+    private List<ResolvedDependency> fileRepositoryDependencies() {
+        MavenRepository fileRepository = MavenRepository.MAVEN_CENTRAL.withId("file-repository").withUri(repository.toUri().toString());
+        return List.of(dependency(fileRepository, "present"), dependency(fileRepository, "absent"));
+    }
+
+    private ResolvedDependency dependency(MavenRepository repository, String artifactId) {
+        return ResolvedDependency.builder()
+                .repository(repository)
+                .gav(new ResolvedGroupArtifactVersion(repository.getUri(), "com.acme.artifacts", artifactId, "1.0.0", null))
+                .requested(Dependency.builder().gav(new GroupArtifactVersion("com.acme.artifacts", artifactId, "1.0.0")).build())
+                .type("jar")
+                .build();
+    }
+
+    private RewriteMavenArtifactDownloader newDownloader() {
+        return new RewriteMavenArtifactDownloader(new LocalMavenArtifactCache(tempDir.resolve("cache")), null, new HttpUrlConnectionSender(), t -> {});
+    }
+
+    private void publish(String artifactId, boolean withJar) throws IOException {
+        Path artifactDir = Files.createDirectories(artifactDir(artifactId));
+        if (withJar) {
+            Files.writeString(artifactDir.resolve(artifactId + "-1.0.0.jar"), "jar");
+        }
+    }
+
+    private Path artifactDir(String artifactId) {
+        return repository.resolve("com/acme/artifacts").resolve(artifactId).resolve("1.0.0");
+    }
+
+    private static class MutableClock extends Clock {
+
+        private volatile Instant instant = Instant.now();
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
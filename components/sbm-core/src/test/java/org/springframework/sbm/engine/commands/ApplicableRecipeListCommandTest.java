@@ -27,6 +27,7 @@ import org.springframework.sbm.engine.recipe.ApplicableRecipesListHolder;
 import org.springframework.sbm.engine.recipe.Recipe;
 import org.springframework.sbm.engine.recipe.Recipes;
 import org.springframework.sbm.engine.recipe.RecipesBuilder;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -48,6 +49,9 @@ class ApplicableRecipeListCommandTest {
     @Mock
     ApplicableRecipesListHolder applicableRecipesListHolder;
 
+    @Mock
+    SbmApplicationProperties sbmApplicationProperties;
+
     @InjectMocks
     ApplicableRecipeListCommand sut;
 
@@ -67,4 +71,19 @@ class ApplicableRecipeListCommandTest {
 
         assertThat(returnedListOfRecipes).isSameAs(applicableRecipes);
     }
+
+    @Test
+    void evaluatesConcurrentlyWhenParallelismIsConfigured() {
+        Recipes recipes = mock(Recipes.class);
+        ProjectContext context = mock(ProjectContext.class);
+        when(recipesBuilder.buildRecipes()).thenReturn(recipes);
+        when(sbmApplicationProperties.getApplicabilityEvaluationParallelism()).thenReturn(4);
+        List<Recipe> applicableRecipes = new ArrayList<>();
+        when(recipes.getApplicable(eq(context), eq(4), anyMap())).thenReturn(applicableRecipes);
+
+        List<Recipe> returnedListOfRecipes = sut.execute(context);
+
+        assertThat(returnedListOfRecipes).isSameAs(applicableRecipes);
+        verify(recipes, never()).getApplicable(context);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.context;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.sbm.java.api.JavaSource;
+import org.springframework.sbm.project.resource.TestProjectContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectFactIndexTest {
+
+    @Test
+    void indexesFactsOfJavaSources() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSource("src/main/java/com/example/SomeClass.java",
+                        """
+                        package com.example;
+                        import java.util.List;
+                        @Deprecated
+                        public class SomeClass {
+                            @SuppressWarnings("unchecked")
+                            List<String> list;
+                        }
+                        """)
+                .build();
+
+        ProjectFactIndex sut = context.getFactIndex();
+
+        assertThat(sut.hasImportStartingWith("java.util")).isTrue();
+        assertThat(sut.hasImportStartingWith("java.util.List")).isTrue();
+        assertThat(sut.hasImportStartingWith("java.util.Map")).isFalse();
+        assertThat(sut.declaresType("com.example.SomeClass")).isTrue();
+        assertThat(sut.hasTypeAnnotatedWith("java.lang.Deprecated")).isTrue();
+        assertThat(sut.hasTypeAnnotatedWith("java.lang.SuppressWarnings")).isFalse();
+        assertThat(sut.hasAnnotation("java.lang.SuppressWarnings")).isTrue();
+        // meta-annotation of @Deprecated
+        assertThat(sut.hasAnnotation("java.lang.annotation.Documented")).isTrue();
+        assertThat(sut.hasFileNamed("SomeClass.java")).isTrue();
+    }
+
+    @Test
+    void reindexesChangedAndDeletedResources() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSource("src/main/java/com/example/SomeClass.java",
+                        """
+                        package com.example;
+                        @Deprecated
+                        public class SomeClass {}
+                        """)
+                .build();
+        ProjectFactIndex sut = context.getFactIndex();
+        assertThat(sut.hasTypeAnnotatedWith("java.lang.Deprecated")).isTrue();
+
+        JavaSource javaSource = context.getProjectJavaSources().list().get(0);
+        javaSource.getTypes().get(0).removeAnnotation("java.lang.Deprecated");
+
+        assertThat(sut.hasTypeAnnotatedWith("java.lang.Deprecated")).isFalse();
+        assertThat(sut.declaresType("com.example.SomeClass")).isTrue();
+
+        javaSource.getResource().delete();
+
+        assertThat(sut.declaresType("com.example.SomeClass")).isFalse();
+        assertThat(sut.hasFileNamed("SomeClass.java")).isFalse();
+    }
+}
@@ -29,6 +29,7 @@ import org.springframework.boot.test.system.OutputCaptureExtension;
 import org.springframework.sbm.project.resource.SbmApplicationProperties;
 import org.springframework.sbm.utils.LinuxWindowsPathUnifier;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
@@ -164,6 +165,30 @@ public class GitSupportTest {
         }
     }
 
+    @Test
+    void getChangesSince(@TempDir Path tmpDir) throws IOException {
+        try (Git git = GitSupport.initGit(tmpDir.toFile())) {
+            GitSupport gitSupport = new GitSupport(new SbmApplicationProperties());
+            Path modified = Files.newFile(tmpDir.resolve("modified.file").toString()).toPath();
+            Path deleted = Files.newFile(tmpDir.resolve("deleted.file").toString()).toPath();
+            Path unchanged = Files.newFile(tmpDir.resolve("unchanged.file").toString()).toPath();
+            String revision = gitSupport.addAllAndCommit(tmpDir.toFile(), "initial commit", List.of("."), List.of()).getHash();
+
+            java.nio.file.Files.writeString(modified, "changed content");
+            Path committed = Files.newFile(tmpDir.resolve("committed.file").toString()).toPath();
+            gitSupport.addAllAndCommit(tmpDir.toFile(), "second commit", List.of("."), List.of());
+            Path untracked = Files.newFile(tmpDir.resolve("untracked.file").toString()).toPath();
+            java.nio.file.Files.delete(deleted);
+
+            GitChanges changes = gitSupport.getChangesSince(tmpDir.toFile(), revision);
+
+            assertThat(changes.getAdded()).containsExactlyInAnyOrder(committed.toAbsolutePath().normalize(), untracked.toAbsolutePath().normalize());
+            assertThat(changes.getModified()).containsExactly(modified.toAbsolutePath().normalize());
+            assertThat(changes.getDeleted()).containsExactly(deleted.toAbsolutePath().normalize());
+            assertThat(changes.getModified()).doesNotContain(unchanged.toAbsolutePath().normalize());
+        }
+    }
+
     private static String unifyPath(Path tmpDir) {
         return LinuxWindowsPathUnifier.unifyPath(tmpDir);
     }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.git;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.sbm.engine.commands.ScanCommand;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.context.ProjectContextHolder;
+import org.springframework.sbm.project.parser.IncrementalProjectContextUpdater;
+import org.springframework.sbm.project.parser.ProjectContextInitializer;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ProjectSyncVerifierTest {
+
+    private static final Path PROJECT_ROOT = Path.of("target/project-sync-verifier").toAbsolutePath().normalize();
+    private static final File REPO = PROJECT_ROOT.toFile();
+
+    private final GitSupport gitSupport = mock(GitSupport.class);
+    private final ScanCommand scanCommand = mock(ScanCommand.class);
+    private final IncrementalProjectContextUpdater incrementalProjectContextUpdater = mock(IncrementalProjectContextUpdater.class);
+    private final ProjectContextInitializer projectContextInitializer = mock(ProjectContextInitializer.class);
+    private final SbmApplicationProperties sbmApplicationProperties = new SbmApplicationProperties();
+    private final ProjectContextHolder projectContextHolder = new ProjectContextHolder();
+    private final ProjectContext context = mock(ProjectContext.class);
+    private final ProjectContext rescannedContext = mock(ProjectContext.class);
+    private final GitChanges changes = new GitChanges(Set.of(), Set.of(PROJECT_ROOT.resolve("src/main/java/A.java")), Set.of());
+
+    private ProjectSyncVerifier sut;
+
+    @BeforeEach
+    void beforeEach() {
+        sbmApplicationProperties.setGitSupportEnabled(true);
+        when(context.getProjectRootDirectory()).thenReturn(PROJECT_ROOT);
+        when(context.getRevision()).thenReturn("abc");
+        when(gitSupport.repoExists(REPO)).thenReturn(true);
+        when(gitSupport.hasUncommittedChangesOrDifferentRevision(REPO, "abc")).thenReturn(true);
+        when(gitSupport.getChangesSince(REPO, "abc")).thenReturn(changes);
+        when(scanCommand.execute(PROJECT_ROOT.toString())).thenReturn(rescannedContext);
+        sut = new ProjectSyncVerifier(gitSupport, scanCommand, sbmApplicationProperties, projectContextHolder, incrementalProjectContextUpdater, projectContextInitializer);
+    }
+
+    @Test
+    void updatesChangedFilesWhenIncrementalRescanIsEnabled() {
+        sbmApplicationProperties.setIncrementalRescanEnabled(true);
+        when(incrementalProjectContextUpdater.update(context, changes)).thenReturn(true);
+
+        sut.rescanWhenProjectIsOutOfSyncAndGitAvailable(context);
+
+        verify(scanCommand, never()).execute(any());
+        verify(projectContextInitializer).storeGitCommitHash(PROJECT_ROOT, context);
+        assertThat(projectContextHolder.getProjectContext()).isSameAs(context);
+    }
+
+    @Test
+    void scansProjectWhenChangesCannotBeAppliedIncrementally() {
+        sbmApplicationProperties.setIncrementalRescanEnabled(true);
+        when(incrementalProjectContextUpdater.update(context, changes)).thenReturn(false);
+
+        sut.rescanWhenProjectIsOutOfSyncAndGitAvailable(context);
+
+        verify(projectContextInitializer, never()).storeGitCommitHash(any(), any());
+        assertThat(projectContextHolder.getProjectContext()).isSameAs(rescannedContext);
+    }
+
+    @Test
+    void scansProjectWhenIncrementalRescanIsDisabled() {
+        sut.rescanWhenProjectIsOutOfSyncAndGitAvailable(context);
+
+        verifyNoInteractions(incrementalProjectContextUpdater);
+        assertThat(projectContextHolder.getProjectContext()).isSameAs(rescannedContext);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.recipe;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.text.PlainText;
+import org.openrewrite.text.PlainTextParser;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.project.resource.ProjectResourceSet;
+import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class RecipesTest {
+
+    private final ProjectContext projectContext = mock(ProjectContext.class);
+
+    @Test
+    void evaluatesReadOnlyConditionsConcurrentlyAndKeepsOrder() {
+        List<String> evaluatedInThreads = new CopyOnWriteArrayList<>();
+        List<String> evaluationOrder = new CopyOnWriteArrayList<>();
+        Recipe first = recipe("first", 2, true, true, evaluatedInThreads, evaluationOrder);
+        Recipe second = recipe("second", 1, false, true, evaluatedInThreads, evaluationOrder);
+        Recipe third = recipe("third", 0, true, true, evaluatedInThreads, evaluationOrder);
+        Recipe notApplicable = recipe("notApplicable", -1, true, false, evaluatedInThreads, evaluationOrder);
+        Recipes sut = new Recipes(new ArrayList<>(List.of(notApplicable, third, second, first)));
+
+        List<Recipe> applicable = sut.getApplicable(projectContext, 2, new ConcurrentHashMap<>());
+
+        assertThat(applicable).containsExactly(first, second, third);
+        assertThat(evaluatedInThreads).doesNotContain(Thread.currentThread().getName() + ":first");
+        assertThat(evaluatedInThreads).contains(Thread.currentThread().getName() + ":second");
+        // the condition which is not read-only is evaluated after all read-only conditions
+        assertThat(evaluationOrder).last().isEqualTo("second");
+    }
+
+    @Test
+    void recipeIsOnlyReadOnlyWhenConditionsAndActionsOptIn() {
+        Condition notAudited = countingCondition(new AtomicInteger());
+        assertThat(notAudited.isReadOnly()).isFalse();
+        assertThat(new Recipe("recipe", List.of(action(Condition.TRUE)), notAudited).hasReadOnlyConditions()).isFalse();
+
+        Action usingCondition = new AbstractAction() {
+            @Override
+            public void apply(ProjectContext context) {
+            }
+        };
+        assertThat(usingCondition.isApplicabilityReadOnly()).isTrue();
+        assertThat(new Recipe("recipe", List.of(usingCondition), Condition.TRUE).hasReadOnlyConditions()).isTrue();
+
+        Action notOptedIn = mock(Action.class, CALLS_REAL_METHODS);
+        assertThat(notOptedIn.isApplicabilityReadOnly()).isFalse();
+        assertThat(new Recipe("recipe", List.of(notOptedIn), Condition.TRUE).hasReadOnlyConditions()).isFalse();
+    }
+
+    @Test
+    void reusesKnownResults() {
+        AtomicInteger evaluations = new AtomicInteger();
+        Recipe recipe = new Recipe("recipe", List.of(action(Condition.TRUE)), countingCondition(evaluations));
+        Recipes sut = new Recipes(new ArrayList<>(List.of(recipe)));
+        Map<Recipe, Boolean> knownResults = new ConcurrentHashMap<>();
+
+        sut.getApplicable(projectContext, 1, knownResults);
+        List<Recipe> applicable = sut.getApplicable(projectContext, 1, knownResults);
+
+        assertThat(applicable).containsExactly(recipe);
+        assertThat(evaluations).hasValue(1);
+    }
+
+    @Test
+    void memoIsDiscardedWhenResourceChanged() {
+        RewriteSourceFileHolder<PlainText> resource = new RewriteSourceFileHolder<>(Path.of("/project").toAbsolutePath(), plainText("content"));
+        when(projectContext.getProjectResources()).thenReturn(new ProjectResourceSet(List.of(resource)));
+        RecipeApplicabilityMemo sut = new RecipeApplicabilityMemo();
+        Recipe recipe = new Recipe("recipe", List.of(action(Condition.TRUE)));
+
+        sut.getResults(projectContext).put(recipe, true);
+        assertThat(sut.getResults(projectContext)).containsEntry(recipe, true);
+
+        resource.replaceWith(plainText("changed"));
+        assertThat(sut.getResults(projectContext)).isEmpty();
+    }
+
+    private PlainText plainText(String content) {
+        return new PlainTextParser().parse(content).get(0).withSourcePath(Path.of("a.txt"));
+    }
+
+    private Recipe recipe(String name, int order, boolean readOnly, boolean applicable, List<String> evaluatedInThreads, List<String> evaluationOrder) {
+        Condition condition = new Condition() {
+            @Override
+            public String getDescription() {
+                return name;
+            }
+
+            @Override
+            public boolean evaluate(ProjectContext context) {
+                evaluatedInThreads.add(Thread.currentThread().getName() + ":" + name);
+                evaluationOrder.add(name);
+                return applicable;
+            }
+
+            @Override
+            public boolean isReadOnly() {
+                return readOnly;
+            }
+        };
+        return new Recipe(name, List.of(action(Condition.TRUE)), condition, order);
+    }
+
+    private Condition countingCondition(AtomicInteger evaluations) {
+        return new Condition() {
+            @Override
+            public String getDescription() {
+                return "counting";
+            }
+
+            @Override
+            public boolean evaluate(ProjectContext context) {
+                evaluations.incrementAndGet();
+                return true;
+            }
+        };
+    }
+
+    private Action action(Condition condition) {
+        Action action = mock(Action.class);
+        when(action.getCondition()).thenReturn(condition);
+        when(action.isApplicable(any())).thenAnswer(invocation -> condition.evaluate(invocation.getArgument(0)));
+        boolean readOnly = condition.isReadOnly();
+        when(action.isApplicabilityReadOnly()).thenReturn(readOnly);
+        return action;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.java.impl;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompilationUnitReferencesTest {
+
+    @Test
+    void findRequiredShouldFollowReferencesOfRequiredCompilationUnits() {
+        List<J.CompilationUnit> candidates = JavaParser.fromJavaVersion().build().parse(
+                "package com.foo; public class A { public com.bar.C c() { return null; } }",
+                "package com.foo; public class B {}",
+                "package com.bar; public class C { public D d; }",
+                "package com.bar; public class D {}",
+                "package com.baz; public class E {}"
+        );
+        List<J.CompilationUnit> changed = JavaParser.fromJavaVersion().build().parse(
+                "package com.foo; class Changed { A a; }"
+        );
+
+        List<J.CompilationUnit> required = CompilationUnitReferences.findRequired(changed, candidates);
+
+        assertThat(required).extracting(cu -> cu.getSourcePath().toString())
+                .containsExactly("com/foo/A.java", "com/foo/B.java", "com/bar/C.java", "com/bar/D.java");
+    }
+
+    @Test
+    void findRequiredShouldResolveImports() {
+        List<J.CompilationUnit> candidates = JavaParser.fromJavaVersion().build().parse(
+                "package com.bar; public class C {}",
+                "package com.baz; public class E {}",
+                "package com.qux; public class F {}"
+        );
+        List<J.CompilationUnit> changed = JavaParser.fromJavaVersion().build().parse(
+                "package com.foo; import com.bar.C; import com.baz.*; class Changed { C c; E e; }"
+        );
+
+        List<J.CompilationUnit> required = CompilationUnitReferences.findRequired(changed, candidates);
+
+        assertThat(required).extracting(cu -> cu.getSourcePath().toString())
+                .containsExactly("com/bar/C.java", "com/baz/E.java");
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.java.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.java.JavaParser;
+import org.springframework.sbm.build.api.DependenciesChangedEvent;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.context.ProjectContextHolder;
+import org.springframework.sbm.engine.events.ActionFinishedEvent;
+import org.springframework.sbm.engine.events.ActionStartedEvent;
+import org.springframework.sbm.java.api.JavaSource;
+import org.springframework.sbm.openrewrite.RewriteExecutionContext;
+import org.springframework.sbm.project.resource.TestProjectContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DependenciesChangedEventHandlerTest {
+
+    private final ProjectContextHolder projectContextHolder = new ProjectContextHolder();
+    private final JavaParser javaParser = mock(JavaParser.class);
+    private DependenciesChangedEventHandler sut;
+
+    @BeforeEach
+    void beforeEach() {
+        sut = new DependenciesChangedEventHandler(projectContextHolder, javaParser, new RewriteExecutionContext());
+    }
+
+    @Test
+    void onlyCompilationUnitsReferencingTypesOfChangedClasspathEntriesShouldBeAffected(@TempDir Path tempDir) throws IOException {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSource("src/main/java", "package com.foo; import com.acme.*; class A {}")
+                .withJavaSource("src/main/java", "package com.foo; class B { com.acme.Widget widget; }")
+                .withJavaSource("src/main/java", "package com.foo; import com.acme.Gadget.Part; class C {}")
+                .withJavaSource("src/main/java", "package com.foo; class D {}")
+                .build();
+        projectContextHolder.setProjectContext(context);
+        sut.onDependenciesChanged(new DependenciesChangedEvent(List.of()));
+        Path jar = createJar(tempDir.resolve("acme.jar"), "com/acme/Widget.class", "com/acme/Gadget$Part.class");
+        Set<Path> classpath = new HashSet<>(ClasspathRegistry.getInstance().getCurrentDependencies());
+        classpath.add(jar);
+
+        List<JavaSource> affected = sut.findAffectedJavaSources(context, context.getProjectJavaSources().list(), classpath);
+
+        assertThat(affected).extracting(JavaSource::getSourcePath)
+                .extracting(p -> p.getFileName().toString())
+                .containsExactlyInAnyOrder("A.java", "B.java", "C.java");
+    }
+
+    @Test
+    void compilationUnitsReachingTypesOfChangedClasspathEntriesThroughProjectTypesShouldBeAffected(@TempDir Path tempDir) throws IOException {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSource("src/main/java", "package com.foo; public class A extends com.acme.Widget {}")
+                .withJavaSource("src/main/java", "package com.bar; import com.foo.A; class B extends A {}")
+                .withJavaSource("src/main/java", "package com.baz; class C { com.bar.B b; }")
+                .withJavaSource("src/main/java", "package com.baz; class D {}")
+                .build();
+        projectContextHolder.setProjectContext(context);
+        sut.onDependenciesChanged(new DependenciesChangedEvent(List.of()));
+        Path jar = createJar(tempDir.resolve("acme.jar"), "com/acme/Widget.class");
+        Set<Path> classpath = new HashSet<>(ClasspathRegistry.getInstance().getCurrentDependencies());
+        classpath.add(jar);
+
+        List<JavaSource> affected = sut.findAffectedJavaSources(context, context.getProjectJavaSources().list(), classpath);
+
+        assertThat(affected).extracting(JavaSource::getSourcePath)
+                .extracting(p -> p.getFileName().toString())
+                .containsExactlyInAnyOrder("A.java", "B.java", "C.java");
+    }
+
+    @Test
+    void allCompilationUnitsOfNewProjectContextShouldBeAttributed() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSource("src/main/java", "package com.foo; class A {}")
+                .build();
+        ProjectContext otherContext = TestProjectContext.buildProjectContext()
+                .withJavaSource("src/main/java", "package com.bar; class B {}")
+                .build();
+
+        projectContextHolder.setProjectContext(context);
+        sut.onDependenciesChanged(new DependenciesChangedEvent(List.of()));
+        sut.onDependenciesChanged(new DependenciesChangedEvent(List.of()));
+        verify(javaParser, times(1)).parseInputs(any(), any(), any());
+
+        projectContextHolder.setProjectContext(otherContext);
+        sut.onDependenciesChanged(new DependenciesChangedEvent(List.of()));
+        verify(javaParser, times(2)).parseInputs(any(), any(), any());
+    }
+
+    @Test
+    void dependencyChangesWhileActionRunsShouldBeHandledOnceWhenActionFinished() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSource("src/main/java", "package com.foo; class A {}")
+                .build();
+        projectContextHolder.setProjectContext(context);
+
+        sut.onActionStarted(new ActionStartedEvent("action"));
+        sut.onDependenciesChanged(new DependenciesChangedEvent(List.of()));
+        sut.onDependenciesChanged(new DependenciesChangedEvent(List.of()));
+        verify(javaParser, times(2)).setClasspath(ClasspathRegistry.getInstance().getCurrentDependencies());
+        verify(javaParser, never()).parseInputs(any(), any(), any());
+
+        sut.onActionFinished(new ActionFinishedEvent("action"));
+        verify(javaParser, times(1)).parseInputs(any(), any(), any());
+    }
+
+    private static Path createJar(Path jar, String... entries) throws IOException {
+        try (OutputStream out = Files.newOutputStream(jar); JarOutputStream jarOut = new JarOutputStream(out)) {
+            for (String entry : entries) {
+                jarOut.putNextEntry(new JarEntry(entry));
+                jarOut.closeEntry();
+            }
+        }
+        return jar;
+    }
+}
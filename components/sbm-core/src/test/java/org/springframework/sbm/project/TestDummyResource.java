@@ -59,7 +59,7 @@ public class TestDummyResource implements Resource {
 
     @Override
     public long contentLength() {
-        throw new UnsupportedOperationException();
+        return content.getBytes(StandardCharsets.UTF_8).length;
     }
 
     @Override
@@ -21,6 +21,8 @@ import org.junit.jupiter.api.*;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.maven.tree.Scope;
+import org.openrewrite.xml.tree.Xml;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.sbm.GitHubIssue;
 import org.springframework.sbm.build.api.BuildFile;
@@ -28,7 +30,11 @@ import org.springframework.sbm.build.api.DependenciesChangedEvent;
 import org.springframework.sbm.build.api.Dependency;
 import org.springframework.sbm.build.api.Plugin;
 import org.springframework.sbm.build.util.PomBuilder;
+import org.springframework.sbm.build.impl.MavenBuildFileRefactoring;
+import org.springframework.sbm.build.impl.MavenSettingsInitializer;
+import org.springframework.sbm.build.impl.OpenRewriteMavenBuildFile;
 import org.springframework.sbm.build.impl.OpenRewriteMavenPlugin;
+import org.springframework.sbm.build.impl.RewriteMavenParser;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.context.ProjectContextHolder;
 import org.springframework.sbm.java.api.Member;
@@ -47,6 +53,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
@@ -694,6 +701,172 @@ public class OpenRewriteMavenBuildFileTest {
         assertThat(argumentCaptor.getValue().getResolvedDependencies().get(0).toString()).endsWith("org/apiguardian/apiguardian-api/1.1.0/apiguardian-api-1.1.0.jar");
     }
 
+    @Test
+    void batchPublishesOneEventAfterAllChanges() {
+        String pomXml =
+                """
+                <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                         xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 http://maven.apache.org/maven-v4_0_0.xsd">
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>org.springframework.sbm.examples</groupId>
+                    <artifactId>example-app</artifactId>
+                    <packaging>jar</packaging>
+                    <version>1.0.0-SNAPSHOT</version>
+                </project>
+                """;
+
+        ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+        ProjectContext context = TestProjectContext.buildProjectContext(eventPublisher)
+                .withMavenRootBuildFileSource(pomXml)
+                .build();
+        ExecutionContext executionContext = new RewriteExecutionContext();
+        MavenBuildFileRefactoring<Xml.Document> refactoring = spy(new MavenBuildFileRefactoring<>(context.getProjectResources(), new RewriteMavenParser(new MavenSettingsInitializer(), executionContext), executionContext));
+        OpenRewriteMavenBuildFile buildFile = (OpenRewriteMavenBuildFile) context.getBuildFile();
+        BuildFile sut = new OpenRewriteMavenBuildFile(buildFile.getAbsoluteProjectDir(), buildFile.getSourceFile(), eventPublisher, executionContext, refactoring);
+        context.getProjectResources().replace(buildFile.getAbsolutePath(), (OpenRewriteMavenBuildFile) sut);
+
+        Dependency apiguardian = Dependency.fromCoordinates("org.apiguardian:apiguardian-api:1.1.0");
+        Dependency validationApi = Dependency.fromCoordinates("javax.validation:validation-api:2.0.1.Final");
+
+        sut.batch(b -> {
+            b.addDependency(apiguardian);
+            b.setProperty("some.property", "value");
+            b.addDependency(validationApi);
+            // the model is refreshed when the batch completed
+            verify(refactoring, never()).refreshPomModels();
+            verify(eventPublisher, never()).publishEvent(any());
+        });
+
+        verify(refactoring, times(1)).refreshPomModels();
+
+        assertThat(sut.getDeclaredDependencies()).containsExactlyInAnyOrder(apiguardian, validationApi);
+        assertThat(sut.getProperty("some.property")).isEqualTo("value");
+        ArgumentCaptor<DependenciesChangedEvent> argumentCaptor = ArgumentCaptor.forClass(DependenciesChangedEvent.class);
+        assertEventPublished(eventPublisher, argumentCaptor, DependenciesChangedEvent.class, 1);
+        assertThat(argumentCaptor.getValue().getResolvedDependencies()).hasSize(2);
+    }
+
+    @Test
+    void batchAddsDependencyAddedTwiceOnce() {
+        String pomXml =
+                """
+                <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                         xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 http://maven.apache.org/maven-v4_0_0.xsd">
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>org.springframework.sbm.examples</groupId>
+                    <artifactId>example-app</artifactId>
+                    <packaging>jar</packaging>
+                    <version>1.0.0-SNAPSHOT</version>
+                </project>
+                """;
+
+        BuildFile sut = TestProjectContext.buildProjectContext(mock(ApplicationEventPublisher.class))
+                .withMavenRootBuildFileSource(pomXml)
+                .build()
+                .getBuildFile();
+
+        Dependency apiguardian = Dependency.fromCoordinates("org.apiguardian:apiguardian-api:1.1.0");
+
+        sut.batch(b -> {
+            b.addDependency(apiguardian);
+            b.addDependencies(List.of(apiguardian));
+            b.addDependency(apiguardian);
+        });
+
+        assertThat(sut.getDeclaredDependencies()).containsExactly(apiguardian);
+        assertThat(sut.print()).containsOnlyOnce("<artifactId>apiguardian-api</artifactId>");
+    }
+
+    @Test
+    void failedBatchRestoresBuildFile() {
+        String pomXml =
+                """
+                <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                         xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 http://maven.apache.org/maven-v4_0_0.xsd">
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>org.springframework.sbm.examples</groupId>
+                    <artifactId>example-app</artifactId>
+                    <packaging>jar</packaging>
+                    <version>1.0.0-SNAPSHOT</version>
+                </project>
+                """;
+
+        ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+        BuildFile sut = TestProjectContext.buildProjectContext(eventPublisher)
+                .withMavenRootBuildFileSource(pomXml)
+                .build()
+                .getBuildFile();
+        String before = sut.print();
+        boolean changedBefore = ((OpenRewriteMavenBuildFile) sut).hasChanges();
+
+        assertThatThrownBy(() -> sut.batch(b -> {
+            b.addDependency(Dependency.fromCoordinates("org.apiguardian:apiguardian-api:1.1.0"));
+            b.setProperty("some.property", "value");
+            throw new IllegalStateException("failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(sut.print()).isEqualTo(before);
+        assertThat(sut.getDeclaredDependencies()).isEmpty();
+        assertThat(((OpenRewriteMavenBuildFile) sut).hasChanges()).isEqualTo(changedBefore);
+        verify(eventPublisher, never()).publishEvent(any(DependenciesChangedEvent.class));
+    }
+
+    @Test
+    void addToDependencyManagementOfParentUpdatesResolvedDependenciesOfChild() {
+        String parentPom = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.example</groupId>
+                    <artifactId>parent</artifactId>
+                    <version>1.0</version>
+                    <packaging>pom</packaging>
+                    <modules>
+                        <module>module1</module>
+                    </modules>
+                    <dependencyManagement>
+                        <dependencies>
+                            <dependency>
+                                <groupId>org.apiguardian</groupId>
+                                <artifactId>apiguardian-api</artifactId>
+                                <version>1.1.0</version>
+                            </dependency>
+                        </dependencies>
+                    </dependencyManagement>
+                </project>
+                """;
+        String module1Pom = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <modelVersion>4.0.0</modelVersion>
+                    <parent>
+                        <groupId>com.example</groupId>
+                        <artifactId>parent</artifactId>
+                        <version>1.0</version>
+                    </parent>
+                    <artifactId>module1</artifactId>
+                    <dependencies>
+                        <dependency>
+                            <groupId>org.apiguardian</groupId>
+                            <artifactId>apiguardian-api</artifactId>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """;
+
+        ProjectContext projectContext = TestProjectContext.buildProjectContext()
+                .withMavenBuildFileSource("pom.xml", parentPom)
+                .withMavenBuildFileSource("module1/pom.xml", module1Pom)
+                .build();
+        BuildFile parent = projectContext.getApplicationModules().getRootModule().getBuildFile();
+        BuildFile module1 = projectContext.getApplicationModules().getModule("module1").getBuildFile();
+        assertThat(module1.getEffectiveDependencies(Scope.Compile)).extracting(Dependency::getVersion).containsExactly("1.1.0");
+
+        parent.addToDependencyManagement(Dependency.fromCoordinates("org.apiguardian:apiguardian-api:1.1.2"));
+
+        assertThat(module1.getEffectiveDependencies(Scope.Compile)).extracting(Dependency::getVersion).containsExactly("1.1.2");
+    }
+
     private void assertEventPublished(ApplicationEventPublisher eventPublisher, ArgumentCaptor<DependenciesChangedEvent> argumentCaptor, Class<?> eventClass, int times) {
         verify(eventPublisher, Mockito.atLeastOnce()).publishEvent(argumentCaptor.capture());
         List<?> allEvents = argumentCaptor.getAllValues();
@@ -22,6 +22,7 @@ import org.junit.jupiter.api.Test;
 import org.openrewrite.java.tree.J;
 
 import java.nio.file.Path;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -75,6 +76,32 @@ class RewriteSourceFileHolderTest {
         assertThat(sut.getSourceFile()).isSameAs(newSourceFile);
     }
 
+    @Test
+    void replaceWithShouldNotMarkAsChanged_whenSameSourceFile() {
+        sut.replaceWith(sut.getSourceFile());
+
+        assertThat(sut.hasChanges()).isFalse();
+    }
+
+    @Test
+    void replaceWithShouldMarkAsChanged_whenContentDiffersFromPreviousReplacement() {
+        J.CompilationUnit sameContent = sut.getSourceFile().withId(UUID.randomUUID());
+        sut.replaceWith(sameContent);
+        assertThat(sut.hasChanges()).isFalse();
+
+        J.CompilationUnit newSourceFile = TestProjectContext.buildProjectContext()
+                .withJavaSource("src/main/java", "package com.foo.bar; class Bar{}")
+                .build()
+                .getProjectJavaSources()
+                .list()
+                .get(0)
+                .getResource()
+                .getSourceFile();
+        sut.replaceWith(newSourceFile);
+
+        assertThat(sut.hasChanges()).isTrue();
+    }
+
     @Test
     void testSourcePath() {
         Path sourcePath = sut.getSourcePath();
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.parser;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.marker.JavaProject;
+import org.openrewrite.java.marker.JavaSourceSet;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.marker.Markers;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.git.GitChanges;
+import org.springframework.sbm.project.resource.ProjectResourceSet;
+import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
+import org.springframework.sbm.project.resource.TestProjectContext;
+import org.springframework.sbm.test.TestProjectContextInfo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IncrementalProjectContextUpdaterTest {
+
+    @TempDir
+    Path projectRoot;
+
+    private ProjectContext context;
+    private IncrementalProjectContextUpdater sut;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        TestProjectContextInfo contextInfo = TestProjectContext.buildProjectContext()
+                .withProjectRoot(projectRoot)
+                .withJavaSource("src/main/java", "package com.foo; public class A {}")
+                .withJavaSource("src/main/java", "package com.foo; public class B { A a; }")
+                .withProjectResource("src/main/resources/application.properties", "foo=bar")
+                .buildProjectContextInfo();
+        context = contextInfo.projectContext();
+        for (RewriteSourceFileHolder<? extends SourceFile> resource : context.getProjectResources().list()) {
+            Files.createDirectories(resource.getAbsolutePath().getParent());
+            Files.writeString(resource.getAbsolutePath(), resource.print());
+        }
+        sut = contextInfo.beanFactory().getBean(IncrementalProjectContextUpdater.class);
+    }
+
+    @Test
+    void modifiedJavaFileShouldBeParsedWithTypesOfUnchangedFiles() throws IOException {
+        Path b = javaFile("B");
+        Markers markersBefore = context.getProjectResources().findByAbsolutePath(b).get().getSourceFile().getMarkers();
+        Files.writeString(b, "package com.foo; public class B { A a; String s; }");
+
+        boolean updated = sut.update(context, new GitChanges(Set.of(), Set.of(b), Set.of()));
+
+        assertThat(updated).isTrue();
+        RewriteSourceFileHolder<? extends SourceFile> resource = context.getProjectResources().findByAbsolutePath(b).get();
+        assertThat(resource.print()).isEqualTo("package com.foo; public class B { A a; String s; }");
+        assertThat(typeOfFirstField(resource)).isEqualTo("com.foo.A");
+        assertThat(resource.getSourceFile().getMarkers()).isEqualTo(markersBefore);
+    }
+
+    @Test
+    void addedJavaFileShouldGetMarkersOfItsModuleAndSourceSet() throws IOException {
+        Path c = javaFile("C");
+        Files.writeString(c, "package com.foo; public class C { A a; }");
+
+        boolean updated = sut.update(context, new GitChanges(Set.of(c), Set.of(), Set.of()));
+
+        assertThat(updated).isTrue();
+        RewriteSourceFileHolder<? extends SourceFile> resource = context.getProjectResources().findByAbsolutePath(c).get();
+        assertThat(typeOfFirstField(resource)).isEqualTo("com.foo.A");
+        Markers markers = resource.getSourceFile().getMarkers();
+        Markers pomMarkers = context.getProjectResources().findByAbsolutePath(projectRoot.resolve("pom.xml")).get().getSourceFile().getMarkers();
+        assertThat(markers.findFirst(JavaProject.class)).isEqualTo(pomMarkers.findFirst(JavaProject.class));
+        assertThat(markers.findFirst(JavaSourceSet.class)).map(JavaSourceSet::getName).contains("main");
+    }
+
+    @Test
+    void deletedFileShouldBeRemoved() throws IOException {
+        Path properties = projectRoot.resolve("src/main/resources/application.properties");
+        Files.delete(properties);
+
+        boolean updated = sut.update(context, new GitChanges(Set.of(), Set.of(), Set.of(properties)));
+
+        assertThat(updated).isTrue();
+        ProjectResourceSet projectResources = context.getProjectResources();
+        assertThat(projectResources.findByAbsolutePath(properties)).isEmpty();
+        assertThat(projectResources.indexOf(properties)).isEqualTo(-1);
+    }
+
+    @Test
+    void changedBuildFileShouldRequireFullScan() {
+        Path pom = projectRoot.resolve("pom.xml");
+
+        boolean updated = sut.update(context, new GitChanges(Set.of(), Set.of(pom), Set.of()));
+
+        assertThat(updated).isFalse();
+    }
+
+    private Path javaFile(String className) {
+        return projectRoot.resolve("src/main/java/com/foo/" + className + ".java");
+    }
+
+    private static String typeOfFirstField(RewriteSourceFileHolder<? extends SourceFile> resource) {
+        J.CompilationUnit compilationUnit = (J.CompilationUnit) resource.getSourceFile();
+        J.VariableDeclarations field = (J.VariableDeclarations) compilationUnit.getClasses().get(0).getBody().getStatements().get(0);
+        return field.getTypeAsFullyQualified().getFullyQualifiedName();
+    }
+}
@@ -34,7 +34,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.sbm.build.impl.MavenSettingsInitializer;
-import org.springframework.sbm.build.impl.RewriteMavenArtifactDownloader;
+import org.springframework.sbm.build.impl.RewriteMavenArtifactDownloaderConfiguration;
 import org.springframework.sbm.build.impl.RewriteMavenParser;
 import org.springframework.sbm.build.migration.MavenPomCacheProvider;
 import org.springframework.sbm.engine.commands.ScanCommand;
@@ -67,7 +67,8 @@ import static org.springframework.sbm.project.parser.ResourceVerifierTestHelper.
 
 @SpringBootTest(classes = {
         ProjectContextInitializer.class,
-        RewriteMavenArtifactDownloader.class,
+        ProjectSnapshotStore.class,
+        RewriteMavenArtifactDownloaderConfiguration.class,
         JavaProvenanceMarkerFactory.class,
         BasePackageCalculator.class,
         BasePackageCalculator.class,
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.maven.MavenParser;
+import org.openrewrite.maven.tree.MavenResolutionResult;
+import org.openrewrite.text.PlainTextParser;
+import org.openrewrite.xml.XmlParser;
+import org.openrewrite.xml.tree.Xml;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectSnapshotStoreTest {
+
+    @Test
+    void storedSnapshotShouldBeLoadedForSameProjectAndRevision(@TempDir Path tempDir) {
+        ProjectSnapshotStore sut = createSut(tempDir);
+        Path projectRoot = tempDir.resolve("project");
+        List<SourceFile> sourceFiles = new ArrayList<>();
+        sourceFiles.addAll(new PlainTextParser().parse("some text"));
+        sourceFiles.addAll(new XmlParser().parse("<root><child attr=\"value\"/></root>"));
+
+        sut.store(projectRoot, "abc123", sourceFiles);
+        Optional<List<SourceFile>> loaded = sut.load(projectRoot, "abc123");
+
+        assertThat(loaded).isPresent();
+        assertThat(loaded.get()).extracting(SourceFile::printAll).containsExactly("some text", "<root><child attr=\"value\"/></root>");
+        assertThat(loaded.get()).extracting(SourceFile::getId).containsExactly(sourceFiles.get(0).getId(), sourceFiles.get(1).getId());
+    }
+
+    @Test
+    void snapshotOfOtherRevisionShouldNotBeLoaded(@TempDir Path tempDir) {
+        ProjectSnapshotStore sut = createSut(tempDir);
+        Path projectRoot = tempDir.resolve("project");
+        sut.store(projectRoot, "abc123", new ArrayList<>(new PlainTextParser().parse("some text")));
+
+        assertThat(sut.load(projectRoot, "def456")).isEmpty();
+        assertThat(sut.load(tempDir.resolve("other-project"), "abc123")).isEmpty();
+    }
+
+    @Test
+    void snapshotWithUnknownFormatShouldBeIgnored(@TempDir Path tempDir) throws Exception {
+        ProjectSnapshotStore sut = createSut(tempDir);
+        Path projectRoot = tempDir.resolve("project");
+        Path snapshotFile = sut.getSnapshotFile(projectRoot, "abc123");
+        Files.createDirectories(snapshotFile.getParent());
+        Files.write(snapshotFile, new byte[]{0, 0, 0, 1, 0, 0, 0, 1});
+
+        assertThat(sut.load(projectRoot, "abc123")).isEmpty();
+    }
+
+    @Test
+    void snapshotOfOtherOpenRewriteOrSbmVersionShouldNotBeLoaded(@TempDir Path tempDir) {
+        Path projectRoot = tempDir.resolve("project");
+        createSut(tempDir).store(projectRoot, "abc123", new ArrayList<>(new PlainTextParser().parse("some text")));
+
+        assertThat(createSut(tempDir, "7.35.0", "0.13.0").load(projectRoot, "abc123")).isPresent();
+        assertThat(createSut(tempDir, "7.36.0", "0.13.0").load(projectRoot, "abc123")).isEmpty();
+        assertThat(createSut(tempDir, "7.35.0", "0.14.0").load(projectRoot, "abc123")).isEmpty();
+    }
+
+    @Test
+    void snapshotOfOtherScanSettingsShouldNotBeLoaded(@TempDir Path tempDir) {
+        Path projectRoot = tempDir.resolve("project");
+        createSut(tempDir).store(projectRoot, "abc123", new ArrayList<>(new PlainTextParser().parse("some text")));
+        SbmApplicationProperties otherScanSettings = createProperties(tempDir);
+        otherScanSettings.setIgnoredPathsPatterns(List.of("**/generated/**"));
+
+        assertThat(new ProjectSnapshotStore(otherScanSettings, "7.35.0", "0.13.0").load(projectRoot, "abc123")).isEmpty();
+        assertThat(createSut(tempDir).load(projectRoot, "abc123")).isPresent();
+    }
+
+    @Test
+    void noSnapshotShouldBeStoredWhenVersionIsUnknown(@TempDir Path tempDir) {
+        ProjectSnapshotStore sut = createSut(tempDir, "7.35.0", null);
+        Path projectRoot = tempDir.resolve("project");
+
+        sut.store(projectRoot, "abc123", new ArrayList<>(new PlainTextParser().parse("some text")));
+
+        assertThat(sut.getSnapshotFile(projectRoot, "abc123")).doesNotExist();
+    }
+
+    @Test
+    void leastRecentlyUsedSnapshotsShouldBeEvicted(@TempDir Path tempDir) throws Exception {
+        SbmApplicationProperties sbmApplicationProperties = createProperties(tempDir);
+        sbmApplicationProperties.setProjectSnapshotsPerProject(2);
+        ProjectSnapshotStore sut = new ProjectSnapshotStore(sbmApplicationProperties, "7.35.0", "0.13.0");
+        Path projectRoot = tempDir.resolve("project");
+        List<SourceFile> sourceFiles = new ArrayList<>(new PlainTextParser().parse("some text"));
+
+        sut.store(projectRoot, "rev1", sourceFiles);
+        Files.setLastModifiedTime(sut.getSnapshotFile(projectRoot, "rev1"), FileTime.fromMillis(1_000));
+        sut.store(projectRoot, "rev2", sourceFiles);
+        Files.setLastModifiedTime(sut.getSnapshotFile(projectRoot, "rev2"), FileTime.fromMillis(2_000));
+        sut.load(projectRoot, "rev1");
+        sut.store(projectRoot, "rev3", sourceFiles);
+
+        assertThat(sut.getSnapshotFile(projectRoot, "rev1")).exists();
+        assertThat(sut.getSnapshotFile(projectRoot, "rev2")).doesNotExist();
+        assertThat(sut.getSnapshotFile(projectRoot, "rev3")).exists();
+    }
+
+    @Test
+    void javaSourceWithTypeAttributionShouldSurviveRoundTrip(@TempDir Path tempDir) {
+        ProjectSnapshotStore sut = createSut(tempDir);
+        Path projectRoot = tempDir.resolve("project");
+        String source = "package com.foo; import java.util.List; class A { List<String> strings; }";
+        List<SourceFile> sourceFiles = new ArrayList<>(JavaParser.fromJavaVersion().build().parse(source));
+
+        sut.store(projectRoot, "abc123", sourceFiles);
+        List<SourceFile> loaded = sut.load(projectRoot, "abc123").get();
+
+        J.CompilationUnit compilationUnit = (J.CompilationUnit) loaded.get(0);
+        assertThat(compilationUnit.printAll()).isEqualTo(source);
+        J.VariableDeclarations field = (J.VariableDeclarations) compilationUnit.getClasses().get(0).getBody().getStatements().get(0);
+        assertThat(field.getTypeAsFullyQualified().getFullyQualifiedName()).isEqualTo("java.util.List");
+        assertThat(compilationUnit.getClasses().get(0).getType().getFullyQualifiedName()).isEqualTo("com.foo.A");
+    }
+
+    @Test
+    void pomWithMavenResolutionResultShouldSurviveRoundTrip(@TempDir Path tempDir) {
+        ProjectSnapshotStore sut = createSut(tempDir);
+        Path projectRoot = tempDir.resolve("project");
+        String pom = """
+                <project>
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.example</groupId>
+                    <artifactId>example</artifactId>
+                    <version>1.0</version>
+                    <properties>
+                        <java.version>17</java.version>
+                    </properties>
+                </project>
+                """;
+        List<SourceFile> sourceFiles = new ArrayList<>(MavenParser.builder().build().parse(pom));
+
+        sut.store(projectRoot, "abc123", sourceFiles);
+        List<SourceFile> loaded = sut.load(projectRoot, "abc123").get();
+
+        Xml.Document document = (Xml.Document) loaded.get(0);
+        assertThat(document.printAll()).isEqualTo(pom);
+        MavenResolutionResult mavenResolution = document.getMarkers().findFirst(MavenResolutionResult.class).get();
+        assertThat(mavenResolution.getPom().getArtifactId()).isEqualTo("example");
+        assertThat(mavenResolution.getPom().getProperties()).containsEntry("java.version", "17");
+    }
+
+    private ProjectSnapshotStore createSut(Path snapshotsDir) {
+        return createSut(snapshotsDir, "7.35.0", "0.13.0");
+    }
+
+    private ProjectSnapshotStore createSut(Path snapshotsDir, String rewriteVersion, String sbmVersion) {
+        return new ProjectSnapshotStore(createProperties(snapshotsDir), rewriteVersion, sbmVersion);
+    }
+
+    private SbmApplicationProperties createProperties(Path snapshotsDir) {
+        SbmApplicationProperties sbmApplicationProperties = new SbmApplicationProperties();
+        sbmApplicationProperties.setProjectSnapshotsDirectory(snapshotsDir.resolve("snapshots").toString());
+        return sbmApplicationProperties;
+    }
+}
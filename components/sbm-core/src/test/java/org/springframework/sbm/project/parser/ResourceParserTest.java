@@ -32,6 +32,7 @@ import org.springframework.core.io.Resource;
 import org.springframework.sbm.engine.events.StartedScanningProjectResourceEvent;
 import org.springframework.sbm.openrewrite.RewriteExecutionContext;
 import org.springframework.sbm.project.TestDummyResource;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
 import org.springframework.sbm.properties.parser.RewritePropertiesParser;
 import org.springframework.sbm.xml.parser.RewriteXmlParser;
 
@@ -58,6 +59,7 @@ class ResourceParserTest {
     private Path resourceDirPath = Path.of("src/main/resources");
     private Set<Path> resourcePaths = Set.of(resourceDirPath);
     private ExecutionContext executionContext = new RewriteExecutionContext();
+    private SbmApplicationProperties sbmApplicationProperties = new SbmApplicationProperties();
 
     @BeforeEach
     void beforeEach() {
@@ -69,7 +71,8 @@ class ResourceParserTest {
                 new RewritePlainTextParser(),
                 new ResourceParser.ResourceFilter(),
                 eventPublisher,
-                executionContext
+                executionContext,
+                sbmApplicationProperties
                 );
     }
 
@@ -89,6 +92,34 @@ class ResourceParserTest {
         assertCorrectParsing(filename, content, Class.forName(className), parsedResources);
     }
 
+    @Test
+    void parsesResourcesOfAllParsersConcurrently() {
+        sbmApplicationProperties.setResourceParserParallelism(4);
+        List<Resource> resources = new ArrayList<>();
+        resources.addAll(getResourceAsList("some.json", "{}"));
+        resources.addAll(getResourceAsList("some.xml", "<xml/>"));
+        resources.addAll(getResourceAsList("other.json", "[]"));
+        resources.addAll(getResourceAsList("some.txt", "text"));
+
+        List<SourceFile> parsedResources = sut.parse(baseDir, resources, new ArrayList<>());
+
+        assertThat(parsedResources).extracting(sf -> sf.getSourcePath().getFileName().toString())
+                .containsExactly("some.json", "other.json", "some.xml", "some.txt");
+    }
+
+    @Test
+    void skipsResourcesExceedingSizeThreshold() {
+        sbmApplicationProperties.setResourceSizeThresholdMb(1);
+        List<Resource> resources = new ArrayList<>();
+        resources.addAll(getResourceAsList("small.txt", "text"));
+        resources.addAll(getResourceAsList("large.txt", "x".repeat(1024 * 1024 + 1)));
+
+        List<SourceFile> parsedResources = sut.parse(baseDir, resources, new ArrayList<>());
+
+        assertThat(parsedResources).extracting(sf -> sf.getSourcePath().getFileName().toString())
+                .containsExactly("small.txt");
+    }
+
     // TODO: If this test fails RewritePlainTextParser.parseInputs() can be removed because PlainTextParser then publishes parser events
     @Test
     void originalPlainTextParserSholdPublishParserEvents() throws InterruptedException {
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.resource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.sbm.openrewrite.RewriteExecutionContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectResourceSetSerializerTest {
+
+    private final ProjectResourceSetSerializer sut = new ProjectResourceSetSerializer(new ProjectResourceSerializer());
+
+    @TempDir
+    Path projectRoot;
+
+    @Test
+    void writesChangedAndDeletesDeletedResources() throws IOException {
+        Path deletedFile = projectRoot.resolve("deleted.txt");
+        Files.writeString(deletedFile, "deleted");
+        StringProjectResource written = new StringProjectResource(projectRoot, projectRoot.resolve("dir/written.txt"), "written", new RewriteExecutionContext());
+        StringProjectResource deleted = new StringProjectResource(projectRoot, deletedFile, "deleted", new RewriteExecutionContext());
+        deleted.delete();
+        ProjectResourceSet projectResourceSet = new ProjectResourceSet(List.of(written, deleted));
+
+        ProjectResourceSetSerializer.WrittenChanges writtenChanges = sut.writeChanges(projectResourceSet);
+
+        assertThat(projectRoot.resolve("dir/written.txt")).hasContent("written");
+        assertThat(deletedFile).doesNotExist();
+        assertThat(written.hasChanges()).isFalse();
+        assertThat(writtenChanges).isEqualTo(new ProjectResourceSetSerializer.WrittenChanges(1, 7, 1));
+        try (var files = Files.list(projectRoot.resolve("dir"))) {
+            assertThat(files).containsExactly(projectRoot.resolve("dir/written.txt"));
+        }
+    }
+
+    @Test
+    void resourceAddedAtPathOfDeletedResourceShouldBeKept() throws IOException {
+        Path file = projectRoot.resolve("replaced.txt");
+        Files.writeString(file, "old");
+        StringProjectResource deleted = new StringProjectResource(projectRoot, file, "old", new RewriteExecutionContext());
+        deleted.delete();
+        StringProjectResource added = new StringProjectResource(projectRoot, file, "new", new RewriteExecutionContext());
+        ProjectResourceSet projectResourceSet = new ProjectResourceSet(List.of(added, deleted));
+
+        ProjectResourceSetSerializer.WrittenChanges writtenChanges = sut.writeChanges(projectResourceSet);
+
+        assertThat(file).hasContent("new");
+        assertThat(writtenChanges).isEqualTo(new ProjectResourceSetSerializer.WrittenChanges(1, 3, 1));
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.resource;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.SourceFile;
+import org.openrewrite.text.PlainText;
+import org.openrewrite.text.PlainTextParser;
+import org.openrewrite.xml.XmlParser;
+import org.openrewrite.xml.tree.Xml;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectResourceSetTest {
+
+    private static final Path PROJECT_DIR = TestProjectContext.getDefaultProjectRoot();
+
+    @Test
+    void findByAbsolutePath() {
+        RewriteSourceFileHolder<PlainText> a = plainText("a.txt");
+        RewriteSourceFileHolder<PlainText> b = plainText("b.txt");
+        ProjectResourceSet sut = new ProjectResourceSet(List.of(a, b));
+
+        assertThat(sut.findByAbsolutePath(PROJECT_DIR.resolve("b.txt"))).containsSame(b);
+        assertThat(sut.findByAbsolutePath(PROJECT_DIR.resolve("./a.txt"))).containsSame(a);
+        assertThat(sut.findByAbsolutePath(PROJECT_DIR.resolve("c.txt"))).isEmpty();
+        assertThat(sut.indexOf(PROJECT_DIR.resolve("b.txt"))).isEqualTo(1);
+        assertThat(sut.indexOf(PROJECT_DIR.resolve("c.txt"))).isEqualTo(-1);
+    }
+
+    @Test
+    void findByAbsolutePath_shouldIgnoreDeletedResources() {
+        RewriteSourceFileHolder<PlainText> a = plainText("a.txt");
+        ProjectResourceSet sut = new ProjectResourceSet(List.of(a));
+        a.delete();
+
+        assertThat(sut.findByAbsolutePath(PROJECT_DIR.resolve("a.txt"))).isEmpty();
+        assertThat(sut.indexOf(PROJECT_DIR.resolve("a.txt"))).isEqualTo(0);
+
+        RewriteSourceFileHolder<PlainText> newA = plainText("a.txt");
+        sut.add(newA);
+        assertThat(sut.findByAbsolutePath(PROJECT_DIR.resolve("a.txt"))).containsSame(newA);
+
+        sut.clearDeletedResources();
+        assertThat(sut.size()).isEqualTo(1);
+        assertThat(sut.indexOf(PROJECT_DIR.resolve("a.txt"))).isEqualTo(0);
+    }
+
+    @Test
+    void findByAbsolutePath_shouldFindMovedResources() {
+        RewriteSourceFileHolder<PlainText> a = plainText("a.txt");
+        ProjectResourceSet sut = new ProjectResourceSet(List.of(a));
+
+        a.moveTo(Path.of("moved/a.txt"));
+
+        assertThat(sut.findByAbsolutePath(PROJECT_DIR.resolve("a.txt"))).isEmpty();
+        assertThat(sut.findByAbsolutePath(PROJECT_DIR.resolve("moved/a.txt"))).containsSame(a);
+    }
+
+    @Test
+    void findByAbsolutePath_shouldFindResourcesWithPathChangedByReplacement() {
+        RewriteSourceFileHolder<PlainText> a = plainText("a.txt");
+        ProjectResourceSet sut = new ProjectResourceSet(List.of(a));
+
+        a.replaceWith(a.getSourceFile().withSourcePath(Path.of("b.txt")));
+
+        assertThat(sut.findByAbsolutePath(PROJECT_DIR.resolve("a.txt"))).isEmpty();
+        assertThat(sut.findByAbsolutePath(PROJECT_DIR.resolve("b.txt"))).containsSame(a);
+        assertThat(sut.streamByType(PlainText.class)).containsExactly(a);
+    }
+
+    @Test
+    void lookupsShouldRecordLookedUpPathsAndQueriedTypes() {
+        RewriteSourceFileHolder<PlainText> a = plainText("a.txt");
+        RewriteSourceFileHolder<Xml.Document> b = xml("b.xml");
+        ProjectResourceSet sut = new ProjectResourceSet(List.of(a, b));
+        a.delete();
+
+        try (ResourceReadRecorder.Recording recording = ResourceReadRecorder.start()) {
+            sut.findByAbsolutePath(PROJECT_DIR.resolve("a.txt"));
+            sut.findByAbsolutePath(PROJECT_DIR.resolve("c.txt"));
+            sut.streamByType(Xml.Document.class).forEach(RewriteSourceFileHolder::getSourceFile);
+            sut.clearDeletedResources();
+
+            assertThat(recording.getReadPaths()).containsExactlyInAnyOrder(PROJECT_DIR.resolve("a.txt"), PROJECT_DIR.resolve("c.txt"));
+            assertThat(recording.getReadTypes()).containsExactly(Xml.Document.class);
+
+            sut.list();
+
+            assertThat(recording.getReadTypes()).containsExactlyInAnyOrder(Xml.Document.class, SourceFile.class);
+        }
+        assertThat(sut.findByAbsolutePath(PROJECT_DIR.resolve("b.xml"))).containsSame(b);
+    }
+
+    @Test
+    void replace_shouldUpdateIndex() {
+        RewriteSourceFileHolder<PlainText> a = plainText("a.txt");
+        RewriteSourceFileHolder<PlainText> b = plainText("b.txt");
+        ProjectResourceSet sut = new ProjectResourceSet(List.of(a, b));
+
+        RewriteSourceFileHolder<Xml.Document> xml = xml("a.txt");
+        sut.replace(PROJECT_DIR.resolve("a.txt"), xml);
+
+        assertThat(sut.findByAbsolutePath(PROJECT_DIR.resolve("a.txt"))).containsSame(xml);
+        assertThat(sut.streamByType(PlainText.class)).containsExactly(b);
+        assertThat(sut.streamByType(Xml.Document.class)).containsExactly(xml);
+        assertThat(sut.list()).containsExactly(xml, b);
+    }
+
+    @Test
+    void streamByType() {
+        RewriteSourceFileHolder<PlainText> a = plainText("a.txt");
+        RewriteSourceFileHolder<Xml.Document> b = xml("b.xml");
+        RewriteSourceFileHolder<PlainText> c = plainText("c.txt");
+        ProjectResourceSet sut = new ProjectResourceSet(List.of(a, b, c));
+        c.delete();
+
+        assertThat(sut.streamByType(PlainText.class)).containsExactly(a);
+        assertThat(sut.streamByType(Xml.Document.class)).containsExactly(b);
+        assertThat(sut.streamByType(SourceFile.class).<ProjectResource>map(r -> r)).containsExactly(a, b);
+    }
+
+    @Test
+    void positionsShouldFollowMutations() {
+        RewriteSourceFileHolder<PlainText> a = plainText("a.txt");
+        RewriteSourceFileHolder<PlainText> b = plainText("b.txt");
+        RewriteSourceFileHolder<PlainText> c = plainText("c.txt");
+        ProjectResourceSet sut = new ProjectResourceSet(List.of(a, b, c));
+
+        assertThat(sut.get(1)).isSameAs(b);
+        b.delete();
+        assertThat(sut.get(1)).isSameAs(c);
+        assertThat(sut.indexOf(PROJECT_DIR.resolve("c.txt"))).isEqualTo(2);
+
+        sut.remove(PROJECT_DIR.resolve("a.txt"));
+        assertThat(sut.indexOf(PROJECT_DIR.resolve("b.txt"))).isEqualTo(0);
+        assertThat(sut.indexOf(PROJECT_DIR.resolve("c.txt"))).isEqualTo(1);
+        assertThat(sut.get(0)).isSameAs(c);
+
+        sut.clearDeletedResources();
+        assertThat(sut.indexOf(PROJECT_DIR.resolve("c.txt"))).isEqualTo(0);
+        assertThat(sut.indexOf(PROJECT_DIR.resolve("b.txt"))).isEqualTo(-1);
+    }
+
+    private RewriteSourceFileHolder<PlainText> plainText(String sourcePath) {
+        PlainText plainText = new PlainTextParser().parse("content").get(0).withSourcePath(Path.of(sourcePath));
+        return new RewriteSourceFileHolder<>(PROJECT_DIR, plainText);
+    }
+
+    private RewriteSourceFileHolder<Xml.Document> xml(String sourcePath) {
+        Xml.Document document = new XmlParser().parse("<root/>").get(0).withSourcePath(Path.of(sourcePath));
+        return new RewriteSourceFileHolder<>(PROJECT_DIR, document);
+    }
+}
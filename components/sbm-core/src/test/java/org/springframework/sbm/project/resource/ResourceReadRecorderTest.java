@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.resource;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.tree.J;
+import org.springframework.sbm.engine.context.ProjectContext;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResourceReadRecorderTest {
+
+    private final ProjectContext context = TestProjectContext.buildProjectContext()
+            .withJavaSource("src/main/java", "package com.foo; class Foo {}")
+            .withJavaSource("src/main/java", "package com.foo; class Bar {}")
+            .build();
+
+    private final ProjectResourceSet projectResources = context.getProjectResources();
+    private final RewriteSourceFileHolder<J.CompilationUnit> foo = context.getProjectJavaSources().list().get(0).getResource();
+    private final RewriteSourceFileHolder<J.CompilationUnit> bar = context.getProjectJavaSources().list().get(1).getResource();
+
+    @Test
+    void recordsLookupsButNoContentAccess() {
+        try (ResourceReadRecorder.Recording recording = ResourceReadRecorder.start()) {
+            projectResources.findByAbsolutePath(foo.getAbsolutePath());
+            bar.getSourceFile();
+            bar.print();
+
+            assertThat(recording.getReadPaths()).containsExactly(foo.getAbsolutePath());
+            assertThat(recording.getReadTypes()).isEmpty();
+        }
+    }
+
+    @Test
+    void recordsFactQueriesAsReadsOfTheirTypes() {
+        try (ResourceReadRecorder.Recording recording = ResourceReadRecorder.start()) {
+            context.getFactIndex().hasImportStartingWith("org.junit");
+
+            assertThat(recording.getReadTypes()).containsExactly(J.CompilationUnit.class);
+        }
+    }
+
+    @Test
+    void recordsReadsInAllActiveRecordings() {
+        try (ResourceReadRecorder.Recording outer = ResourceReadRecorder.start()) {
+            projectResources.findByAbsolutePath(foo.getAbsolutePath());
+            try (ResourceReadRecorder.Recording inner = ResourceReadRecorder.start()) {
+                projectResources.streamByType(J.CompilationUnit.class).toList();
+
+                assertThat(inner.getReadPaths()).isEmpty();
+                assertThat(inner.getReadTypes()).containsExactly(J.CompilationUnit.class);
+            }
+            projectResources.list();
+            assertThat(outer.getReadPaths()).containsExactly(foo.getAbsolutePath());
+            assertThat(outer.getReadTypes()).containsExactlyInAnyOrder(J.CompilationUnit.class, SourceFile.class);
+        }
+    }
+
+    @Test
+    void recordsReadsOfCurrentThreadOnly() {
+        try (ResourceReadRecorder.Recording recording = ResourceReadRecorder.start()) {
+            CompletableFuture.runAsync(() -> projectResources.findByAbsolutePath(foo.getAbsolutePath())).join();
+
+            assertThat(recording.getReadPaths()).isEmpty();
+        }
+    }
+
+    @Test
+    void recordsNothingAfterClose() {
+        ResourceReadRecorder.Recording recording = ResourceReadRecorder.start();
+        recording.close();
+
+        projectResources.findByAbsolutePath(foo.getAbsolutePath());
+
+        assertThat(recording.getReadPaths()).isEmpty();
+    }
+}
@@ -21,6 +21,7 @@ import org.jetbrains.annotations.NotNull;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.maven.cache.InMemoryMavenPomCache;
 import org.openrewrite.maven.cache.MavenPomCache;
+import org.openrewrite.xml.tree.Xml;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.context.ApplicationEventPublisher;
@@ -45,6 +46,7 @@ import java.util.*;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.when;
 
 /**
@@ -547,6 +549,8 @@ public class TestProjectContext {
                 // TODO: add javadoc.
                 Path pomPath = Path.of("pom.xml");
                 when(mockedBuildFile.getSourcePath()).thenReturn(pomPath);
+                when(mockedBuildFile.getAbsolutePath()).thenReturn(projectRoot.resolve(pomPath).normalize());
+                doReturn(Xml.Document.class).when(mockedBuildFile).getSourceFileType();
                 projectContext.getProjectResources().replace(projectRoot.resolve(pomPath).normalize(), mockedBuildFile);
             }
 
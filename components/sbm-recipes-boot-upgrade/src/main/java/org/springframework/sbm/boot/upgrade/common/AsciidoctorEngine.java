@@ -0,0 +1,130 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.boot.upgrade.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.asciidoctor.Asciidoctor;
+import org.asciidoctor.Options;
+import org.asciidoctor.SafeMode;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.File;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Converts Asciidoc to HTML with one {@link Asciidoctor} instance for the lifetime of the application context.
+ * <p>
+ * Creating an {@link Asciidoctor} starts a JRuby runtime which takes seconds, it is therefore started once on first
+ * use, or right after the application started when {@code sbm.asciidoctorPrewarmEnabled} is set.
+ * Conversions are serialized as Asciidoctor backends are not guaranteed to be thread-safe.
+ * The number of conversions and the time spent converting are counted to allow monitoring the render latency.
+ */
+@Slf4j
+@Component
+public class AsciidoctorEngine {
+
+    private static final String DEFAULT_BACKEND = "spring-html";
+
+    private final SbmApplicationProperties sbmApplicationProperties;
+    private final AtomicLong conversions = new AtomicLong();
+    private final AtomicLong conversionNanos = new AtomicLong();
+    private Asciidoctor asciidoctor;
+
+    public AsciidoctorEngine(SbmApplicationProperties sbmApplicationProperties) {
+        this.sbmApplicationProperties = sbmApplicationProperties;
+    }
+
+    public String renderHtml(String asciidoc) {
+        return renderHtml(asciidoc, DEFAULT_BACKEND);
+    }
+
+    public String renderHtml(String asciidoc, String backend) {
+        return convert(a -> a.convert(asciidoc, Options.builder()
+                .toFile(true)
+                .backend(backend)
+                .headerFooter(true)
+                .safe(SafeMode.UNSAFE)
+                .build()));
+    }
+
+    public void writeHtml(String asciidoc, Path outputDir, String filename) {
+        convert(a -> a.convert(asciidoc, Options.builder()
+                .mkDirs(true)
+                .toDir(outputDir.toFile())
+                .toFile(new File(filename))
+                .backend(DEFAULT_BACKEND)
+                .headerFooter(true)
+                .safe(SafeMode.UNSAFE)
+                .build()));
+    }
+
+    public long getConversionCount() {
+        return conversions.get();
+    }
+
+    /**
+     * Time spent in conversions, including waiting for the engine to start.
+     */
+    public Duration getTotalConversionTime() {
+        return Duration.ofNanos(conversionNanos.get());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void prewarm() {
+        if (!sbmApplicationProperties.isAsciidoctorPrewarmEnabled()) {
+            return;
+        }
+        Thread prewarm = new Thread(() -> {
+            try {
+                renderHtml("= Report");
+            } catch (RuntimeException e) {
+                log.warn("Could not start Asciidoctor in advance.", e);
+            }
+        }, "asciidoctor-prewarm");
+        prewarm.setDaemon(true);
+        prewarm.start();
+    }
+
+    @PreDestroy
+    synchronized void shutdown() {
+        if (asciidoctor != null) {
+            asciidoctor.shutdown();
+            asciidoctor = null;
+        }
+    }
+
+    private synchronized String convert(Function<Asciidoctor, String> conversion) {
+        long start = System.nanoTime();
+        try {
+            if (asciidoctor == null) {
+                asciidoctor = Asciidoctor.Factory.create();
+            }
+            return conversion.apply(asciidoctor);
+        } finally {
+            long nanos = System.nanoTime() - start;
+            conversions.incrementAndGet();
+            conversionNanos.addAndGet(nanos);
+            log.debug("Converted Asciidoc in %d ms.".formatted(Duration.ofNanos(nanos).toMillis()));
+        }
+    }
+}
@@ -17,11 +17,8 @@ package org.springframework.sbm.boot.upgrade.common;
 
 import freemarker.template.Configuration;
 import freemarker.template.Template;
-import org.asciidoctor.*;
 
-import java.io.File;
 import java.io.StringWriter;
-import java.nio.file.Path;
 import java.util.Map;
 
 public class UpgradeReportUtil {
@@ -36,34 +33,4 @@ public class UpgradeReportUtil {
         }
     }
 
-
-    public static String renderHtml(String markdown) {
-        return renderHtml(markdown, "spring-html");
-    }
-
-    public static void writeHtml(String markdown, Path outputDir, String filename) {
-        Asciidoctor asciidoctor = Asciidoctor.Factory.create();
-        asciidoctor.convert(markdown, Options.builder()
-                    .mkDirs(true)
-                    .toDir(outputDir.toFile())
-                    .toFile(new File(filename))
-                    .backend("spring-html")
-                    .headerFooter(true)
-                    .safe(SafeMode.UNSAFE)
-                    .build()
-        );
-    }
-
-    public static String renderHtml(String markdown, String backend) {
-        Asciidoctor asciidoctor = Asciidoctor.Factory.create();
-
-        String html = asciidoctor.convert(markdown,
-                                          Options.builder()
-                                                  .toFile(true)
-                                                  .backend(backend)
-                                                  .headerFooter(true)
-                                                  .safe(SafeMode.UNSAFE)
-                                                  .build());
-        return html;
-    }
 }
@@ -17,13 +17,13 @@ package org.springframework.sbm.boot.upgrade.common.conditions;
 
 import org.springframework.sbm.common.filter.PathPatternMatchingProjectResourceFinder;
 import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.Properties;
 
-public class BootHasAutoconfigurationCondition implements Condition {
+public class BootHasAutoconfigurationCondition implements ReadOnlyCondition {
 
     @Override
     public String getDescription() {
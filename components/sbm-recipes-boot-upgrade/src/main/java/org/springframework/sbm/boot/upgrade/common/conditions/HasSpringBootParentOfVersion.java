@@ -18,9 +18,9 @@ package org.springframework.sbm.boot.upgrade.common.conditions;
 import lombok.Setter;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 
-public class HasSpringBootParentOfVersion implements Condition {
+public class HasSpringBootParentOfVersion implements ReadOnlyCondition {
 
     /**
      * VersionPattern will be used for {@code startsWith} check against the version number found.
@@ -36,6 +36,11 @@ public class Boot_24_25_SpringDataJpaAction extends AbstractAction {
         return new Boot_24_25_SpringDataJpaActionCondition().evaluate(context);
     }
 
+    @Override
+    public boolean isApplicabilityReadOnly() {
+        return false;
+    }
+
     @Override
     public void apply(ProjectContext context) {
 
@@ -18,6 +18,7 @@ package org.springframework.sbm.boot.upgrade_24_25.actions;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.openrewrite.ExecutionContext;
 import org.springframework.sbm.boot.common.conditions.IsSpringBootProject;
+import org.springframework.sbm.boot.upgrade.common.AsciidoctorEngine;
 import org.springframework.sbm.boot.upgrade.common.UpgradeReportUtil;
 import org.springframework.sbm.engine.recipe.AbstractAction;
 import org.springframework.sbm.boot.UpgradeSectionBuilder;
@@ -51,6 +52,10 @@ public class Boot_24_25_UpgradeReportAction extends AbstractAction {
     @JsonIgnore
     private ExecutionContext executionContext;
 
+    @Autowired
+    @JsonIgnore
+    private AsciidoctorEngine asciidoctorEngine;
+
     @Override
     public void apply(ProjectContext projectContext) {
 
@@ -64,7 +69,7 @@ public class Boot_24_25_UpgradeReportAction extends AbstractAction {
         params.put("introductionSection", introductionSection);
         params.put("changeSections", sections);
         String markdown = UpgradeReportUtil.renderMarkdown(params, configuration);
-        String html = UpgradeReportUtil.renderHtml(markdown);
+        String html = asciidoctorEngine.renderHtml(markdown);
         Path htmlPath = projectContext.getProjectRootDirectory().resolve(Path.of("Upgrade-Spring-Boot-2.4-to-2.5.html"));
         projectContext.getProjectResources().add(new StringProjectResource(projectContext.getProjectRootDirectory(), htmlPath, html,
                                                                            executionContext));
@@ -82,6 +87,11 @@ public class Boot_24_25_UpgradeReportAction extends AbstractAction {
         return isSpringBootProject.evaluate(context);
     }
 
+    @Override
+    public boolean isApplicabilityReadOnly() {
+        return false;
+    }
+
     @Getter
     public class JpaRepositoryDefinition {
         private final String implementedType;
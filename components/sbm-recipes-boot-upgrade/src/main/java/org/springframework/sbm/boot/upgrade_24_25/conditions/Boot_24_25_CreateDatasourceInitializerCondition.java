@@ -18,11 +18,11 @@ package org.springframework.sbm.boot.upgrade_24_25.conditions;
 import org.springframework.sbm.boot.properties.api.SpringBootApplicationProperties;
 import org.springframework.sbm.boot.upgrade_24_25.filter.CreateDatasourceInitializerAnalyzer;
 import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 
 import java.util.List;
 
-public class Boot_24_25_CreateDatasourceInitializerCondition implements Condition {
+public class Boot_24_25_CreateDatasourceInitializerCondition implements ReadOnlyCondition {
     @Override
     public String getDescription() {
         return "Check if credentials for DDL and DML exist";
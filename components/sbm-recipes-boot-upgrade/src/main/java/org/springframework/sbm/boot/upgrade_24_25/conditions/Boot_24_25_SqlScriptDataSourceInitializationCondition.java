@@ -19,11 +19,11 @@ import org.springframework.sbm.boot.properties.api.SpringBootApplicationProperti
 import org.springframework.sbm.boot.properties.search.SpringBootApplicationPropertiesResourceListFilter;
 import org.springframework.sbm.boot.upgrade_24_25.filter.SqlScriptDataSourceInitializationPropertiesAnalyzer;
 import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 
 import java.util.List;
 
-public class Boot_24_25_SqlScriptDataSourceInitializationCondition implements Condition {
+public class Boot_24_25_SqlScriptDataSourceInitializationCondition implements ReadOnlyCondition {
     @Override
     public String getDescription() {
         return "Check if deprecated Datasource init properties exist.";
@@ -43,4 +43,9 @@ public class Boot_27_30_UpgradeReplaceJohnzonDependencies extends AbstractAction
         return new JohnzonDependencyCondition().evaluate(context);
     }
 
+    @Override
+    public boolean isApplicabilityReadOnly() {
+        return false;
+    }
+
 }
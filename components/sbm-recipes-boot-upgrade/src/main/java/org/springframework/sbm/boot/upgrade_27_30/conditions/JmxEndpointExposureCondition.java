@@ -17,9 +17,9 @@ package org.springframework.sbm.boot.upgrade_27_30.conditions;
 
 import org.springframework.sbm.boot.upgrade_27_30.filter.JmxEndpointExposureFinder;
 import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 
-public class JmxEndpointExposureCondition implements Condition {
+public class JmxEndpointExposureCondition implements ReadOnlyCondition {
     @Override
     public String getDescription() {
         return "Check if 'management.endpoints.jmx.exposure.include' is declared.";
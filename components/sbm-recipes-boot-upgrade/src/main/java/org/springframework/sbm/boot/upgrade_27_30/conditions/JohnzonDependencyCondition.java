@@ -17,12 +17,12 @@ package org.springframework.sbm.boot.upgrade_27_30.conditions;
 
 import org.springframework.sbm.build.api.Module;
 import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 
 /**
  * This filter finds out if any of the resource uses Johnzon
  */
-public class JohnzonDependencyCondition implements Condition {
+public class JohnzonDependencyCondition implements ReadOnlyCondition {
 
     private static final String JOHNZON_DEPENDENCY_PATTERN = "org\\.apache\\.johnzon\\:johnzon-core\\:.*";
 
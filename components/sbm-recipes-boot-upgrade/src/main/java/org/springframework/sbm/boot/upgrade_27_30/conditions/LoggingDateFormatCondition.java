@@ -17,11 +17,11 @@ package org.springframework.sbm.boot.upgrade_27_30.conditions;
 
 import org.springframework.sbm.boot.upgrade_27_30.filter.LoggingDateFormatPropertyFinder;
 import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 
 import java.util.List;
 
-public class LoggingDateFormatCondition implements Condition {
+public class LoggingDateFormatCondition implements ReadOnlyCondition {
 
     @Override
     public String getDescription() {
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.boot.upgrade_27_30.report;
+
+import org.openrewrite.SourceFile;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.project.resource.ResourceReadRecorder;
+
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Remembers per {@link ProjectContext} how the sections of a report evaluated and which resources their helpers looked
+ * up, so that the next report of the same context only re-evaluates the sections affected by changes since.
+ * <p>
+ * A resource was modified when its {@code SourceFile} is no longer the same instance.
+ * A section is affected when a resource was added, modified or deleted at a path its helper looked up or with a type
+ * its helper queried, see {@link ResourceReadRecorder}.
+ */
+class SectionEvaluationHistory {
+
+    private final Map<ProjectContext, Report> reportsByContext = new WeakHashMap<>();
+
+    /**
+     * Evaluates {@code section}, recording the resources read by its helper when {@code recordReads} is set.
+     */
+    static SectionEvaluation evaluate(SpringBootUpgradeReportSection section, ProjectContext context, boolean recordReads) {
+        if (!recordReads) {
+            return new SectionEvaluation(render(section, context), Set.of(), Set.of());
+        }
+        try (ResourceReadRecorder.Recording recording = ResourceReadRecorder.start()) {
+            String rendered = render(section, context);
+            return new SectionEvaluation(rendered, recording.getReadPaths(), recording.getReadTypes());
+        }
+    }
+
+    /**
+     * @return the remembered evaluations of the sections not affected by changes since the last report of {@code context}
+     */
+    synchronized Map<SpringBootUpgradeReportSection, SectionEvaluation> getUnaffected(ProjectContext context) {
+        Report report = reportsByContext.get(context);
+        if (report == null) {
+            return Map.of();
+        }
+        Map<Path, SourceFile> current = snapshot(context);
+        Set<Path> changedPaths = new HashSet<>();
+        Set<Class<?>> changedTypes = new HashSet<>();
+        report.sourceFiles().forEach((path, sourceFile) -> {
+            if (current.get(path) != sourceFile) {
+                changedPaths.add(path);
+                changedTypes.add(sourceFile.getClass());
+            }
+        });
+        current.forEach((path, sourceFile) -> {
+            if (report.sourceFiles().get(path) != sourceFile) {
+                changedPaths.add(path);
+                changedTypes.add(sourceFile.getClass());
+            }
+        });
+
+        Map<SpringBootUpgradeReportSection, SectionEvaluation> unaffected = new HashMap<>();
+        report.evaluations().forEach((section, evaluation) -> {
+            boolean affected = evaluation.readPaths().stream().anyMatch(changedPaths::contains)
+                    || evaluation.readTypes().stream().anyMatch(type -> changedTypes.stream().anyMatch(type::isAssignableFrom));
+            if (!affected) {
+                unaffected.put(section, evaluation);
+            }
+        });
+        return unaffected;
+    }
+
+    synchronized void remember(ProjectContext context, Map<SpringBootUpgradeReportSection, SectionEvaluation> evaluations) {
+        reportsByContext.put(context, new Report(snapshot(context), Map.copyOf(evaluations)));
+    }
+
+    private static String render(SpringBootUpgradeReportSection section, ProjectContext context) {
+        return section.shouldRender(context) ? section.renderEvaluated() : null;
+    }
+
+    private static Map<Path, SourceFile> snapshot(ProjectContext context) {
+        Map<Path, SourceFile> sourceFiles = new HashMap<>();
+        context.getProjectResources().stream()
+                .forEach(r -> sourceFiles.put(r.getAbsolutePath(), r.getSourceFile()));
+        return sourceFiles;
+    }
+
+    /**
+     * @param rendered  the rendered section or {@code null} when its helper evaluated to {@code false}
+     * @param readPaths absolute paths looked up while evaluating and rendering the section
+     * @param readTypes the types queried while evaluating and rendering the section
+     */
+    record SectionEvaluation(String rendered, Set<Path> readPaths, Set<Class<? extends SourceFile>> readTypes) {
+        boolean isRendered() {
+            return rendered != null;
+        }
+    }
+
+    private record Report(Map<Path, SourceFile> sourceFiles, Map<SpringBootUpgradeReportSection, SectionEvaluation> evaluations) {
+    }
+}
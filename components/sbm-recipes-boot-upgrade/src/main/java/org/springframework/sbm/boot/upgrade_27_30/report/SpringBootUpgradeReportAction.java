@@ -18,24 +18,32 @@ package org.springframework.sbm.boot.upgrade_27_30.report;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.sbm.boot.upgrade_27_30.report.SectionEvaluationHistory.SectionEvaluation;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.recipe.Action;
 import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 import java.io.IOException;
 import java.io.StringWriter;
-import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -60,7 +68,11 @@ public class SpringBootUpgradeReportAction implements Action {
      * Provides data to render header and footer.
      */
     public interface DataProvider {
-        Map<String, Object> getData(ProjectContext context, @Valid List<SpringBootUpgradeReportSection> sections);
+        /**
+         * @param sections         all sections of the report
+         * @param renderedSections the sections that are rendered as their helper evaluated to {@code true}
+         */
+        Map<String, Object> getData(ProjectContext context, @Valid List<SpringBootUpgradeReportSection> sections, List<SpringBootUpgradeReportSection> renderedSections);
     }
 
     @NotNull
@@ -87,14 +99,22 @@ public class SpringBootUpgradeReportAction implements Action {
     @Autowired
     private SpringBootUpgradeReportFreemarkerSupport freemarkerSupport;
 
+    @JsonIgnore
+    @Autowired
+    private SbmApplicationProperties sbmApplicationProperties;
+
     @Valid
     List<SpringBootUpgradeReportSection> sections;
 
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private final SectionEvaluationHistory sectionEvaluationHistory = new SectionEvaluationHistory();
+
     @JsonIgnore
     @Autowired
     private DataProvider dataProvider = new DataProvider() {
         @Override
-        public Map<String, Object> getData(ProjectContext context, @Valid List<SpringBootUpgradeReportSection> sections) {
+        public Map<String, Object> getData(ProjectContext context, @Valid List<SpringBootUpgradeReportSection> sections, List<SpringBootUpgradeReportSection> renderedSections) {
             return Map.of();
         }
     };
@@ -116,17 +136,21 @@ public class SpringBootUpgradeReportAction implements Action {
     }
 
     @Override
-    public void apply(ProjectContext context) {
-
+    public boolean isApplicabilityReadOnly() {
+        return condition == null || condition.isReadOnly();
+    }
 
-        List<String> renderedSections = new ArrayList<>();
-        sections.stream()
-                .filter(s -> s.shouldRender(context))
-                .forEach(section -> {
-            renderedSections.add(section.render(context));
-        });
+    @Override
+    public void apply(ProjectContext context) {
+        Map<SpringBootUpgradeReportSection, SectionEvaluation> evaluations = evaluateSections(context);
+        List<SpringBootUpgradeReportSection> sectionsToRender = sections.stream()
+                .filter(s -> evaluations.get(s).isRendered())
+                .toList();
+        List<String> renderedSections = sectionsToRender.stream()
+                .map(s -> evaluations.get(s).rendered())
+                .collect(Collectors.toList());
 
-        Map<String, Object> data = dataProvider.getData(context, sections);
+        Map<String, Object> data = dataProvider.getData(context, sections, sectionsToRender);
         String renderedHeader = renderTemplate("header", header, data);
 
         String renderedFooter = renderTemplate("footer", footer, data);
@@ -134,6 +158,54 @@ public class SpringBootUpgradeReportAction implements Action {
         upgradeReportProcessor.processReport(renderedReport);
     }
 
+    /**
+     * Evaluates the helper of every section once and renders the sections it evaluated to {@code true} for.
+     * Helpers with a {@link Condition#isReadOnly() read-only} condition are evaluated concurrently using up to
+     * {@code sbm.reportSectionEvaluationParallelism} threads, all other helpers afterwards one after the other.
+     * <p>
+     * With {@code sbm.incrementalReportEnabled} only sections affected by changes since the last report of the same
+     * {@code context} are evaluated, the evaluations of all other sections are reused.
+     */
+    private Map<SpringBootUpgradeReportSection, SectionEvaluation> evaluateSections(ProjectContext context) {
+        boolean incremental = sbmApplicationProperties.isIncrementalReportEnabled();
+        Map<SpringBootUpgradeReportSection, SectionEvaluation> results = new HashMap<>();
+        if (incremental) {
+            results.putAll(sectionEvaluationHistory.getUnaffected(context));
+        }
+        List<SpringBootUpgradeReportSection> readOnly = sections.stream()
+                .filter(s -> !results.containsKey(s))
+                .filter(s -> s.getHelper().isReadOnly())
+                .toList();
+        int threads = Math.min(sbmApplicationProperties.getReportSectionEvaluationParallelism(), readOnly.size());
+        if (threads > 1) {
+            ExecutorService executorService = Executors.newFixedThreadPool(threads);
+            try {
+                Map<SpringBootUpgradeReportSection, CompletableFuture<SectionEvaluation>> evaluations = new LinkedHashMap<>();
+                readOnly.forEach(s -> evaluations.put(s, CompletableFuture.supplyAsync(() -> SectionEvaluationHistory.evaluate(s, context, incremental), executorService)));
+                evaluations.forEach((s, evaluation) -> results.put(s, join(evaluation)));
+            } finally {
+                executorService.shutdownNow();
+            }
+        }
+        Map<SpringBootUpgradeReportSection, SectionEvaluation> evaluations = new LinkedHashMap<>();
+        sections.forEach(s -> evaluations.put(s, results.computeIfAbsent(s, section -> SectionEvaluationHistory.evaluate(section, context, incremental))));
+        if (incremental) {
+            sectionEvaluationHistory.remember(context, evaluations);
+        }
+        return evaluations;
+    }
+
+    private SectionEvaluation join(CompletableFuture<SectionEvaluation> evaluation) {
+        try {
+            return evaluation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
     private String renderReport(String renderedHeader, List<String> sections, String renderedFooter) {
         String key = "report";
         String content = """
@@ -198,8 +270,7 @@ public class SpringBootUpgradeReportAction implements Action {
     private String renderTemplate(String key, String content, Map<String, Object> data) {
 
         try (StringWriter writer = new StringWriter()) {
-            freemarkerSupport.getStringLoader().putTemplate(key, content);
-            Template report = freemarkerSupport.getConfiguration().getTemplate(key);
+            Template report = freemarkerSupport.getTemplate(key, content);
             report.process(data, writer);
             return writer.toString();
         } catch (IOException e) {
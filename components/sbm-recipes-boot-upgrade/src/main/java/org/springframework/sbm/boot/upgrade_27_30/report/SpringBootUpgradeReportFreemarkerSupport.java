@@ -17,11 +17,27 @@ package org.springframework.sbm.boot.upgrade_27_30.report;
 
 import freemarker.cache.StringTemplateLoader;
 import freemarker.template.Configuration;
+import freemarker.template.Template;
 import freemarker.template.Version;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
+ * Provides the Freemarker {@link Configuration} for the upgrade report and compiles the report templates.
+ * <p>
+ * Templates are compiled once per content and reused across report runs, compiled {@link Template}s can be
+ * processed concurrently.
+ *
  * @author Fabian Krüger
  */
 @Component
@@ -30,6 +46,8 @@ class SpringBootUpgradeReportFreemarkerSupport {
 
     private final Configuration configuration;
     private final StringTemplateLoader stringLoader;
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Template> compiledTemplates = new ConcurrentHashMap<>();
 
     public SpringBootUpgradeReportFreemarkerSupport() {
 
@@ -38,4 +56,32 @@ class SpringBootUpgradeReportFreemarkerSupport {
         stringLoader = new StringTemplateLoader();
         configuration.setTemplateLoader(stringLoader);
     }
+
+    /**
+     * Returns the compiled template for {@code content}, the template is compiled when the content is seen the first time.
+     *
+     * @param name the name of the template used in error messages
+     */
+    public Template getTemplate(String name, String content) {
+        return compiledTemplates.computeIfAbsent(hash(content), hash -> {
+            try {
+                return new Template(name, content, configuration);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    int getCompiledTemplateCount() {
+        return compiledTemplates.size();
+    }
+
+    private static String hash(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -103,31 +103,38 @@ public class SpringBootUpgradeReportSection {
 
     public String render(ProjectContext context) {
         if (getHelper().evaluate(context)) {
-            Map<String, ?> params = getHelper().getData();
-
-            try (StringWriter writer = new StringWriter()) {
-                String templateContent = buildTemplate();
-                renderTemplate(params, writer, templateContent);
-                return writer.toString();
-            } catch (TemplateException e) {
-                throw new RuntimeException(e);
-            } catch (TemplateNotFoundException e) {
-                throw new RuntimeException(e);
-            } catch (ParseException e) {
-                throw new RuntimeException(e);
-            } catch (MalformedTemplateNameException e) {
-                throw new RuntimeException(e);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
+            return renderEvaluated();
         }
         throw new IllegalArgumentException("Could not render Section '"+ getTitle()+"', evaluating the context returned false");
     }
 
+    /**
+     * Renders the section with the data the {@link Helper} extracted when it was last evaluated to {@code true},
+     * without evaluating the {@link ProjectContext} again.
+     */
+    String renderEvaluated() {
+        Map<String, ?> params = getHelper().getData();
+
+        try (StringWriter writer = new StringWriter()) {
+            String templateContent = buildTemplate();
+            renderTemplate(params, writer, templateContent);
+            return writer.toString();
+        } catch (TemplateException e) {
+            throw new RuntimeException(e);
+        } catch (TemplateNotFoundException e) {
+            throw new RuntimeException(e);
+        } catch (ParseException e) {
+            throw new RuntimeException(e);
+        } catch (MalformedTemplateNameException e) {
+            throw new RuntimeException(e);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private void renderTemplate(Map<String, ?> params, StringWriter writer, String templateContent) throws IOException, TemplateException {
-        String templateName = getTitle().replace(" ", "") + UUID.randomUUID();
-        freemarkerSupport.getStringLoader().putTemplate(templateName, templateContent);
-        Template t = freemarkerSupport.getConfiguration().getTemplate(templateName);
+        String templateName = getTitle().replace(" ", "");
+        Template t = freemarkerSupport.getTemplate(templateName, templateContent);
         t.process(params, writer);
     }
 
@@ -20,6 +20,7 @@ import org.springframework.sbm.boot.upgrade_27_30.report.SpringBootUpgradeReport
 import org.springframework.sbm.build.api.BuildFile;
 import org.springframework.sbm.build.api.Module;
 import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 import org.springframework.sbm.project.resource.ProjectResource;
 
 import java.util.Comparator;
@@ -30,7 +31,7 @@ import java.util.stream.Collectors;
 /**
  * @author Fabian Krüger
  */
-public class ActuatorEndpointsSanitizationHelper extends SpringBootUpgradeReportSectionHelper<List<BuildFile>> {
+public class ActuatorEndpointsSanitizationHelper extends SpringBootUpgradeReportSectionHelper<List<BuildFile>> implements ReadOnlyCondition {
 
     private static final String ACTUATOR_GROUP_ID = "org.springframework.boot";
     private static final String ACTUATOR_ARTIFACT_ID = "spring-boot-actuator";
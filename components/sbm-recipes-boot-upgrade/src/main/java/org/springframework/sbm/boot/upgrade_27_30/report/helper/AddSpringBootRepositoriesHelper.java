@@ -20,10 +20,11 @@ import org.springframework.sbm.boot.upgrade_27_30.report.SpringBootUpgradeReport
 import org.springframework.sbm.build.migration.conditions.NoPluginRepositoryExistsCondition;
 import org.springframework.sbm.build.migration.conditions.NoRepositoryExistsCondition;
 import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 
 import java.util.Map;
 
-public class AddSpringBootRepositoriesHelper extends SpringBootUpgradeReportSectionHelper<String> {
+public class AddSpringBootRepositoriesHelper extends SpringBootUpgradeReportSectionHelper<String> implements ReadOnlyCondition {
     @Override
     public boolean evaluate(ProjectContext context) {
         return new NoRepositoryExistsCondition().evaluate(context) && new NoPluginRepositoryExistsCondition().evaluate(context);
@@ -24,6 +24,7 @@ import org.springframework.sbm.boot.upgrade_27_30.report.SpringBootUpgradeReport
 import org.springframework.sbm.boot.upgrade_27_30.report.SpringBootUpgradeReportSectionHelper;
 import org.springframework.sbm.build.migration.conditions.NoDependencyExistMatchingRegex;
 import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -35,7 +36,7 @@ import java.util.stream.Collectors;
 /**
  * @author Fabian Krüger
  */
-public class ChangesToDataPropertiesHelper extends SpringBootUpgradeReportSectionHelper<List<ChangesToDataPropertiesHelper.Match>> {
+public class ChangesToDataPropertiesHelper extends SpringBootUpgradeReportSectionHelper<List<ChangesToDataPropertiesHelper.Match>> implements ReadOnlyCondition {
 
     public static final String VERSION_PATTERN = "(2\\.7\\..*)|(3\\.0\\..*)";
 
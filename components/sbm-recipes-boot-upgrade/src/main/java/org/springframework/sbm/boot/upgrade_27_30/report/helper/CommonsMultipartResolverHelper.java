@@ -21,13 +21,14 @@ import org.springframework.sbm.boot.common.finder.SpringBeanMethodDeclarationFin
 import org.springframework.sbm.boot.upgrade_27_30.report.SpringBootUpgradeReportSection;
 import org.springframework.sbm.boot.upgrade_27_30.report.SpringBootUpgradeReportSectionHelper;
 import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-public class CommonsMultipartResolverHelper extends SpringBootUpgradeReportSectionHelper<List<String>> {
+public class CommonsMultipartResolverHelper extends SpringBootUpgradeReportSectionHelper<List<String>> implements ReadOnlyCondition {
 
     public static final String VERSION_PATTERN = "(2\\.7\\..*)|(3\\.0\\..*)";
     private static final String COMMONS_MULTIPART_RESOLVER_CLASS = "org.springframework.web.multipart.commons.CommonsMultipartResolver";
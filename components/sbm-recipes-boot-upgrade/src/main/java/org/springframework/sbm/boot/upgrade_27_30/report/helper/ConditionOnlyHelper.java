@@ -39,6 +39,11 @@ public class ConditionOnlyHelper extends SpringBootUpgradeReportSectionHelper<St
         return condition.evaluate(context);
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return condition.isReadOnly();
+    }
+
     @Override
     public Map<String, String> getData() {
         return Map.of();
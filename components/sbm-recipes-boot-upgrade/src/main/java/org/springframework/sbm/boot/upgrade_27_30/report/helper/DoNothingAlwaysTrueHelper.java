@@ -18,13 +18,14 @@ package org.springframework.sbm.boot.upgrade_27_30.report.helper;
 import org.springframework.sbm.boot.upgrade_27_30.report.SpringBootUpgradeReportSection;
 import org.springframework.sbm.boot.upgrade_27_30.report.SpringBootUpgradeReportSectionHelper;
 import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 
 import java.util.Map;
 
 /**
  * @author Fabian Krüger
  */
-public class DoNothingAlwaysTrueHelper extends SpringBootUpgradeReportSectionHelper {
+public class DoNothingAlwaysTrueHelper extends SpringBootUpgradeReportSectionHelper implements ReadOnlyCondition {
     @Override
     public boolean evaluate(ProjectContext context) {
         return true;
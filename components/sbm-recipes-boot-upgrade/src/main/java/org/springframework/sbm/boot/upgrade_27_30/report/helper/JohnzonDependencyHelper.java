@@ -18,6 +18,7 @@ package org.springframework.sbm.boot.upgrade_27_30.report.helper;
 import org.springframework.sbm.boot.upgrade_27_30.report.SpringBootUpgradeReportSectionHelper;
 import org.springframework.sbm.build.api.Dependency;
 import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 
 import java.util.List;
 import java.util.Map;
@@ -26,7 +27,7 @@ import java.util.Optional;
 /**
  * @author Fabian Krüger
  */
-public class JohnzonDependencyHelper extends SpringBootUpgradeReportSectionHelper<List<String>> {
+public class JohnzonDependencyHelper extends SpringBootUpgradeReportSectionHelper<List<String>> implements ReadOnlyCondition {
 
     @Override
     public String getDescription() {
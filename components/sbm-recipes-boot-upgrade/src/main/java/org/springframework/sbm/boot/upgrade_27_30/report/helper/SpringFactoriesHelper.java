@@ -18,6 +18,7 @@ package org.springframework.sbm.boot.upgrade_27_30.report.helper;
 import org.springframework.sbm.boot.upgrade_27_30.report.SpringBootUpgradeReportSectionHelper;
 import org.springframework.sbm.common.filter.PathPatternMatchingProjectResourceFinder;
 import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 import org.springframework.sbm.project.resource.ProjectResource;
 
 import java.io.ByteArrayInputStream;
@@ -27,7 +28,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
-public class SpringFactoriesHelper extends SpringBootUpgradeReportSectionHelper<List<String>>  {
+public class SpringFactoriesHelper extends SpringBootUpgradeReportSectionHelper<List<String>> implements ReadOnlyCondition {
 
     private List<String> files;
 
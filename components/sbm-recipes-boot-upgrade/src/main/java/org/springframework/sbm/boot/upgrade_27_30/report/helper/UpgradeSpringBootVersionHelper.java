@@ -19,6 +19,7 @@ import org.springframework.sbm.boot.common.conditions.IsSpringBootProject;
 import org.springframework.sbm.boot.upgrade_27_30.report.SpringBootUpgradeReportSection;
 import org.springframework.sbm.boot.upgrade_27_30.report.SpringBootUpgradeReportSectionHelper;
 import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 import org.springframework.sbm.java.api.JavaSource;
 
 import java.util.List;
@@ -27,7 +28,7 @@ import java.util.Map;
 /**
  * @author Fabian Krüger
  */
-public class UpgradeSpringBootVersionHelper extends SpringBootUpgradeReportSectionHelper<String> {
+public class UpgradeSpringBootVersionHelper extends SpringBootUpgradeReportSectionHelper<String> implements ReadOnlyCondition {
 
     public static final String VERSION_PATTERN = "(2\\.7\\..*)|(3\\.0\\..*)";
     @Override
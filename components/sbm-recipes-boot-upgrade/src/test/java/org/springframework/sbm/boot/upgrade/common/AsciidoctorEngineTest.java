@@ -0,0 +1,61 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.boot.upgrade.common;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsciidoctorEngineTest {
+
+    private final AsciidoctorEngine sut = new AsciidoctorEngine(new SbmApplicationProperties());
+
+    @AfterEach
+    void afterEach() {
+        sut.shutdown();
+    }
+
+    @Test
+    void rendersConcurrently() {
+        List<CompletableFuture<String>> renderings = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            String title = "Report " + i;
+            renderings.add(CompletableFuture.supplyAsync(() -> sut.renderHtml("= " + title)));
+        }
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(renderings.get(i).join()).contains("Report " + i);
+        }
+        assertThat(sut.getConversionCount()).isEqualTo(4);
+        assertThat(sut.getTotalConversionTime()).isPositive();
+    }
+
+    @Test
+    void writesHtml(@TempDir Path outputDir) {
+        sut.writeHtml("= Report", outputDir.resolve("report"), "report.html");
+
+        assertThat(Files.exists(outputDir.resolve("report/report.html"))).isTrue();
+    }
+}
@@ -21,10 +21,13 @@ import org.intellij.lang.annotations.Language;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.java.tree.J;
 import org.springframework.sbm.boot.properties.SpringApplicationPropertiesPathMatcher;
 import org.springframework.sbm.boot.properties.SpringBootApplicationPropertiesRegistrar;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.openrewrite.RewriteExecutionContext;
+import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
 import org.springframework.sbm.project.resource.TestProjectContext;
 import org.springframework.sbm.test.RecipeIntegrationTestSupport;
 import org.w3c.dom.NodeList;
@@ -34,8 +37,11 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 
 /**
  * @author Fabian Krüger
@@ -226,6 +232,170 @@ class SpringBootUpgradeReportActionTest {
         }
     }
 
+    @Test
+    void evaluatesEachSectionHelperOnce() {
+        SpringBootUpgradeReportFreemarkerSupport freemarkerSupport = new SpringBootUpgradeReportFreemarkerSupport();
+        CountingHelper applicableHelper = new CountingHelper(true);
+        CountingHelper notApplicableHelper = new CountingHelper(false);
+        SbmApplicationProperties sbmApplicationProperties = new SbmApplicationProperties();
+        sbmApplicationProperties.setReportSectionEvaluationParallelism(2);
+        List<String> renderedReports = new ArrayList<>();
+        List<SpringBootUpgradeReportSection> renderedSections = new ArrayList<>();
+
+        SpringBootUpgradeReportAction action = SpringBootUpgradeReportAction.builder()
+                .header("header")
+                .footer("footer")
+                .sections(List.of(
+                        section("Applicable", applicableHelper, freemarkerSupport),
+                        section("Not applicable", notApplicableHelper, freemarkerSupport)
+                ))
+                .freemarkerSupport(freemarkerSupport)
+                .sbmApplicationProperties(sbmApplicationProperties)
+                .upgradeReportProcessor(renderedReports::add)
+                .dataProvider((context, sections, sectionsToRender) -> {
+                    renderedSections.addAll(sectionsToRender);
+                    return Map.of();
+                })
+                .build();
+
+        action.apply(mock(ProjectContext.class));
+
+        assertThat(applicableHelper.getEvaluations()).isEqualTo(1);
+        assertThat(notApplicableHelper.getEvaluations()).isEqualTo(1);
+        assertThat(renderedSections).extracting(SpringBootUpgradeReportSection::getTitle).containsExactly("Applicable");
+        assertThat(renderedReports).hasSize(1);
+        assertThat(renderedReports.get(0)).contains("=== Applicable").doesNotContain("=== Not applicable");
+    }
+
+    @Test
+    void reusesCompiledTemplatesAcrossReports() {
+        SpringBootUpgradeReportFreemarkerSupport freemarkerSupport = new SpringBootUpgradeReportFreemarkerSupport();
+        CountingHelper helper = new CountingHelper(true);
+        List<String> renderedReports = new ArrayList<>();
+        SpringBootUpgradeReportAction action = SpringBootUpgradeReportAction.builder()
+                .header("header")
+                .footer("footer")
+                .sections(List.of(section("Applicable", helper, freemarkerSupport)))
+                .freemarkerSupport(freemarkerSupport)
+                .sbmApplicationProperties(new SbmApplicationProperties())
+                .upgradeReportProcessor(renderedReports::add)
+                .dataProvider((context, sections, sectionsToRender) -> Map.of())
+                .build();
+
+        action.apply(mock(ProjectContext.class));
+        int compiledTemplates = freemarkerSupport.getCompiledTemplateCount();
+        action.apply(mock(ProjectContext.class));
+
+        assertThat(compiledTemplates).isEqualTo(4);
+        assertThat(freemarkerSupport.getCompiledTemplateCount()).isEqualTo(compiledTemplates);
+        assertThat(renderedReports.get(0)).contains("affected by 1");
+        assertThat(renderedReports.get(1)).contains("affected by 2");
+    }
+
+    @Test
+    void reEvaluatesOnlySectionsAffectedByChangedResources() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSource("src/main/java", "package com.foo; class Foo {}")
+                .withJavaSource("src/main/java", "package com.foo; class Bar {}")
+                .build();
+        SpringBootUpgradeReportFreemarkerSupport freemarkerSupport = new SpringBootUpgradeReportFreemarkerSupport();
+        CountingHelper fooHelper = new CountingHelper(true, "src/main/java/com/foo/Foo.java");
+        CountingHelper barHelper = new CountingHelper(true, "src/main/java/com/foo/Bar.java");
+        CountingHelper noReadsHelper = new CountingHelper(false);
+        SbmApplicationProperties sbmApplicationProperties = new SbmApplicationProperties();
+        sbmApplicationProperties.setIncrementalReportEnabled(true);
+        List<String> renderedReports = new ArrayList<>();
+        SpringBootUpgradeReportAction action = SpringBootUpgradeReportAction.builder()
+                .header("header")
+                .footer("footer")
+                .sections(List.of(
+                        section("Foo", fooHelper, freemarkerSupport),
+                        section("Bar", barHelper, freemarkerSupport),
+                        section("No reads", noReadsHelper, freemarkerSupport)
+                ))
+                .freemarkerSupport(freemarkerSupport)
+                .sbmApplicationProperties(sbmApplicationProperties)
+                .upgradeReportProcessor(renderedReports::add)
+                .dataProvider((c, sections, sectionsToRender) -> Map.of())
+                .build();
+
+        action.apply(context);
+        action.apply(context);
+
+        assertThat(fooHelper.getEvaluations()).isEqualTo(1);
+        assertThat(barHelper.getEvaluations()).isEqualTo(1);
+        assertThat(noReadsHelper.getEvaluations()).isEqualTo(1);
+        assertThat(renderedReports.get(1)).isEqualTo(renderedReports.get(0));
+
+        RewriteSourceFileHolder<J.CompilationUnit> foo = context.getProjectJavaSources().list().stream()
+                .filter(js -> js.getSourcePath().endsWith("Foo.java"))
+                .findFirst()
+                .get()
+                .getResource();
+        foo.replaceWith(foo.getSourceFile().withId(UUID.randomUUID()));
+        action.apply(context);
+
+        assertThat(fooHelper.getEvaluations()).isEqualTo(2);
+        assertThat(barHelper.getEvaluations()).isEqualTo(1);
+        assertThat(noReadsHelper.getEvaluations()).isEqualTo(1);
+        assertThat(renderedReports.get(2)).contains("=== Foo", "affected by 2", "=== Bar", "affected by 1");
+    }
+
+    private SpringBootUpgradeReportSection section(String title, CountingHelper helper, SpringBootUpgradeReportFreemarkerSupport freemarkerSupport) {
+        Remediation remediation = new Remediation();
+        remediation.setDescription("remediation");
+        SpringBootUpgradeReportSection section = new SpringBootUpgradeReportSection();
+        section.setTitle(title);
+        section.setChange("change");
+        section.setAffected("affected by ${evaluations}");
+        section.setRemediation(remediation);
+        section.setHelper(helper);
+        section.setFreemarkerSupport(freemarkerSupport);
+        return section;
+    }
+
+    private static class CountingHelper extends SpringBootUpgradeReportSectionHelper<Integer> {
+        private final boolean applicable;
+        private final String readFile;
+        private final AtomicInteger evaluations = new AtomicInteger();
+
+        CountingHelper(boolean applicable) {
+            this(applicable, null);
+        }
+
+        /**
+         * @param readFile the path of the resource looked up when evaluating, relative to the project root
+         */
+        CountingHelper(boolean applicable, String readFile) {
+            this.applicable = applicable;
+            this.readFile = readFile;
+        }
+
+        @Override
+        public boolean evaluate(ProjectContext context) {
+            evaluations.incrementAndGet();
+            if (readFile != null) {
+                context.getProjectResources().findByAbsolutePath(context.getProjectRootDirectory().resolve(readFile))
+                        .ifPresent(RewriteSourceFileHolder::getSourceFile);
+            }
+            return applicable;
+        }
+
+        @Override
+        public boolean isReadOnly() {
+            return true;
+        }
+
+        @Override
+        public Map<String, Integer> getData() {
+            return Map.of("evaluations", evaluations.get());
+        }
+
+        int getEvaluations() {
+            return evaluations.get();
+        }
+    }
+
     @NotNull
     private List<String> getTextContentOfAllElements(HtmlPage page, String tagName) {
         NodeList nodes = page.getElementsByTagName(tagName);
@@ -26,6 +26,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.sbm.boot.upgrade.common.AsciidoctorEngine;
 import org.springframework.sbm.boot.upgrade_27_30.report.helper.BannerSupportHelper;
 import org.springframework.sbm.boot.upgrade_27_30.report.helper.ConditionOnlyHelper;
 import org.springframework.sbm.boot.upgrade_27_30.report.yaml.SpringBootUpgradeReportSectionHelperDeserializer;
@@ -36,6 +37,7 @@ import org.springframework.sbm.common.migration.conditions.TrueCondition;
 import org.springframework.sbm.engine.context.ProjectContextHolder;
 import org.springframework.sbm.engine.recipe.*;
 import org.springframework.sbm.java.migration.conditions.HasImportStartingWith;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.IOException;
@@ -54,6 +56,8 @@ import static org.mockito.Mockito.mock;
         ProjectContextHolder.class,
         SpringBootUpgradeReportFreemarkerSupport.class,
         SpringBootUpgradeReportFileSystemRenderer.class,
+        AsciidoctorEngine.class,
+        SbmApplicationProperties.class,
         SpringBootUpgradeReportActionDeserializer.class,
         ActionDeserializerRegistry.class
 })
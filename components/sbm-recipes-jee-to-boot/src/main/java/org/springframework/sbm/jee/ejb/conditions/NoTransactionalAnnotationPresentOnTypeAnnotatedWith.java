@@ -16,6 +16,7 @@
 package org.springframework.sbm.jee.ejb.conditions;
 
 import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 import org.springframework.sbm.engine.context.ProjectContext;
 import lombok.Getter;
 import lombok.Setter;
@@ -25,7 +26,7 @@ import lombok.Setter;
  */
 @Getter
 @Setter
-public class NoTransactionalAnnotationPresentOnTypeAnnotatedWith implements Condition {
+public class NoTransactionalAnnotationPresentOnTypeAnnotatedWith implements ReadOnlyCondition {
 
     private String typeAnnotatedWith;
     private static final String TRANSACTION_ANNOTATION = "org.springframework.transaction.annotation.Transactional";
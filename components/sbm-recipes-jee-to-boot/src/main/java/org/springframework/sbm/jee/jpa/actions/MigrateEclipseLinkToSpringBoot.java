@@ -337,4 +337,9 @@ public class MigrateEclipseLinkToSpringBoot extends AbstractAction {
         return context.getApplicationModules().stream()
                 .anyMatch(b -> b.getBuildFile().hasDeclaredDependencyMatchingRegex("org\\.eclipse\\.persistence\\:.*"));
     }
+
+    @Override
+    public boolean isApplicabilityReadOnly() {
+        return false;
+    }
 }
@@ -77,4 +77,9 @@ public class MigratePersistenceXmlToApplicationPropertiesAction extends Abstract
     public boolean isApplicable(ProjectContext context) {
         return context.search(new PersistenceXmlResourceFilter("**/src/main/resources/**")).isPresent();
     }
+
+    @Override
+    public boolean isApplicabilityReadOnly() {
+        return false;
+    }
 }
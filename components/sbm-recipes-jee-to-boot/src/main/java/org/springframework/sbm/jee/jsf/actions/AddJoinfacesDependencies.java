@@ -47,8 +47,10 @@ public class AddJoinfacesDependencies extends AbstractAction {
             return;
         }
 
-        addJoinfacesDependencyManagement(module);
-        addJoinfacesDependencies(jsfImplementation, module);
+        module.getBuildFile().batch(buildFile -> {
+            addJoinfacesDependencyManagement(module);
+            addJoinfacesDependencies(jsfImplementation, module);
+        });
     }
 
     @Override
@@ -59,6 +61,11 @@ public class AddJoinfacesDependencies extends AbstractAction {
         return false;
     }
 
+    @Override
+    public boolean isApplicabilityReadOnly() {
+        return false;
+    }
+
     private void addJoinfacesDependencies(JsfImplementation jsfImplementation, Module module) {
         if (jsfImplementation.equals(JsfImplementation.APACHE_MYFACES)) {
             addMyFacesDependencies(module);
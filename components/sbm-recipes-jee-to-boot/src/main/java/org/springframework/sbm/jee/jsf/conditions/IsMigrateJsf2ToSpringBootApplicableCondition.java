@@ -17,11 +17,11 @@ package org.springframework.sbm.jee.jsf.conditions;
 
 import org.springframework.sbm.build.api.Dependency;
 import org.springframework.sbm.build.migration.conditions.NoExactDependencyExist;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 import org.springframework.sbm.java.migration.conditions.HasImportStartingWith;
 import org.springframework.sbm.engine.context.ProjectContext;
 
-public class IsMigrateJsf2ToSpringBootApplicableCondition implements Condition {
+public class IsMigrateJsf2ToSpringBootApplicableCondition implements ReadOnlyCondition {
     @Override
     public String getDescription() {
         return "Check if recipe 'migrate-jsf-2.x-to-spring-boot' is applicable";
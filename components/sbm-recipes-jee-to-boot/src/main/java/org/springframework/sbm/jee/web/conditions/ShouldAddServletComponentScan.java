@@ -16,13 +16,14 @@
 package org.springframework.sbm.jee.web.conditions;
 
 import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 import org.springframework.sbm.java.migration.conditions.HasTypeAnnotation;
 import org.springframework.sbm.engine.context.ProjectContext;
 
 import java.util.ArrayList;
 import java.util.List;
 
-public class ShouldAddServletComponentScan implements Condition {
+public class ShouldAddServletComponentScan implements ReadOnlyCondition {
 
     @Override
     public String getDescription() {
@@ -72,4 +72,9 @@ public class MigrateMulesoftFile extends AbstractAction {
     public boolean isApplicable(ProjectContext context) {
         return new MuleConfigFileExist().evaluate(context);
     }
+
+    @Override
+    public boolean isApplicabilityReadOnly() {
+        return false;
+    }
 }
@@ -17,9 +17,9 @@ package org.springframework.sbm.mule.conditions;
 
 import org.springframework.sbm.mule.resource.MuleXml;
 import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 
-public class MuleConfigFileExist implements Condition {
+public class MuleConfigFileExist implements ReadOnlyCondition {
     @Override
     public String getDescription() {
         return "Has Mulesoft config file.";
@@ -16,7 +16,7 @@
 package org.springframework.sbm.conditions;
 
 import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -24,7 +24,7 @@ import java.util.List;
 
 @Getter
 @Setter
-public class EnvironmentVariablesNotSetCondition implements Condition {
+public class EnvironmentVariablesNotSetCondition implements ReadOnlyCondition {
     private List<String> variables;
     private String description;
 
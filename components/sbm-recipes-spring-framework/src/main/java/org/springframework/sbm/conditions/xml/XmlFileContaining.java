@@ -16,13 +16,13 @@
 package org.springframework.sbm.conditions.xml;
 
 import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 import lombok.Getter;
 import lombok.Setter;
 
 @Getter
 @Setter
-public class XmlFileContaining implements Condition {
+public class XmlFileContaining implements ReadOnlyCondition {
 
     private String description;
     private String value;
@@ -20,9 +20,9 @@ import org.springframework.sbm.build.impl.OpenRewriteMavenPlugin;
 import org.springframework.sbm.build.migration.conditions.MavenPluginDoesNotExist;
 import org.springframework.sbm.common.migration.conditions.FileMatchingPatternExist;
 import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 
-public class SpringBootMavenCompilerExists implements Condition {
+public class SpringBootMavenCompilerExists implements ReadOnlyCondition {
 
 	@Override
 	public String getDescription() {
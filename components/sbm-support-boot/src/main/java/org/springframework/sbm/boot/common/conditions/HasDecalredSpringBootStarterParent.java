@@ -19,13 +19,13 @@ import org.springframework.sbm.build.api.Module;
 import org.springframework.sbm.build.api.BuildFile;
 import org.springframework.sbm.build.api.ParentDeclaration;
 import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 
 import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-public class HasDecalredSpringBootStarterParent implements Condition {
+public class HasDecalredSpringBootStarterParent implements ReadOnlyCondition {
     private Pattern versionPattern = Pattern.compile(".*");
 
     @Override
@@ -19,11 +19,11 @@ import org.springframework.sbm.build.api.BuildFile;
 import org.springframework.sbm.build.api.Dependency;
 import org.springframework.sbm.build.api.Module;
 import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 
 import java.util.regex.Pattern;
 
-public class HasSpringBootDependencyImport implements Condition {
+public class HasSpringBootDependencyImport implements ReadOnlyCondition {
     private Pattern versionPattern = Pattern.compile(".*");
 
     @Override
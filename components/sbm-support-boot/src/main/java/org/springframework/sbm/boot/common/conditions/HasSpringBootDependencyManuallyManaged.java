@@ -19,12 +19,12 @@ import org.jetbrains.annotations.NotNull;
 import org.springframework.sbm.build.api.Dependency;
 import org.springframework.sbm.build.api.Module;
 import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
-public class HasSpringBootDependencyManuallyManaged implements Condition {
+public class HasSpringBootDependencyManuallyManaged implements ReadOnlyCondition {
     private Pattern versionPattern = Pattern.compile(".*");
 
     @Override
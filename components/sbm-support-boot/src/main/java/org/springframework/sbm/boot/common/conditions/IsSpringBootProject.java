@@ -16,9 +16,9 @@
 package org.springframework.sbm.boot.common.conditions;
 
 import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 
-public class IsSpringBootProject implements Condition {
+public class IsSpringBootProject implements ReadOnlyCondition {
     private HasDecalredSpringBootStarterParent parentCondition;
     private HasSpringBootDependencyImport importCondition;
     private HasSpringBootDependencyManuallyManaged manualManagedCondition;
@@ -73,4 +73,9 @@ public class AddSpringBootApplicationPropertiesAction extends AbstractAction {
     public boolean isApplicable(ProjectContext context) {
         return context.search(new SpringBootApplicationPropertiesResourceListFilter()).isEmpty();
     }
+
+    @Override
+    public boolean isApplicabilityReadOnly() {
+        return false;
+    }
 }
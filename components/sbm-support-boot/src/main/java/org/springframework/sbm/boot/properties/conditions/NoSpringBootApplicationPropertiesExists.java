@@ -16,10 +16,10 @@
 package org.springframework.sbm.boot.properties.conditions;
 
 import org.springframework.sbm.boot.properties.search.SpringBootApplicationPropertiesResourceListFilter;
-import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.engine.recipe.ReadOnlyCondition;
 import org.springframework.sbm.engine.context.ProjectContext;
 
-public class NoSpringBootApplicationPropertiesExists implements Condition {
+public class NoSpringBootApplicationPropertiesExists implements ReadOnlyCondition {
 
     public static final String APPLICATION_PROPERTIES = "src/main/resources/application.properties";
 
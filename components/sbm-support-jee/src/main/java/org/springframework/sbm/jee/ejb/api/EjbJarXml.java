@@ -16,6 +16,7 @@
 package org.springframework.sbm.jee.ejb.api;
 
 import org.openrewrite.xml.tree.Xml;
+import org.springframework.sbm.jee.jaxb.JaxbContextRegistry;
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
 import org.xml.sax.InputSource;
 
@@ -53,14 +54,14 @@ public class EjbJarXml extends RewriteSourceFileHolder<Xml.Document> {
     public String print() {
         try {
             JAXBElement<EjbJarType> element = new JAXBElement<>(new QName("", "ejb-jar"), EjbJarType.class, wrapped);
-            JAXBContext jaxbContext = JAXBContext.newInstance(EjbJarType.class);
-            Marshaller jaxbMarshaller = jaxbContext.createMarshaller();
-//            jaxbMarshaller.setProperty("jaxb.formatted.output", true);
-//            jaxbMarshaller.setProperty("jaxb.schemaLocation", "http://xmlns.jcp.org/xml/ns/javaee http://xmlns.jcp.org/xml/ns/javaee/web-app_3_1.xsd");
-//            jaxbMarshaller.setProperty("com.sun.xml.bind.namespacePrefixMapper", new MyNamespacePrefixMapper());
-            StringWriter sw = new StringWriter();
-            jaxbMarshaller.marshal(element, sw);
-            return sw.toString();
+            return JaxbContextRegistry.get(EjbJarType.class).marshal(jaxbMarshaller -> {
+//                jaxbMarshaller.setProperty("jaxb.formatted.output", true);
+//                jaxbMarshaller.setProperty("jaxb.schemaLocation", "http://xmlns.jcp.org/xml/ns/javaee http://xmlns.jcp.org/xml/ns/javaee/web-app_3_1.xsd");
+//                jaxbMarshaller.setProperty("com.sun.xml.bind.namespacePrefixMapper", new MyNamespacePrefixMapper());
+                StringWriter sw = new StringWriter();
+                jaxbMarshaller.marshal(element, sw);
+                return sw.toString();
+            });
         } catch (JAXBException e) {
             throw new RuntimeException(e);
         }
@@ -81,9 +82,7 @@ public class EjbJarXml extends RewriteSourceFileHolder<Xml.Document> {
             try {
                 XMLStreamReader xsr = XMLInputFactory.newFactory().createXMLStreamReader(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
                 EjbJarXml.EjbJarXmlUnmarshaller.XMLReaderWithoutNamespace xr = new EjbJarXml.EjbJarXmlUnmarshaller.XMLReaderWithoutNamespace(xsr);
-                JAXBContext jaxbContext = JAXBContext.newInstance(EjbJarType.class);
-                Unmarshaller jc = jaxbContext.createUnmarshaller();
-                return jc.unmarshal(xr, EjbJarType.class).getValue();
+                return JaxbContextRegistry.get(EjbJarType.class).unmarshal(jc -> jc.unmarshal(xr, EjbJarType.class).getValue());
             } catch (JAXBException | XMLStreamException e) {
                 throw new RuntimeException(e);
             }
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.jee.jaxb;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Provides one {@link JAXBContext} per set of bound classes for the whole process.
+ * <p>
+ * Creating a {@link JAXBContext} is by far the most expensive step of (un)marshalling, contexts are thread-safe
+ * and therefore created once and kept.
+ * {@link Marshaller}s and {@link Unmarshaller}s are not thread-safe, each context keeps a pool of instances which
+ * are lent to one caller at a time.
+ * A pooled {@link Marshaller} keeps the properties set by previous callers, callers must therefore set all properties
+ * they rely on.
+ *
+ * <pre>
+ * WebAppType webApp = JaxbContextRegistry.get(WebAppType.class)
+ *         .unmarshal(u -> u.unmarshal(reader, WebAppType.class).getValue());
+ * </pre>
+ */
+public class JaxbContextRegistry {
+
+    private static final int MAX_IDLE_PER_CONTEXT = Runtime.getRuntime().availableProcessors();
+    private static final Map<Set<Class<?>>, PooledContext> contexts = new ConcurrentHashMap<>();
+
+    private JaxbContextRegistry() {
+    }
+
+    /**
+     * @return the context binding {@code classesToBeBound}, independent of their order
+     */
+    public static PooledContext get(Class<?>... classesToBeBound) throws JAXBException {
+        Set<Class<?>> key = Arrays.stream(classesToBeBound).collect(Collectors.toUnmodifiableSet());
+        try {
+            return contexts.computeIfAbsent(key, k -> new PooledContext(newContext(classesToBeBound)));
+        } catch (ContextCreationException e) {
+            throw e.getCause();
+        }
+    }
+
+    static int getContextCount() {
+        return contexts.size();
+    }
+
+    private static JAXBContext newContext(Class<?>... classesToBeBound) {
+        try {
+            return JAXBContext.newInstance(classesToBeBound);
+        } catch (JAXBException e) {
+            throw new ContextCreationException(e);
+        }
+    }
+
+    @FunctionalInterface
+    public interface JaxbFunction<T, R> {
+        R apply(T t) throws JAXBException;
+    }
+
+    public static class PooledContext {
+        private final JAXBContext context;
+        private final Queue<Marshaller> marshallers = new ConcurrentLinkedQueue<>();
+        private final Queue<Unmarshaller> unmarshallers = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger createdUnmarshallers = new AtomicInteger();
+
+        private PooledContext(JAXBContext context) {
+            this.context = context;
+        }
+
+        public JAXBContext getContext() {
+            return context;
+        }
+
+        /**
+         * Applies {@code unmarshalling} to an {@link Unmarshaller} exclusively lent to it.
+         */
+        public <R> R unmarshal(JaxbFunction<Unmarshaller, R> unmarshalling) throws JAXBException {
+            Unmarshaller unmarshaller = unmarshallers.poll();
+            if (unmarshaller == null) {
+                unmarshaller = context.createUnmarshaller();
+                createdUnmarshallers.incrementAndGet();
+            }
+            R result = unmarshalling.apply(unmarshaller);
+            // an unmarshaller is only returned after it completed, its state is unknown otherwise
+            release(unmarshallers, unmarshaller);
+            return result;
+        }
+
+        /**
+         * Applies {@code marshalling} to a {@link Marshaller} exclusively lent to it.
+         */
+        public <R> R marshal(JaxbFunction<Marshaller, R> marshalling) throws JAXBException {
+            Marshaller marshaller = marshallers.poll();
+            if (marshaller == null) {
+                marshaller = context.createMarshaller();
+            }
+            R result = marshalling.apply(marshaller);
+            release(marshallers, marshaller);
+            return result;
+        }
+
+        int getCreatedUnmarshallerCount() {
+            return createdUnmarshallers.get();
+        }
+
+        private static <T> void release(Queue<T> pool, T instance) {
+            if (pool.size() < MAX_IDLE_PER_CONTEXT) {
+                pool.offer(instance);
+            }
+        }
+    }
+
+    private static class ContextCreationException extends RuntimeException {
+        ContextCreationException(JAXBException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized JAXBException getCause() {
+            return (JAXBException) super.getCause();
+        }
+    }
+}
@@ -15,14 +15,12 @@
  */
 package org.springframework.sbm.jee.jpa.api;
 
+import org.springframework.sbm.jee.jaxb.JaxbContextRegistry;
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
 import lombok.Getter;
 import org.openrewrite.xml.tree.Xml;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
-import javax.xml.bind.Unmarshaller;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
@@ -56,11 +54,11 @@ public class PersistenceXml extends RewriteSourceFileHolder<Xml.Document> {
     @Override
     public String print() {
         try {
-            JAXBContext jaxbContext = JAXBContext.newInstance(Persistence.class);
-            Marshaller jaxbMarshaller = jaxbContext.createMarshaller();
-            StringWriter sw = new StringWriter();
-            jaxbMarshaller.marshal(persistence, sw);
-            return sw.toString();
+            return JaxbContextRegistry.get(Persistence.class).marshal(jaxbMarshaller -> {
+                StringWriter sw = new StringWriter();
+                jaxbMarshaller.marshal(persistence, sw);
+                return sw.toString();
+            });
         } catch (JAXBException e) {
             throw new RuntimeException(e);
         }
@@ -82,9 +80,7 @@ public class PersistenceXml extends RewriteSourceFileHolder<Xml.Document> {
             try {
                 XMLStreamReader xsr = XMLInputFactory.newFactory().createXMLStreamReader(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
                 PersistenceXmlUnmarshaller.XMLReaderWithoutNamespace xr = new PersistenceXmlUnmarshaller.XMLReaderWithoutNamespace(xsr);
-                JAXBContext jaxbContext = JAXBContext.newInstance(Persistence.class);
-                Unmarshaller jc = jaxbContext.createUnmarshaller();
-                return jc.unmarshal(xr, Persistence.class).getValue();
+                return JaxbContextRegistry.get(Persistence.class).unmarshal(jc -> jc.unmarshal(xr, Persistence.class).getValue());
             } catch (JAXBException | XMLStreamException e) {
                 throw new RuntimeException(e);
             }
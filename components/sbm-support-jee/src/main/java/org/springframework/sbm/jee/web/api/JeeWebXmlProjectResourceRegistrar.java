@@ -15,6 +15,7 @@
  */
 package org.springframework.sbm.jee.web.api;
 
+import org.springframework.sbm.jee.jaxb.JaxbContextRegistry;
 import org.springframework.sbm.project.resource.ProjectResourceWrapper;
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
 import org.springframework.sbm.project.web.api.WebAppType;
@@ -23,10 +24,8 @@ import org.openrewrite.xml.search.FindTags;
 import org.openrewrite.xml.tree.Xml;
 import org.springframework.context.annotation.Configuration;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBElement;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
 import java.io.ByteArrayInputStream;
 import java.util.List;
 
@@ -41,10 +40,10 @@ public class JeeWebXmlProjectResourceRegistrar implements ProjectResourceWrapper
 
     private WebAppType parseXml(String xml) {
         try {
-            JAXBContext jaxbContext = JAXBContext.newInstance(WebAppType.class);
-            Unmarshaller jaxbUnmarshaller = jaxbContext.createUnmarshaller();
-            JAXBElement element = (JAXBElement) jaxbUnmarshaller.unmarshal(new ByteArrayInputStream(xml.getBytes()));
-            return (WebAppType) element.getValue();
+            return JaxbContextRegistry.get(WebAppType.class).unmarshal(jaxbUnmarshaller -> {
+                JAXBElement element = (JAXBElement) jaxbUnmarshaller.unmarshal(new ByteArrayInputStream(xml.getBytes()));
+                return (WebAppType) element.getValue();
+            });
         } catch (JAXBException e) {
             throw new RuntimeException("Given xml could not be parsed as web.xml.", e);
         }
@@ -16,6 +16,7 @@
 package org.springframework.sbm.jee.web.api;
 
 import com.sun.xml.bind.marshaller.NamespacePrefixMapper;
+import org.springframework.sbm.jee.jaxb.JaxbContextRegistry;
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
 import org.springframework.sbm.project.web.api.ServletMappingType;
 import org.springframework.sbm.project.web.api.ServletType;
@@ -97,14 +98,14 @@ public class WebXml extends RewriteSourceFileHolder<Xml.Document> {
     public String print() {
         try {
             JAXBElement<WebAppType> element = new JAXBElement<>(new QName("", "web-app"), WebAppType.class, webApp);
-            JAXBContext jaxbContext = JAXBContext.newInstance(WebAppType.class);
-            Marshaller jaxbMarshaller = jaxbContext.createMarshaller();
-            jaxbMarshaller.setProperty("jaxb.formatted.output", true);
-            jaxbMarshaller.setProperty("jaxb.schemaLocation", "http://xmlns.jcp.org/xml/ns/javaee http://xmlns.jcp.org/xml/ns/javaee/web-app_3_1.xsd");
-            jaxbMarshaller.setProperty("com.sun.xml.bind.namespacePrefixMapper", new MyNamespacePrefixMapper());
-            StringWriter sw = new StringWriter();
-            jaxbMarshaller.marshal(element, sw);
-            return sw.toString();
+            return JaxbContextRegistry.get(WebAppType.class).marshal(jaxbMarshaller -> {
+                jaxbMarshaller.setProperty("jaxb.formatted.output", true);
+                jaxbMarshaller.setProperty("jaxb.schemaLocation", "http://xmlns.jcp.org/xml/ns/javaee http://xmlns.jcp.org/xml/ns/javaee/web-app_3_1.xsd");
+                jaxbMarshaller.setProperty("com.sun.xml.bind.namespacePrefixMapper", new MyNamespacePrefixMapper());
+                StringWriter sw = new StringWriter();
+                jaxbMarshaller.marshal(element, sw);
+                return sw.toString();
+            });
         } catch (JAXBException e) {
             throw new RuntimeException(e);
         }
@@ -293,10 +294,7 @@ public class WebXml extends RewriteSourceFileHolder<Xml.Document> {
 
                 XMLStreamReader xsr = XMLInputFactory.newFactory().createXMLStreamReader(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
                 WebXml.WebXmlUnmarshaller.XMLReaderWithoutNamespace xr = new WebXml.WebXmlUnmarshaller.XMLReaderWithoutNamespace(xsr);
-                JAXBContext jaxbContext = JAXBContext.newInstance(WebAppType.class);
-                Unmarshaller jc = jaxbContext.createUnmarshaller();
-                WebAppType value = jc.unmarshal(xr, WebAppType.class).getValue();
-                return value;
+                return JaxbContextRegistry.get(WebAppType.class).unmarshal(jc -> jc.unmarshal(xr, WebAppType.class).getValue());
             } catch (JAXBException e) {
                 throw new RuntimeException(e);
             }  catch (XMLStreamException e) {
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.jee.jaxb;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.sbm.jee.jpa.api.Persistence;
+import org.springframework.sbm.project.web.api.WebAppType;
+
+import javax.xml.bind.JAXBException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JaxbContextRegistryTest {
+
+    @Test
+    void createsOneContextPerSetOfClasses() throws JAXBException {
+        JaxbContextRegistry.PooledContext context = JaxbContextRegistry.get(WebAppType.class, Persistence.class);
+        int contextCount = JaxbContextRegistry.getContextCount();
+
+        assertThat(JaxbContextRegistry.get(Persistence.class, WebAppType.class)).isSameAs(context);
+        assertThat(JaxbContextRegistry.getContextCount()).isEqualTo(contextCount);
+        assertThat(JaxbContextRegistry.get(Persistence.class)).isNotSameAs(context);
+    }
+
+    @Test
+    void reusesUnmarshallers() throws JAXBException {
+        JaxbContextRegistry.PooledContext context = JaxbContextRegistry.get(Persistence.class);
+        Persistence persistence = new Persistence();
+        persistence.setVersion("2.2");
+        String xml = context.marshal(m -> {
+            StringWriter writer = new StringWriter();
+            m.marshal(persistence, writer);
+            return writer.toString();
+        });
+        int createdUnmarshallers = context.getCreatedUnmarshallerCount();
+
+        for (int i = 0; i < 3; i++) {
+            Persistence unmarshalled = context.unmarshal(u -> (Persistence) u.unmarshal(new StringReader(xml)));
+            assertThat(unmarshalled.getVersion()).isEqualTo("2.2");
+        }
+
+        assertThat(context.getCreatedUnmarshallerCount()).isLessThanOrEqualTo(createdUnmarshallers + 1);
+    }
+
+    @Test
+    void propagatesExceptions() throws JAXBException {
+        JaxbContextRegistry.PooledContext context = JaxbContextRegistry.get(Persistence.class);
+
+        assertThatThrownBy(() -> context.unmarshal(u -> u.unmarshal(new StringReader("<no-xml"))))
+                .isInstanceOf(JAXBException.class);
+    }
+}
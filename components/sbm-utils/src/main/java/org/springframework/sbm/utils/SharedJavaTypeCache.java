@@ -0,0 +1,213 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.utils;
+
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.internal.JavaTypeCache;
+import org.springframework.util.DigestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarFile;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Types of the JDK and of jars shared by all {@code JavaParser}s of one scan.
+ * <p>
+ * Parsers clear their type cache on {@code reset()}, the types of the JDK and the dependencies would therefore be
+ * attributed again for every module, source set and parse.
+ * Parsers get a {@link ClasspathTypeCache} instead, which keeps these types in this shared cache, keyed by the
+ * classpath they were attributed with and their signature.
+ * A classpath is identified by the paths and checksums of its entries, a type with the same signature from another
+ * version of a jar is kept apart.
+ * Types referencing types declared in the project, including the types of directory classpath entries like the
+ * output directory of another module, can change with every parse and are only kept by the parser until it is reset.
+ * <p>
+ * The cache is thread safe to support parsing modules in parallel and evicts the least recently used types when it
+ * holds more than {@code maxEntries} types.
+ * It is created per scan and discarded with it.
+ */
+public class SharedJavaTypeCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 200_000;
+    private static final Pattern QUALIFIED_NAME = Pattern.compile("[A-Za-z_$][\\w$]*(?:\\.[A-Za-z_$][\\w$]*)+");
+    private static final List<String> JDK_PACKAGES = List.of("java.", "jdk.", "sun.", "com.sun.");
+
+    private final Map<String, Object> types;
+    private final Map<Path, ClasspathEntry> classpathEntries = new ConcurrentHashMap<>();
+
+    public SharedJavaTypeCache(int maxEntries) {
+        this.types = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                return maxEntries > 0 && size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @return a type cache for one parser attributing types with {@code classpath}
+     */
+    public ClasspathTypeCache forClasspath(Collection<Path> classpath) {
+        ClasspathTypeCache typeCache = new ClasspathTypeCache();
+        typeCache.setClasspath(classpath);
+        return typeCache;
+    }
+
+    /**
+     * @return the number of shared types
+     */
+    public synchronized int size() {
+        return types.size();
+    }
+
+    /**
+     * The checksum and types of a jar are read once as long as its size and last modified time don't change.
+     */
+    private ClasspathEntry classpathEntry(Path path) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (attributes.isDirectory()) {
+                // the content of directories can change at any time, their types are never shared
+                return new ClasspathEntry(-1, -1, "d" + path, Set.of());
+            }
+            ClasspathEntry entry = classpathEntries.get(path);
+            if (entry == null || entry.size() != attributes.size() || entry.lastModified() != attributes.lastModifiedTime().toMillis()) {
+                entry = new ClasspathEntry(attributes.size(), attributes.lastModifiedTime().toMillis(), crc32(path), readTypes(path));
+                classpathEntries.put(path, entry);
+            }
+            return entry;
+        } catch (IOException e) {
+            // missing or unreadable entries don't contribute shared types
+            return new ClasspathEntry(-1, -1, "missing", Set.of());
+        }
+    }
+
+    private static String crc32(Path file) throws IOException {
+        CRC32 crc32 = new CRC32();
+        byte[] buffer = new byte[8192];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc32.update(buffer, 0, read);
+            }
+        }
+        return Long.toHexString(crc32.getValue());
+    }
+
+    private static Set<String> readTypes(Path jar) throws IOException {
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            return jarFile.stream()
+                    .map(e -> e.getName())
+                    .filter(n -> n.endsWith(".class"))
+                    .map(n -> n.substring(0, n.length() - ".class".length()).replace('/', '.'))
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    private record ClasspathEntry(long size, long lastModified, String checksum, Set<String> types) {
+    }
+
+    /**
+     * The type cache of one parser.
+     * Types referencing only types of the JDK or of jars go into the shared cache, all other types are kept until
+     * the parser is reset.
+     */
+    public class ClasspathTypeCache extends JavaTypeCache {
+
+        private final Map<String, Object> parserTypes = new HashMap<>();
+        private String keyPrefix;
+        private Set<String> classpathTypes;
+
+        /**
+         * Called when the classpath of the parser changes.
+         */
+        public synchronized void setClasspath(Collection<Path> classpath) {
+            List<ClasspathEntry> entries = classpath.stream()
+                    .map(p -> p.toAbsolutePath().normalize())
+                    .sorted()
+                    .map(SharedJavaTypeCache.this::classpathEntry)
+                    .toList();
+            String checksums = entries.stream().map(ClasspathEntry::checksum).collect(Collectors.joining(";"));
+            keyPrefix = DigestUtils.md5DigestAsHex(checksums.getBytes(StandardCharsets.UTF_8)) + "|";
+            classpathTypes = entries.stream().flatMap(e -> e.types().stream()).collect(Collectors.toSet());
+            parserTypes.clear();
+        }
+
+        @Nullable
+        @Override
+        @SuppressWarnings("unchecked")
+        public synchronized <T> T get(String signature) {
+            Object type = parserTypes.get(signature);
+            if (type == null) {
+                synchronized (SharedJavaTypeCache.this) {
+                    type = types.get(keyPrefix + signature);
+                }
+            }
+            return (T) type;
+        }
+
+        @Override
+        public synchronized void put(String signature, Object o) {
+            if (isShareable(signature)) {
+                synchronized (SharedJavaTypeCache.this) {
+                    types.put(keyPrefix + signature, o);
+                }
+            } else {
+                parserTypes.put(signature, o);
+            }
+        }
+
+        @Override
+        public synchronized void clear() {
+            parserTypes.clear();
+        }
+
+        @Override
+        public synchronized int size() {
+            return parserTypes.size() + SharedJavaTypeCache.this.size();
+        }
+
+        private boolean isShareable(String signature) {
+            Matcher matcher = QUALIFIED_NAME.matcher(signature);
+            while (matcher.find()) {
+                String name = matcher.group();
+                if (JDK_PACKAGES.stream().noneMatch(name::startsWith) && !isClasspathType(name)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * {@code name} or one of its enclosing names is a type of a jar, e.g. for a nested type or a member.
+         */
+        private boolean isClasspathType(String name) {
+            return Stream.iterate(name, n -> n.lastIndexOf('.') != -1, n -> n.substring(0, n.lastIndexOf('.')))
+                    .anyMatch(classpathTypes::contains);
+        }
+    }
+}
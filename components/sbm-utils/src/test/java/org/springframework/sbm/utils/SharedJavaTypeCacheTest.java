@@ -0,0 +1,121 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.java.internal.JavaTypeCache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SharedJavaTypeCacheTest {
+
+    @Test
+    void typesOfJdkAndJarsShouldBeSharedBetweenParsers(@TempDir Path tempDir) throws IOException {
+        Path jar = createJar(tempDir.resolve("acme-1.0.jar"), "com/acme/Widget.class");
+        SharedJavaTypeCache sharedTypeCache = new SharedJavaTypeCache(0);
+        JavaTypeCache typeCache = sharedTypeCache.forClasspath(List.of(jar));
+        typeCache.put("java.lang.String", "String");
+        typeCache.put("com.acme.Widget{name=size,return=int,parameters=[java.lang.String]}", "size");
+        typeCache.clear();
+
+        JavaTypeCache otherTypeCache = sharedTypeCache.forClasspath(List.of(jar));
+        assertThat((String) otherTypeCache.get("java.lang.String")).isEqualTo("String");
+        assertThat((String) otherTypeCache.get("com.acme.Widget{name=size,return=int,parameters=[java.lang.String]}")).isEqualTo("size");
+    }
+
+    @Test
+    void typesReferencingProjectTypesShouldBeClearedOnReset() {
+        JavaTypeCache typeCache = new SharedJavaTypeCache(0).forClasspath(List.of());
+        typeCache.put("com.foo.A", "A");
+        typeCache.put("java.util.List<com.foo.A>", "List<A>");
+        assertThat((String) typeCache.get("java.util.List<com.foo.A>")).isEqualTo("List<A>");
+
+        typeCache.clear();
+
+        assertThat((String) typeCache.get("com.foo.A")).isNull();
+        assertThat((String) typeCache.get("java.util.List<com.foo.A>")).isNull();
+    }
+
+    @Test
+    void typesOfDirectoryClasspathEntriesShouldNotBeShared(@TempDir Path tempDir) throws IOException {
+        Path classes = Files.createDirectories(tempDir.resolve("other-module/target/classes/com/foo"));
+        Files.writeString(classes.resolve("A.class"), "");
+        SharedJavaTypeCache sharedTypeCache = new SharedJavaTypeCache(0);
+
+        sharedTypeCache.forClasspath(List.of(tempDir.resolve("other-module/target/classes"))).put("com.foo.A", "A");
+
+        assertThat(sharedTypeCache.size()).isZero();
+    }
+
+    @Test
+    void typesOfOtherJarsShouldBeKeptApart(@TempDir Path tempDir) throws IOException {
+        Path jar1 = createJar(tempDir.resolve("acme-1.0.jar"), "com/acme/Widget.class");
+        Path jar2 = createJar(tempDir.resolve("acme-2.0.jar"), "com/acme/Widget.class", "com/acme/Gadget.class");
+        SharedJavaTypeCache sharedTypeCache = new SharedJavaTypeCache(0);
+
+        sharedTypeCache.forClasspath(List.of(jar1)).put("com.acme.Widget", "Widget from 1.0");
+
+        assertThat((String) sharedTypeCache.forClasspath(List.of(jar2)).get("com.acme.Widget")).isNull();
+        assertThat((String) sharedTypeCache.forClasspath(List.of()).get("com.acme.Widget")).isNull();
+    }
+
+    @Test
+    void typesOfChangedJarShouldBeKeptApart(@TempDir Path tempDir) throws IOException {
+        Path jar = createJar(tempDir.resolve("acme.jar"), "com/acme/Widget.class");
+        SharedJavaTypeCache sharedTypeCache = new SharedJavaTypeCache(0);
+        SharedJavaTypeCache.ClasspathTypeCache typeCache = sharedTypeCache.forClasspath(List.of(jar));
+        typeCache.put("com.acme.Widget", "Widget from 1.0");
+
+        createJar(jar, "com/acme/Widget.class", "com/acme/Gadget.class");
+        typeCache.setClasspath(List.of(jar));
+
+        assertThat((String) typeCache.get("com.acme.Widget")).isNull();
+    }
+
+    @Test
+    void leastRecentlyUsedTypesShouldBeEvicted() {
+        SharedJavaTypeCache sharedTypeCache = new SharedJavaTypeCache(2);
+        JavaTypeCache typeCache = sharedTypeCache.forClasspath(List.of());
+        typeCache.put("java.lang.String", "String");
+        typeCache.put("java.lang.Integer", "Integer");
+        typeCache.get("java.lang.String");
+        typeCache.put("java.lang.Long", "Long");
+
+        assertThat(sharedTypeCache.size()).isEqualTo(2);
+        assertThat((String) typeCache.get("java.lang.String")).isEqualTo("String");
+        assertThat((String) typeCache.get("java.lang.Integer")).isNull();
+        assertThat((String) typeCache.get("java.lang.Long")).isEqualTo("Long");
+    }
+
+    private static Path createJar(Path jar, String... entries) throws IOException {
+        try (OutputStream out = Files.newOutputStream(jar); JarOutputStream jarOut = new JarOutputStream(out)) {
+            for (String entry : entries) {
+                jarOut.putNextEntry(new JarEntry(entry));
+                jarOut.closeEntry();
+            }
+        }
+        return jar;
+    }
+}
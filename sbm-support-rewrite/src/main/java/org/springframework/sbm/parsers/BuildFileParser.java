@@ -25,8 +25,10 @@ import org.openrewrite.marker.Marker;
 import org.openrewrite.maven.MavenExecutionContextView;
 import org.openrewrite.maven.MavenMojoProjectParser;
 import org.openrewrite.maven.MavenParser;
+import org.openrewrite.maven.cache.CompositeMavenPomCache;
 import org.openrewrite.maven.cache.InMemoryMavenPomCache;
 import org.openrewrite.maven.cache.MavenPomCache;
+import org.openrewrite.maven.cache.RocksdbMavenPomCache;
 import org.openrewrite.xml.tree.Xml;
 import org.springframework.core.io.Resource;
 import org.springframework.sbm.utils.ResourceUtil;
@@ -52,6 +54,7 @@ import static java.util.Collections.emptyList;
 class BuildFileParser {
 
     private final ParserSettings parserSettings;
+    private CountingMavenPomCache pomCache;
 
     /**
      * Parse a list of Maven Pom files to a Map of {@code Path} and their parsed {@link Xml.Document}s.
@@ -99,8 +102,7 @@ class BuildFileParser {
         if (parserSettings.isPomCacheEnabled()) {
             //The default pom cache is enabled as a two-layer cache L1 == in-memory and L2 == RocksDb
             //If the flag is set to false, only the default, in-memory cache is used.
-            MavenPomCache pomCache = getPomCache();
-            MavenExecutionContextView.view(executionContext).setPomCache(pomCache);
+            MavenExecutionContextView.view(executionContext).setPomCache(getPomCache());
         }
 
         // 395 : 398
@@ -109,6 +111,9 @@ class BuildFileParser {
 
         // 400 : 402
         List<SourceFile> parsedPoms = parsePoms(baseDir, buildFiles, mavenParserBuilder, executionContext);
+        if (parserSettings.isPomCacheEnabled()) {
+            log.debug("Pom cache: %d hits, %d misses".formatted(getPomCache().getHits(), getPomCache().getMisses()));
+        }
 
         parsedPoms = parsedPoms.stream()
                 .map(pp -> this.markPomFile(pp, provenanceMarkers.getOrDefault(baseDir.resolve(pp.getSourcePath()), emptyList())))
@@ -170,37 +175,44 @@ class BuildFileParser {
 
     /**
      * {@link MavenMojoProjectParser##getPomCache()}
+     * <p>
+     * The cache is created once and reused for all subsequent parses.
+     * OpenRewrite keeps one RocksDB instance per cache directory open for the lifetime of the JVM,
+     * it offers no API to close it.
      */
-    private static MavenPomCache getPomCache() {
-//        if (pomCache == null) {
-//            if (isJvm64Bit()) {
-//                try {
-//                    if (pomCacheDirectory == null) {
-//                        //Default directory in the RocksdbMavenPomCache is ".rewrite-cache"
-//                        pomCache = new CompositeMavenPomCache(
-//                                new InMemoryMavenPomCache(),
-//                                new RocksdbMavenPomCache(Paths.get(System.getProperty("user.home")))
-//                        );
-//                    } else {
-//                        pomCache = new CompositeMavenPomCache(
-//                                new InMemoryMavenPomCache(),
-//                                new RocksdbMavenPomCache(Paths.get(pomCacheDirectory))
-//                        );
-//                    }
-//                } catch (Exception e) {
-//                    logger.warn("Unable to initialize RocksdbMavenPomCache, falling back to InMemoryMavenPomCache");
-//                    logger.debug(e);
-//                }
-//            } else {
-//                logger.warn("RocksdbMavenPomCache is not supported on 32-bit JVM. falling back to InMemoryMavenPomCache");
-//            }
-//        }
-//        if (pomCache == null) {
-            MavenPomCache pomCache = new InMemoryMavenPomCache();
-//        }
+    synchronized CountingMavenPomCache getPomCache() {
+        if (pomCache == null) {
+            pomCache = new CountingMavenPomCache(createPomCache(parserSettings.getPomCacheDirectory()));
+        }
         return pomCache;
     }
 
+    private MavenPomCache createPomCache(String pomCacheDirectory) {
+        if (isJvm64Bit()) {
+            try {
+                //Default directory in the RocksdbMavenPomCache is ".rewrite-cache"
+                Path cacheDirectory = pomCacheDirectory == null ? Path.of(System.getProperty("user.home")) : Path.of(pomCacheDirectory);
+                MavenPomCache cache = new CompositeMavenPomCache(
+                        new InMemoryMavenPomCache(),
+                        new RocksdbMavenPomCache(cacheDirectory)
+                );
+                return cache;
+            } catch (Exception e) {
+                log.warn("Unable to initialize RocksdbMavenPomCache, falling back to InMemoryMavenPomCache");
+                log.debug("Failed to initialize RocksdbMavenPomCache", e);
+            }
+        } else {
+            log.warn("RocksdbMavenPomCache is not supported on 32-bit JVM. falling back to InMemoryMavenPomCache");
+        }
+        return new InMemoryMavenPomCache();
+    }
+
+    private static boolean isJvm64Bit() {
+        //It appears most JVM vendors set this property. Only return false if the
+        //property has been set AND it is set to 32.
+        return !"32".equals(System.getProperty("sun.arch.data.model", "64"));
+    }
+
     private void initializeMavenSettings(ExecutionContext executionContext) {
 
     }
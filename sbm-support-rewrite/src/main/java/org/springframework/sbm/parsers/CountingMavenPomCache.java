@@ -0,0 +1,100 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.parsers;
+
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.maven.MavenDownloadingException;
+import org.openrewrite.maven.cache.MavenPomCache;
+import org.openrewrite.maven.tree.*;
+
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link MavenPomCache} delegating to another {@link MavenPomCache} and counting cache hits and misses.
+ */
+class CountingMavenPomCache implements MavenPomCache {
+
+    private final MavenPomCache delegate;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    CountingMavenPomCache(MavenPomCache delegate) {
+        this.delegate = delegate;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    @Nullable
+    @Override
+    public ResolvedPom getResolvedDependencyPom(ResolvedGroupArtifactVersion dependency) {
+        return count(delegate.getResolvedDependencyPom(dependency));
+    }
+
+    @Override
+    public void putResolvedDependencyPom(ResolvedGroupArtifactVersion dependency, ResolvedPom resolved) {
+        delegate.putResolvedDependencyPom(dependency, resolved);
+    }
+
+    @Nullable
+    @Override
+    public Optional<MavenMetadata> getMavenMetadata(URI repo, GroupArtifactVersion gav) {
+        return count(delegate.getMavenMetadata(repo, gav));
+    }
+
+    @Override
+    public void putMavenMetadata(URI repo, GroupArtifactVersion gav, @Nullable MavenMetadata metadata) {
+        delegate.putMavenMetadata(repo, gav, metadata);
+    }
+
+    @Nullable
+    @Override
+    public Optional<Pom> getPom(ResolvedGroupArtifactVersion gav) throws MavenDownloadingException {
+        return count(delegate.getPom(gav));
+    }
+
+    @Override
+    public void putPom(ResolvedGroupArtifactVersion gav, @Nullable Pom pom) {
+        delegate.putPom(gav, pom);
+    }
+
+    @Nullable
+    @Override
+    public Optional<MavenRepository> getNormalizedRepository(MavenRepository repository) {
+        return count(delegate.getNormalizedRepository(repository));
+    }
+
+    @Override
+    public void putNormalizedRepository(MavenRepository repository, MavenRepository normalized) {
+        delegate.putNormalizedRepository(repository, normalized);
+    }
+
+    private <T> T count(@Nullable T cached) {
+        if (cached == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return cached;
+    }
+}
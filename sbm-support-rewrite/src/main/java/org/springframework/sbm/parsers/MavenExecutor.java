@@ -19,13 +19,21 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.maven.Maven;
 import org.apache.maven.execution.*;
-import org.apache.maven.project.MavenProject;
+import org.apache.maven.internal.aether.DefaultRepositorySystemSessionFactory;
+import org.apache.maven.project.*;
 import org.codehaus.plexus.PlexusContainer;
 import org.codehaus.plexus.component.repository.exception.ComponentLookupException;
+import org.codehaus.plexus.util.dag.CycleDetectedException;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.repository.WorkspaceReader;
+import org.eclipse.aether.repository.WorkspaceRepository;
 import org.springframework.stereotype.Component;
 
+import java.io.File;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Consumer;
 
 /**
@@ -86,6 +94,45 @@ class MavenExecutor {
         execute(request);
     }
 
+    /**
+     * Resolves the {@link MavenProject}s of the reactor build in {@code baseDir} without executing any lifecycle phase.
+     * The project graph is built and dependencies are resolved through the {@link ProjectBuilder} of the embedded
+     * Plexus container. Dependencies on other modules of the reactor are resolved to their build output directory.
+     *
+     * @return the {@link MavenProject}s in reactor order
+     */
+    public List<MavenProject> resolveSortedProjects(Path baseDir) {
+        try {
+            PlexusContainer plexusContainer = mavenPlexusContainer.get();
+            MavenExecutionRequest request = requestFactory.createMavenExecutionRequest(plexusContainer, baseDir);
+            DefaultRepositorySystemSession repositorySession = plexusContainer.lookup(DefaultRepositorySystemSessionFactory.class).newRepositorySession(request);
+            ProjectBuilder projectBuilder = plexusContainer.lookup(ProjectBuilder.class);
+            ProjectBuildingRequest buildingRequest = request.getProjectBuildingRequest()
+                    .setRepositorySession(repositorySession)
+                    .setResolveDependencies(false);
+            List<File> pom = List.of(request.getPom());
+
+            // the reactor modules must be known before their dependencies can be resolved
+            List<MavenProject> reactorProjects = projectBuilder.build(pom, true, buildingRequest).stream()
+                    .map(ProjectBuildingResult::getProject)
+                    .toList();
+            repositorySession.setWorkspaceReader(new ReactorWorkspaceReader(reactorProjects));
+            buildingRequest.setResolveDependencies(true);
+            List<ProjectBuildingResult> results = projectBuilder.build(pom, true, buildingRequest);
+            results.stream()
+                    .filter(r -> r.getDependencyResolutionResult() != null)
+                    .forEach(r -> r.getDependencyResolutionResult().getCollectionErrors().forEach(e -> log.warn("Could not resolve dependency of project '%s': %s".formatted(r.getProjectId(), e.getMessage()))));
+            List<MavenProject> projects = results.stream()
+                    .map(ProjectBuildingResult::getProject)
+                    .toList();
+            return new ProjectSorter(projects).getSortedProjects();
+        } catch (ComponentLookupException e) {
+            throw new RuntimeException(e);
+        } catch (ProjectBuildingException | CycleDetectedException | DuplicateProjectException e) {
+            throw new MavenExecutionResultException("Maven could not resolve the projects in '%s'".formatted(baseDir), List.of(e));
+        }
+    }
+
     /**
      * Executes the {@code request} against Maven.
      *
@@ -103,6 +150,51 @@ class MavenExecutor {
             throw new RuntimeException(e);
         }
     }
-}
 
+    /**
+     * Resolves artifacts of reactor modules to their pom file or build output directory.
+     * The build output directory only exists when the module was compiled before, {@link SourceFileParser} attributes
+     * the types of modules without output directory from their sources.
+     */
+    private static class ReactorWorkspaceReader implements WorkspaceReader {
+
+        private final WorkspaceRepository repository = new WorkspaceRepository("reactor");
+        private final List<MavenProject> reactorProjects;
+
+        ReactorWorkspaceReader(List<MavenProject> reactorProjects) {
+            this.reactorProjects = reactorProjects;
+        }
+
+        @Override
+        public WorkspaceRepository getRepository() {
+            return repository;
+        }
+
+        @Override
+        public File findArtifact(Artifact artifact) {
+            return findProject(artifact)
+                    .map(p -> "pom".equals(artifact.getExtension()) ? p.getFile() : outputDirectory(p))
+                    .orElse(null);
+        }
+
+        private File outputDirectory(MavenProject project) {
+            return new File(project.getBuild().getOutputDirectory());
+        }
+
+        @Override
+        public List<String> findVersions(Artifact artifact) {
+            return findProject(artifact)
+                    .map(MavenProject::getVersion)
+                    .stream()
+                    .toList();
+        }
 
+        private Optional<MavenProject> findProject(Artifact artifact) {
+            return reactorProjects.stream()
+                    .filter(p -> p.getGroupId().equals(artifact.getGroupId()))
+                    .filter(p -> p.getArtifactId().equals(artifact.getArtifactId()))
+                    .filter(p -> p.getVersion().equals(artifact.getBaseVersion()))
+                    .findFirst();
+        }
+    }
+}
@@ -18,6 +18,7 @@ package org.springframework.sbm.parsers;
 import lombok.*;
 import org.apache.commons.logging.Log;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.sbm.utils.SharedJavaTypeCache;
 import org.springframework.stereotype.Component;
 
 import java.nio.file.Path;
@@ -55,6 +56,20 @@ public class ParserSettings {
     private boolean failOnInvalidActiveRecipes = false;
     private List<String> activeProfiles = List.of("default");
     private Set<String> ignoredPathPatterns = new HashSet<>();
+    /**
+     * Number of modules parsed concurrently, modules are parsed sequentially in reactor order when {@code <= 1}.
+     */
+    private int parallelism = 1;
+    /**
+     * Resolve the Maven projects and their dependencies without running {@code clean install} on the parsed project.
+     * Nothing gets compiled then, types declared in other modules of the reactor are attributed from their sources
+     * unless these were compiled before.
+     */
+    private boolean resolveMavenModelOnly = true;
+    /**
+     * Maximum number of types kept in the type cache shared by all Java parsers of a scan, unbounded when {@code <= 0}.
+     */
+    private int typeCacheMaxEntries = SharedJavaTypeCache.DEFAULT_MAX_ENTRIES;
 
     /**
      * @return fully qualified classname of the logger to use.
@@ -106,4 +121,16 @@ public class ParserSettings {
     public Set<String> getIgnoredPathPatterns() {
         return ignoredPathPatterns;
     }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public boolean isResolveMavenModelOnly() {
+        return resolveMavenModelOnly;
+    }
+
+    public int getTypeCacheMaxEntries() {
+        return typeCacheMaxEntries;
+    }
 }
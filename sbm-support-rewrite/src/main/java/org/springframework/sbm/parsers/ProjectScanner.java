@@ -49,7 +49,7 @@ class ProjectScanner {
             throw new IllegalArgumentException("Provided path does not exist: " + baseDir);
         }
         Path absoluteRootPath = baseDir.toAbsolutePath();
-        String unifiedPath = new LinuxWindowsPathUnifier().unifyPath(absoluteRootPath.toString() + "/**");
+        String unifiedPath = LinuxWindowsPathUnifier.transformToLinuxPath(absoluteRootPath.toString() + "/**");
         String pattern = "file:" + unifiedPath;
         try {
             Resource[] resources = ResourcePatternUtils.getResourcePatternResolver(resourceLoader).getResources(pattern);
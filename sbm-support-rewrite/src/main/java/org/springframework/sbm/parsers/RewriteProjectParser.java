@@ -17,7 +17,6 @@ package org.springframework.sbm.parsers;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.project.MavenProject;
@@ -43,7 +42,6 @@ import org.springframework.util.ReflectionUtils;
 import java.lang.reflect.Method;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -86,6 +84,7 @@ public class RewriteProjectParser {
     private final ParserSettings parserSettings;
     private final ParsingEventListener parsingEventListener;
     private final ApplicationEventPublisher eventPublisher;
+    private final ProjectScanner projectScanner;
 
 
     /**
@@ -109,6 +108,54 @@ public class RewriteProjectParser {
      * @see MavenMojoProjectParser#listSourceFiles(MavenProject, List, ExecutionContext)
      */
     public RewriteProjectParsingResult parse(Path givenBaseDir, List<Resource> resources, ExecutionContext executionContext) {
+        StyleDetector.Detection styleDetection = styleDetector.startDetection();
+        List<SourceFile> sourceFiles = new ArrayList<>();
+        parseModules(givenBaseDir, resources, executionContext, moduleSourceFiles -> moduleSourceFiles.forEach(sourceFile -> {
+            styleDetection.sample(sourceFile);
+            sourceFiles.add(sourceFile);
+        }));
+        sourceFiles.replaceAll(styleDetection::applyStyles);
+
+        eventPublisher.publishEvent(new FinishedParsingProjectEvent(sourceFiles));
+
+        return new RewriteProjectParsingResult(sourceFiles, executionContext);
+    }
+
+    /**
+     * Scan and parse the project in {@code baseDir} and pass the {@link SourceFile}s to {@code sourceFileConsumer}.
+     * Resources matching {@link ParserSettings#getIgnoredPathPatterns()} are ignored.
+     *
+     * @see #parse(Path, List, ExecutionContext, Consumer)
+     */
+    public void parse(Path baseDir, ExecutionContext executionContext, Consumer<SourceFile> sourceFileConsumer) {
+        List<Resource> resources = projectScanner.scan(baseDir, parserSettings.getIgnoredPathPatterns());
+        parse(baseDir, resources, executionContext, sourceFileConsumer);
+    }
+
+    /**
+     * Parse given {@link Resource}s in {@code baseDir} like {@link #parse(Path, List, ExecutionContext)} but pass
+     * the {@link SourceFile}s to {@code sourceFileConsumer} instead of collecting them.
+     * <p>
+     * The build files are passed first, followed by the source files of each module in reactor order.
+     * Styles are detected per module and the source files of a module are released after they were consumed,
+     * heap usage is therefore bound by the largest modules and not by the size of the project.
+     * No {@link FinishedParsingProjectEvent} is published as the source files of the project are never available
+     * at once, parsing finished when this method returns.
+     */
+    public void parse(Path givenBaseDir, List<Resource> resources, ExecutionContext executionContext, Consumer<SourceFile> sourceFileConsumer) {
+        parseModules(givenBaseDir, resources, executionContext, moduleSourceFiles -> {
+            StyleDetector.Detection styleDetection = styleDetector.startDetection();
+            moduleSourceFiles.forEach(styleDetection::sample);
+            moduleSourceFiles.stream()
+                    .map(styleDetection::applyStyles)
+                    .forEach(sourceFileConsumer);
+        });
+    }
+
+    /**
+     * Passes the parsed build files and then the parsed source files of every module to {@code moduleSourceFilesConsumer}.
+     */
+    private void parseModules(Path givenBaseDir, List<Resource> resources, ExecutionContext executionContext, Consumer<List<SourceFile>> moduleSourceFilesConsumer) {
         if (!givenBaseDir.isAbsolute()) {
             givenBaseDir = givenBaseDir.toAbsolutePath().normalize();
         }
@@ -128,10 +175,7 @@ public class RewriteProjectParser {
         // TODO: Move this to a build file sort and filter component, for now it could use Maven's DefaultGraphBuilder
         //       this requires File to be used and thus binds the component to file access.
 
-        AtomicReference<RewriteProjectParsingResult> atomicReference = new AtomicReference<>();
-
-        withMavenSession(baseDir, mavenSession -> {
-            List<MavenProject> sortedProjectsList = mavenSession.getProjectDependencyGraph().getSortedProjects();
+        withSortedProjects(baseDir, sortedProjectsList -> {
             SortedProjects mavenInfos = new SortedProjects(resources, sortedProjectsList, List.of("default"));
 
 //            List<Resource> sortedBuildFileResources = buildFileParser.filterAndSortBuildFiles(resources);
@@ -146,26 +190,19 @@ public class RewriteProjectParser {
                     .map(r -> resourceToDocumentMap.get(ResourceUtil.getPath(r)))
                     .map(SourceFile.class::cast)
                     .toList();
+            moduleSourceFilesConsumer.accept(parsedAndSortedBuildFileDocuments);
             // 128 : 131
             log.trace("Start to parse %d source files in %d modules".formatted(resources.size() + resourceToDocumentMap.size(), resourceToDocumentMap.size()));
-            Stream<SourceFile> sourceFilesStream = sourceFileParser.parseOtherSourceFiles(baseDir, mavenInfos, resourceToDocumentMap, mavenInfos.getResources(), resources, provenanceMarkers, styles, executionContext);
-            List<SourceFile> list = sourceFilesStream.toList();
-//        List<SourceFile> sourceFilesWithoutPoms = sourceFilesStream.filter(sf -> resourceToDocumentMap.keySet().contains(baseDir.resolve(sf.getSourcePath()).toAbsolutePath().normalize())).toList();
-            List<SourceFile> resultingList = new ArrayList<>(); // sourceFilesStream2.toList();
-            resultingList.addAll(parsedAndSortedBuildFileDocuments);
-            resultingList.addAll(list);
-            List<SourceFile> sourceFiles = styleDetector.sourcesWithAutoDetectedStyles(resultingList.stream());
-
-            eventPublisher.publishEvent(new FinishedParsingProjectEvent(sourceFiles));
-
-            atomicReference.set(new RewriteProjectParsingResult(sourceFiles, executionContext));
+            sourceFileParser.parseOtherSourceFiles(baseDir, mavenInfos, resourceToDocumentMap, mavenInfos.getResources(), resources, provenanceMarkers, styles, executionContext, moduleSourceFilesConsumer);
         });
-
-        return atomicReference.get();
     }
 
-    private void withMavenSession(Path baseDir, Consumer<MavenSession> consumer) {
-        mavenExecutor.onProjectSucceededEvent(baseDir, List.of("clean", "install"), event -> consumer.accept(event.getSession()));
+    private void withSortedProjects(Path baseDir, Consumer<List<MavenProject>> consumer) {
+        if (parserSettings.isResolveMavenModelOnly()) {
+            consumer.accept(mavenExecutor.resolveSortedProjects(baseDir));
+        } else {
+            mavenExecutor.onProjectSucceededEvent(baseDir, List.of("clean", "install"), event -> consumer.accept(event.getSession().getProjectDependencyGraph().getSortedProjects()));
+        }
     }
 
     @org.jetbrains.annotations.Nullable
@@ -17,8 +17,11 @@ package org.springframework.sbm.parsers;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.model.Dependency;
 import org.apache.maven.project.MavenProject;
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.Parser;
 import org.openrewrite.SourceFile;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.marker.Marker;
@@ -28,11 +31,21 @@ import org.openrewrite.style.NamedStyles;
 import org.openrewrite.xml.tree.Xml;
 import org.springframework.core.io.Resource;
 import org.springframework.sbm.utils.ResourceUtil;
+import org.springframework.sbm.utils.SharedJavaTypeCache;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 /**
@@ -47,7 +60,12 @@ class SourceFileParser {
     private final ParserSettings parserSettings;
     private final MavenMojoProjectParserPrivateMethods mavenMojoProjectParserPrivateMethods;
 
-    public Stream<SourceFile> parseOtherSourceFiles(
+    /**
+     * Parses the source files of all modules and passes them to {@code moduleSourceFilesConsumer} one module at a time
+     * in reactor order.
+     * No references to the source files of a module are kept after they were passed to the consumer.
+     */
+    public void parseOtherSourceFiles(
             Path baseDir,
             SortedProjects mavenProject,
             Map<Path, Xml.Document> pathToDocumentMap,
@@ -55,28 +73,97 @@ class SourceFileParser {
             List<Resource> resources,
             Map<Path, List<Marker>> provenanceMarkers,
             List<NamedStyles> styles,
-            ExecutionContext executionContext) {
+            ExecutionContext executionContext,
+            Consumer<List<SourceFile>> moduleSourceFilesConsumer) {
+
+        List<MavenProject> sortedProjects = mavenProject.getSortedProjects();
+        SharedJavaTypeCache typeCache = new SharedJavaTypeCache(parserSettings.getTypeCacheMaxEntries());
+        int parallelism = Math.min(parserSettings.getParallelism(), sortedProjects.size());
+        if(parallelism <= 1) {
+            sortedProjects.forEach(currentMavenProject -> {
+                List<SourceFile> sourceFiles = parseModule(baseDir, mavenProject, currentMavenProject, pathToDocumentMap, resources, provenanceMarkers, styles, typeCache, executionContext);
+                moduleSourceFilesConsumer.accept(sourceFiles);
+            });
+        } else {
+            parseModulesInParallel(baseDir, mavenProject, pathToDocumentMap, resources, provenanceMarkers, styles, typeCache, executionContext, parallelism, moduleSourceFilesConsumer);
+        }
+        log.trace("Shared type cache holds %d types".formatted(typeCache.size()));
+    }
 
-        List<SourceFile> parsedSourceFiles = new ArrayList<>();
+    /**
+     * Parses modules concurrently on a pool of {@code parallelism} threads.
+     * A module is only scheduled after all modules of the reactor it depends on were parsed.
+     * The source files are passed to the consumer in reactor order.
+     * At most {@code 2 * parallelism} parsed modules are waiting to be consumed, a module is only scheduled after
+     * the source files of earlier modules were passed to the consumer.
+     */
+    private void parseModulesInParallel(Path baseDir, SortedProjects mavenProject, Map<Path, Xml.Document> pathToDocumentMap, List<Resource> resources, Map<Path, List<Marker>> provenanceMarkers, List<NamedStyles> styles, SharedJavaTypeCache typeCache, ExecutionContext executionContext, int parallelism, Consumer<List<SourceFile>> moduleSourceFilesConsumer) {
+        log.trace("Parsing %d modules with parallelism %d".formatted(mavenProject.getSortedProjects().size(), parallelism));
+        int maxPendingModules = 2 * parallelism;
+        ExecutorService executorService = Executors.newFixedThreadPool(parallelism);
+        try {
+            // modules depending on a module only wait for it to be parsed and don't reference its source files
+            Map<String, CompletableFuture<Void>> parsedModules = new HashMap<>();
+            Queue<CompletableFuture<List<SourceFile>>> pendingModules = new ArrayDeque<>();
+            for (MavenProject currentMavenProject : mavenProject.getSortedProjects()) {
+                if (pendingModules.size() >= maxPendingModules) {
+                    moduleSourceFilesConsumer.accept(join(pendingModules.poll()));
+                }
+                CompletableFuture<?>[] upstreamModules = reactorDependencies(currentMavenProject).stream()
+                        .map(parsedModules::get)
+                        .filter(Objects::nonNull)
+                        .toArray(CompletableFuture[]::new);
+                CompletableFuture<List<SourceFile>> parsedModule = CompletableFuture.allOf(upstreamModules)
+                        .thenApplyAsync(v -> parseModule(baseDir, mavenProject, currentMavenProject, pathToDocumentMap, resources, provenanceMarkers, styles, typeCache, executionContext), executorService);
+                parsedModules.put(coordinates(currentMavenProject), parsedModule.thenRun(() -> {}));
+                pendingModules.add(parsedModule);
+            }
+            while (!pendingModules.isEmpty()) {
+                moduleSourceFilesConsumer.accept(join(pendingModules.poll()));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
 
-        mavenProject.getSortedProjects().forEach(currentMavenProject -> {
-            Resource moduleBuildFileResource = mavenProject.getMatchingBuildFileResource(currentMavenProject);
-            Xml.Document moduleBuildFile = pathToDocumentMap.get(ResourceUtil.getPath(moduleBuildFileResource));
-            List<Marker> markers = provenanceMarkers.get(ResourceUtil.getPath(moduleBuildFileResource));
-            if(markers == null || markers.isEmpty()) {
-                log.warn("Could not find provenance markers for resource '%s'".formatted(mavenProject.getMatchingBuildFileResource(currentMavenProject)));
+    private List<SourceFile> join(CompletableFuture<List<SourceFile>> parsedModule) {
+        try {
+            return parsedModule.join();
+        } catch (CompletionException e) {
+            if(e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
             }
-            List<SourceFile> sourceFiles = parseModuleSourceFiles(resources, currentMavenProject, moduleBuildFile, markers, styles, executionContext, baseDir);
-            parsedSourceFiles.addAll(sourceFiles);
-        });
+            throw e;
+        }
+    }
+
+    private Set<String> reactorDependencies(MavenProject mavenProject) {
+        Set<String> dependencies = new HashSet<>();
+        if(mavenProject.getParent() != null) {
+            dependencies.add(coordinates(mavenProject.getParent()));
+        }
+        mavenProject.getDependencies().forEach(d -> dependencies.add(d.getGroupId() + ":" + d.getArtifactId()));
+        return dependencies;
+    }
 
-        return parsedSourceFiles.stream();
+    private static String coordinates(MavenProject mavenProject) {
+        return mavenProject.getGroupId() + ":" + mavenProject.getArtifactId();
+    }
+
+    private List<SourceFile> parseModule(Path baseDir, SortedProjects mavenProject, MavenProject currentMavenProject, Map<Path, Xml.Document> pathToDocumentMap, List<Resource> resources, Map<Path, List<Marker>> provenanceMarkers, List<NamedStyles> styles, SharedJavaTypeCache typeCache, ExecutionContext executionContext) {
+        Resource moduleBuildFileResource = mavenProject.getMatchingBuildFileResource(currentMavenProject);
+        Xml.Document moduleBuildFile = pathToDocumentMap.get(ResourceUtil.getPath(moduleBuildFileResource));
+        List<Marker> markers = provenanceMarkers.get(ResourceUtil.getPath(moduleBuildFileResource));
+        if(markers == null || markers.isEmpty()) {
+            log.warn("Could not find provenance markers for resource '%s'".formatted(moduleBuildFileResource));
+        }
+        return parseModuleSourceFiles(mavenProject.getSortedProjects(), resources, currentMavenProject, moduleBuildFile, markers, styles, typeCache, executionContext, baseDir);
     }
 
     /**
      * {@link org.openrewrite.maven.MavenMojoProjectParser#listSourceFiles(MavenProject, Xml.Document, List, List, ExecutionContext)}
      */
-    private List<SourceFile> parseModuleSourceFiles(List<Resource> resources, MavenProject mavenProject, Xml.Document moduleBuildFile, List<Marker> provenanceMarkers, List<NamedStyles> styles, ExecutionContext executionContext, Path baseDir) {
+    private List<SourceFile> parseModuleSourceFiles(List<MavenProject> sortedProjects, List<Resource> resources, MavenProject mavenProject, Xml.Document moduleBuildFile, List<Marker> provenanceMarkers, List<NamedStyles> styles, SharedJavaTypeCache typeCache, ExecutionContext executionContext, Path baseDir) {
         List<SourceFile> sourceFiles = new ArrayList<>();
         // 146:149: get source encoding from maven
         // TDOD:
@@ -102,8 +189,15 @@ class SourceFileParser {
 
         // 155:156: parse main and test sources
         Set<Path> alreadyParsed = new HashSet<>();
-        List<SourceFile> mainSources = parseMainSources(baseDir, mavenProject, moduleBuildFile, javaParserBuilder.clone(), rp, provenanceMarkers, alreadyParsed, executionContext);
-        List<SourceFile> testSources = parseTestSources(baseDir, mavenProject, moduleBuildFile, javaParserBuilder.clone(), rp, provenanceMarkers, alreadyParsed, executionContext);
+        alreadyParsed.add(baseDir.resolve(moduleBuildFile.getSourcePath()));
+        JavaParser.Builder<? extends JavaParser, ?> mainJavaParserBuilder = javaParserBuilder.clone()
+                .typeCache(typeCache.forClasspath(classpath(mavenProject, false)))
+                .dependsOn(uncompiledReactorSources(sortedProjects, mavenProject, false));
+        JavaParser.Builder<? extends JavaParser, ?> testJavaParserBuilder = javaParserBuilder.clone()
+                .typeCache(typeCache.forClasspath(classpath(mavenProject, true)))
+                .dependsOn(uncompiledReactorSources(sortedProjects, mavenProject, true));
+        List<SourceFile> mainSources = parseMainSources(baseDir, mavenProject, moduleBuildFile, mainJavaParserBuilder, rp, provenanceMarkers, alreadyParsed, executionContext);
+        List<SourceFile> testSources = parseTestSources(baseDir, mavenProject, moduleBuildFile, testJavaParserBuilder, rp, provenanceMarkers, alreadyParsed, executionContext);
 
         // 171:175
         Stream<SourceFile> parsedResourceFiles = rp.parse(baseDir.resolve(moduleBuildFile.getSourcePath()).getParent(), alreadyParsed )
@@ -120,6 +214,72 @@ class SourceFileParser {
     }
 
 
+    /**
+     * The classpath {@link MavenMojoProjectParser} passes to the JavaParser for the main or test sources of {@code mavenProject}.
+     */
+    private List<Path> classpath(MavenProject mavenProject, boolean test) {
+        try {
+            List<String> classpathElements = test ? mavenProject.getTestClasspathElements() : mavenProject.getCompileClasspathElements();
+            return classpathElements.stream().map(Path::of).toList();
+        } catch (DependencyResolutionRequiredException e) {
+            log.debug("Could not get classpath of '%s', its types are cached without classpath".formatted(mavenProject.getId()), e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Java sources of the reactor modules {@code mavenProject} depends on which were not compiled, for test sources
+     * including the main sources of {@code mavenProject}.
+     * <p>
+     * Reactor dependencies resolve to the build output directory of their module.
+     * When the project was not built, e.g. with {@link ParserSettings#isResolveMavenModelOnly()}, the types declared
+     * in these modules are attributed from their sources instead.
+     */
+    private List<Parser.Input> uncompiledReactorSources(List<MavenProject> sortedProjects, MavenProject mavenProject, boolean test) {
+        Map<String, MavenProject> reactorProjects = new HashMap<>();
+        sortedProjects.forEach(p -> reactorProjects.put(coordinates(p), p));
+        Set<MavenProject> upstreamProjects = new LinkedHashSet<>();
+        if (test) {
+            upstreamProjects.add(mavenProject);
+        }
+        Deque<Dependency> dependencies = new ArrayDeque<>(mavenProject.getDependencies().stream()
+                .filter(d -> test || !"test".equals(d.getScope()) && !"runtime".equals(d.getScope()))
+                .toList());
+        while (!dependencies.isEmpty()) {
+            Dependency dependency = dependencies.pop();
+            MavenProject upstreamProject = reactorProjects.get(dependency.getGroupId() + ":" + dependency.getArtifactId());
+            if (upstreamProject != null && upstreamProjects.add(upstreamProject)) {
+                upstreamProject.getDependencies().stream()
+                        .filter(d -> d.getScope() == null || "compile".equals(d.getScope()))
+                        .forEach(dependencies::add);
+            }
+        }
+        return upstreamProjects.stream()
+                .filter(p -> !Files.isDirectory(Path.of(p.getBuild().getOutputDirectory())))
+                .flatMap(p -> javaSources(Path.of(p.getBuild().getSourceDirectory())))
+                .map(p -> new Parser.Input(p, () -> getInputStream(p)))
+                .toList();
+    }
+
+    private Stream<Path> javaSources(Path sourceDirectory) {
+        if (!Files.isDirectory(sourceDirectory)) {
+            return Stream.empty();
+        }
+        try (Stream<Path> files = Files.walk(sourceDirectory)) {
+            return files.filter(f -> f.toString().endsWith(".java")).toList().stream();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read sources in '%s'".formatted(sourceDirectory), e);
+        }
+    }
+
+    private static InputStream getInputStream(Path path) {
+        try {
+            return Files.newInputStream(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read '%s'".formatted(path), e);
+        }
+    }
+
     private List<SourceFile> mergeAndFilterExcluded(Path baseDir, Set<String> exclusions, List<SourceFile> mainSources, List<SourceFile> testSources) {
         List<PathMatcher> pathMatchers = exclusions.stream()
                 .map(pattern -> baseDir.getFileSystem().getPathMatcher("glob:" + pattern))
@@ -18,12 +18,18 @@ package org.springframework.sbm.parsers;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
+import org.openrewrite.java.tree.JavaSourceFile;
 import org.openrewrite.maven.AbstractRewriteMojo;
+import org.openrewrite.style.NamedStyles;
+import org.openrewrite.xml.tree.Xml;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ReflectionUtils;
 
 import java.lang.reflect.Method;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 /**
@@ -38,6 +44,46 @@ class StyleDetector {
         return (List<SourceFile>) ReflectionUtils.invokeMethod(method, m, sourceFilesStream);
     }
 
+    /**
+     * Starts a style detection sampling the source files one at a time, e.g. while they are parsed.
+     * Produces the same styles as {@link #sourcesWithAutoDetectedStyles(Stream)} without collecting the source files.
+     */
+    public Detection startDetection() {
+        return new Detection();
+    }
+
+    /**
+     * Samples source files and applies the styles detected from all samples.
+     * No source files are sampled after styles were applied.
+     */
+    public static class Detection {
+        private final org.openrewrite.java.style.Autodetect.Detector javaDetector = org.openrewrite.java.style.Autodetect.detector();
+        private final org.openrewrite.xml.style.Autodetect.Detector xmlDetector = org.openrewrite.xml.style.Autodetect.detector();
+        private Map<Class<? extends Tree>, NamedStyles> stylesByType;
+
+        public void sample(SourceFile sourceFile) {
+            if (stylesByType != null) {
+                throw new IllegalStateException("Styles were already applied.");
+            }
+            javaDetector.sample(sourceFile);
+            xmlDetector.sample(sourceFile);
+        }
+
+        public SourceFile applyStyles(SourceFile sourceFile) {
+            if (stylesByType == null) {
+                stylesByType = new HashMap<>();
+                stylesByType.put(JavaSourceFile.class, javaDetector.build());
+                stylesByType.put(Xml.Document.class, xmlDetector.build());
+            }
+            for (Map.Entry<Class<? extends Tree>, NamedStyles> styleTypeEntry : stylesByType.entrySet()) {
+                if (styleTypeEntry.getKey().isAssignableFrom(sourceFile.getClass())) {
+                    sourceFile = sourceFile.withMarkers(sourceFile.getMarkers().add(styleTypeEntry.getValue()));
+                }
+            }
+            return sourceFile;
+        }
+    }
+
     static class OpenedRewriteMojo extends AbstractRewriteMojo {
 
         @Override
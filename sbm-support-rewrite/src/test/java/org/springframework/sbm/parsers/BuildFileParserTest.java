@@ -20,6 +20,7 @@ import org.intellij.lang.annotations.Language;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.java.marker.JavaProject;
@@ -237,4 +238,61 @@ class BuildFileParserTest {
 
     }
 
-}
\ No newline at end of file
+    @Nested
+    public class PomCache {
+
+        @Test
+        @DisplayName("pom cache should be persisted in pomCacheDirectory and reused")
+        void pomCacheShouldBePersistedInPomCacheDirectoryAndReused(@TempDir Path tempDir) {
+            ParserSettings parserSettings = new ParserSettings();
+            parserSettings.setPomCacheDirectory(tempDir.toString());
+            BuildFileParser sut = new BuildFileParser(parserSettings);
+
+            CountingMavenPomCache pomCache = sut.getPomCache();
+
+            assertThat(sut.getPomCache()).isSameAs(pomCache);
+            assertThat(tempDir.resolve(".rewrite-cache")).isDirectory();
+            assertThat(pomCache.getHits()).isZero();
+            assertThat(pomCache.getMisses()).isZero();
+        }
+
+        @Test
+        @DisplayName("second scan should be served from the pom cache")
+        void secondScanShouldBeServedFromPomCache(@TempDir Path tempDir) {
+            ParserSettings parserSettings = new ParserSettings();
+            parserSettings.setPomCacheDirectory(tempDir.toString());
+            BuildFileParser sut = new BuildFileParser(parserSettings);
+            @Language("xml")
+            String pom = """
+                    <?xml version="1.0" encoding="UTF-8"?>
+                    <project xmlns="http://maven.apache.org/POM/4.0.0"
+                             xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                             xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 http://maven.apache.org/xsd/maven-4.0.0.xsd">
+                        <modelVersion>4.0.0</modelVersion>
+                        <groupId>com.example</groupId>
+                        <artifactId>example</artifactId>
+                        <version>1.0</version>
+                        <dependencies>
+                            <dependency>
+                                <groupId>javax.validation</groupId>
+                                <artifactId>validation-api</artifactId>
+                                <version>2.0.1.Final</version>
+                            </dependency>
+                        </dependencies>
+                    </project>
+                    """;
+            Path baseDir = Path.of(".").toAbsolutePath().normalize();
+            Path pomPath = baseDir.resolve("pom.xml");
+            List<Resource> resources = List.of(new DummyResource(pomPath, pom));
+            Map<Path, List<Marker>> provenanceMarkers = Map.of(pomPath, List.of(new JavaProject(UUID.randomUUID(), "example", null)));
+
+            sut.parseBuildFiles(baseDir, resources, List.of("default"), new InMemoryExecutionContext(t -> t.printStackTrace()), false, provenanceMarkers);
+            long hitsAfterFirstScan = sut.getPomCache().getHits();
+            assertThat(sut.getPomCache().getMisses()).isPositive();
+
+            sut.parseBuildFiles(baseDir, resources, List.of("default"), new InMemoryExecutionContext(t -> t.printStackTrace()), false, provenanceMarkers);
+
+            assertThat(sut.getPomCache().getHits()).isGreaterThan(hitsAfterFirstScan);
+        }
+    }
+}
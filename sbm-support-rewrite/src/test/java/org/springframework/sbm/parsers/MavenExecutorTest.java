@@ -15,6 +15,7 @@
  */
 package org.springframework.sbm.parsers;
 
+import org.apache.maven.project.MavenProject;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -40,5 +41,14 @@ class MavenExecutorTest {
         });
     }
 
-
+    @Test
+    @DisplayName("Resolve sorted projects without running Maven goals")
+    void resolveSortedProjectsWithoutRunningMavenGoals() {
+        MavenExecutionRequestFactory requestFactory = new MavenExecutionRequestFactory(new MavenConfigFileParser());
+        MavenPlexusContainer containerFactory= new MavenPlexusContainer();
+        MavenExecutor sut = new MavenExecutor(requestFactory, containerFactory);
+        Path baseDir = Path.of("./testcode/maven-projects/multi-module-1").toAbsolutePath().normalize();
+        List<MavenProject> sortedProjects = sut.resolveSortedProjects(baseDir);
+        assertThat(sortedProjects).extracting(MavenProject::getArtifactId).containsExactly("multi-module-1", "module-b", "module-a");
+    }
 }
\ No newline at end of file
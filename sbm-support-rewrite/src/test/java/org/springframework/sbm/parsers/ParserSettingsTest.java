@@ -109,6 +109,24 @@ class ParserSettingsTest {
         void validIgnoredPathPatterns() {
          assertThat(parserSettings.getIgnoredPathPatterns()).containsExactlyInAnyOrder("/**/.idea/*", "/**/.git/*");
         }
+
+        @Test
+        @DisplayName("valid parallelism")
+        void validParallelism() {
+            assertThat(parserSettings.getParallelism()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("valid resolveMavenModelOnly")
+        void validResolveMavenModelOnly() {
+            assertThat(parserSettings.isResolveMavenModelOnly()).isFalse();
+        }
+
+        @Test
+        @DisplayName("valid typeCacheMaxEntries")
+        void validTypeCacheMaxEntries() {
+            assertThat(parserSettings.getTypeCacheMaxEntries()).isEqualTo(1000);
+        }
     }
 
 }
\ No newline at end of file
@@ -261,7 +261,8 @@ class RewriteMavenProjectParserTest {
                 new StyleDetector(),
                 parserSettings,
                 mock(ParsingEventListener.class),
-                mock(ApplicationEventPublisher.class)
+                mock(ApplicationEventPublisher.class),
+                new ProjectScanner(new FileSystemResourceLoader())
         );
 
         Set<String> ignoredPatters = Set.of();
@@ -15,11 +15,13 @@
  */
 package org.springframework.sbm.parsers;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junitpioneer.jupiter.Issue;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.TestConfiguration;
@@ -53,6 +55,13 @@ public class RewriteProjectParserIntegrationTest {
     private static StartedParsingProjectEvent startedParsingEvent;
     private static FinishedParsingProjectEvent finishedParsingEvent;
 
+    @BeforeEach
+    void beforeEach() {
+        capturedEvents.clear();
+        startedParsingEvent = null;
+        finishedParsingEvent = null;
+    }
+
     @Test
     @DisplayName("Should publish parsing events")
     void shouldPublishParsingEvents() {
@@ -109,6 +118,36 @@ public class RewriteProjectParserIntegrationTest {
         assertThat(parsingResult.sourceFiles().stream().map(sf -> sf.getSourcePath().toString()).toList()).contains("checkstyle/suppressions.xml");
     }
 
+    @Test
+    @DisplayName("Should pass the same source files to consumer")
+    void shouldPassSameSourceFilesToConsumer() {
+        Path baseDir = Path.of("./testcode/maven-projects/multi-module-1");
+        List<Resource> resources = projectScanner.scan(baseDir, Set.of("**/target/**", "**/*.adoc"));
+        RewriteProjectParsingResult parsingResult = sut.parse(baseDir, resources, new InMemoryExecutionContext(t -> {throw new RuntimeException(t);}));
+        finishedParsingEvent = null;
+
+        List<SourceFile> consumedSourceFiles = new ArrayList<>();
+        sut.parse(baseDir, resources, new InMemoryExecutionContext(t -> {throw new RuntimeException(t);}), consumedSourceFiles::add);
+
+        assertThat(consumedSourceFiles.stream().map(sf -> sf.getSourcePath().toString()).toList())
+                .containsExactlyElementsOf(parsingResult.sourceFiles().stream().map(sf -> sf.getSourcePath().toString()).toList());
+        assertThat(finishedParsingEvent).isNull();
+    }
+
+    @Test
+    @DisplayName("Should scan and pass source files to consumer")
+    void shouldScanAndPassSourceFilesToConsumer() {
+        Path baseDir = Path.of("./testcode/maven-projects/multi-module-1");
+
+        List<SourceFile> consumedSourceFiles = new ArrayList<>();
+        sut.parse(baseDir, new InMemoryExecutionContext(t -> {throw new RuntimeException(t);}), consumedSourceFiles::add);
+
+        assertThat(consumedSourceFiles.stream().map(sf -> sf.getSourcePath().toString()).toList())
+                .startsWith("pom.xml")
+                .contains("module-a/pom.xml", "module-b/pom.xml");
+        assertThat(startedParsingEvent).isNotNull();
+    }
+
     private Path getMavenProject(String s) {
         return Path.of("./testcode/maven-projects/").resolve(s).toAbsolutePath().normalize();
     }
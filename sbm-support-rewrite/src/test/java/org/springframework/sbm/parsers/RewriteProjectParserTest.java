@@ -24,9 +24,11 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.Parser;
 import org.openrewrite.SourceFile;
+import org.openrewrite.java.tree.J;
 import org.openrewrite.tree.ParsingEventListener;
 import org.openrewrite.tree.ParsingExecutionContextView;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.FileSystemResourceLoader;
 import org.springframework.core.io.Resource;
 import org.springframework.sbm.test.util.DummyResource;
 import org.springframework.sbm.utils.ResourceUtil;
@@ -39,6 +41,7 @@ import java.time.format.FormatStyle;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -103,7 +106,8 @@ class RewriteProjectParserTest {
                 new StyleDetector(),
                 parserSettings,
                 mock(ParsingEventListener.class),
-                mock(ApplicationEventPublisher.class)
+                mock(ApplicationEventPublisher.class),
+                new ProjectScanner(new FileSystemResourceLoader())
         );
         ExecutionContext executionContext = new InMemoryExecutionContext(t -> t.printStackTrace());
         List<String> parsedFiles = new ArrayList<>();
@@ -125,4 +129,35 @@ class RewriteProjectParserTest {
         RewriteProjectParsingResult parsingResult = projectParser.parse(basePath, resources, executionContext);
         assertThat(parsingResult.sourceFiles()).hasSize(2);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should attribute types declared in other modules")
+    void shouldAttributeTypesDeclaredInOtherModules() {
+        Path baseDir = Path.of("./testcode/maven-projects/multi-module-java").toAbsolutePath().normalize();
+        ParserSettings parserSettings = new ParserSettings();
+        MavenMojoProjectParserFactory mavenMojoProjectParserFactory = new MavenMojoProjectParserFactory(parserSettings);
+        MavenMojoProjectParserPrivateMethods mavenMojoParserPrivateMethods = new MavenMojoProjectParserPrivateMethods(mavenMojoProjectParserFactory, new RewriteMavenArtifactDownloader());
+        RewriteProjectParser projectParser = new RewriteProjectParser(
+                new MavenExecutor(new MavenExecutionRequestFactory(new MavenConfigFileParser()), new MavenPlexusContainer()),
+                new ProvenanceMarkerFactory(mavenMojoProjectParserFactory),
+                new BuildFileParser(parserSettings),
+                new SourceFileParser(new MavenModelReader(), parserSettings, mavenMojoParserPrivateMethods),
+                new StyleDetector(),
+                parserSettings,
+                mock(ParsingEventListener.class),
+                mock(ApplicationEventPublisher.class),
+                new ProjectScanner(new FileSystemResourceLoader())
+        );
+        List<Resource> resources = new ProjectScanner(new FileSystemResourceLoader()).scan(baseDir, Set.of("**/target/**", "**/*.adoc"));
+
+        RewriteProjectParsingResult parsingResult = projectParser.parse(baseDir, resources, new InMemoryExecutionContext(t -> {throw new RuntimeException(t);}));
+
+        J.CompilationUnit a = parsingResult.sourceFiles().stream()
+                .filter(s -> s.getSourcePath().endsWith("A.java"))
+                .map(J.CompilationUnit.class::cast)
+                .findFirst()
+                .orElseThrow();
+        J.VariableDeclarations field = (J.VariableDeclarations) a.getClasses().get(0).getBody().getStatements().get(0);
+        assertThat(field.getTypeAsFullyQualified().getFullyQualifiedName()).isEqualTo("com.example.b.B");
+    }
+}
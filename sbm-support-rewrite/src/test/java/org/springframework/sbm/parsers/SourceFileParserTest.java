@@ -0,0 +1,86 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.parsers;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.tree.ParsingEventListener;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.FileSystemResourceLoader;
+import org.springframework.core.io.Resource;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class SourceFileParserTest {
+
+    private static final Path PROJECT = Path.of("./testcode/maven-projects/multi-module-java").toAbsolutePath().normalize();
+
+    @Test
+    @DisplayName("Parsing modules in parallel should produce the same source files as parsing them sequentially")
+    void parallelParsingShouldProduceSameSourceFiles() {
+        List<SourceFile> sequential = parse(1);
+        List<SourceFile> parallel = parse(3);
+
+        assertThat(sourcePaths(parallel)).containsExactlyElementsOf(sourcePaths(sequential));
+        for (int i = 0; i < sequential.size(); i++) {
+            assertThat(parallel.get(i).printAll()).isEqualTo(sequential.get(i).printAll());
+        }
+        assertThat(typeOfFieldInA(sequential)).isEqualTo("com.example.b.B");
+        assertThat(typeOfFieldInA(parallel)).isEqualTo("com.example.b.B");
+    }
+
+    private List<SourceFile> parse(int parallelism) {
+        ParserSettings parserSettings = new ParserSettings();
+        parserSettings.setParallelism(parallelism);
+        MavenMojoProjectParserFactory mavenMojoProjectParserFactory = new MavenMojoProjectParserFactory(parserSettings);
+        MavenMojoProjectParserPrivateMethods mavenMojoParserPrivateMethods = new MavenMojoProjectParserPrivateMethods(mavenMojoProjectParserFactory, new RewriteMavenArtifactDownloader());
+        RewriteProjectParser projectParser = new RewriteProjectParser(
+                new MavenExecutor(new MavenExecutionRequestFactory(new MavenConfigFileParser()), new MavenPlexusContainer()),
+                new ProvenanceMarkerFactory(mavenMojoProjectParserFactory),
+                new BuildFileParser(parserSettings),
+                new SourceFileParser(new MavenModelReader(), parserSettings, mavenMojoParserPrivateMethods),
+                new StyleDetector(),
+                parserSettings,
+                mock(ParsingEventListener.class),
+                mock(ApplicationEventPublisher.class),
+                new ProjectScanner(new FileSystemResourceLoader())
+        );
+        List<Resource> resources = new ProjectScanner(new FileSystemResourceLoader()).scan(PROJECT, Set.of("**/target/**", "**/*.adoc"));
+        return projectParser.parse(PROJECT, resources, new InMemoryExecutionContext(t -> {throw new RuntimeException(t);})).sourceFiles();
+    }
+
+    private static List<String> sourcePaths(List<SourceFile> sourceFiles) {
+        return sourceFiles.stream().map(s -> s.getSourcePath().toString()).toList();
+    }
+
+    private static String typeOfFieldInA(List<SourceFile> sourceFiles) {
+        J.CompilationUnit a = sourceFiles.stream()
+                .filter(s -> s.getSourcePath().endsWith("A.java"))
+                .map(J.CompilationUnit.class::cast)
+                .findFirst()
+                .orElseThrow();
+        J.VariableDeclarations field = (J.VariableDeclarations) a.getClasses().get(0).getBody().getStatements().get(0);
+        return field.getTypeAsFullyQualified().getFullyQualifiedName();
+    }
+}
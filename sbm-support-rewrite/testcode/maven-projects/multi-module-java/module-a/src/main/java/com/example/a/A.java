@@ -0,0 +1,11 @@
+package com.example.a;
+
+import com.example.b.B;
+
+public class A {
+    private final B b = new B();
+
+    public String name() {
+        return "a" + b.name();
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.b;
+
+public class B {
+    public String name() {
+        return "b";
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.c;
+
+public class C {
+    public String name() {
+        return "c";
+    }
+}